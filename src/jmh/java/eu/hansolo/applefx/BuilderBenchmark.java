@@ -0,0 +1,76 @@
+package eu.hansolo.applefx;
+
+import javafx.geometry.Insets;
+import javafx.scene.Node;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Builds a generated form with 1,000 rows of a MacosLabel, a MacosTextField and a
+ * MacosSwitch, either with a new builder per control or by applying settings that
+ * were compiled once. Run it with the gc profiler to compare the allocations:
+ * ./gradlew jmh -PjmhInclude=BuilderBenchmark -PjmhProfilers=gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BuilderBenchmark {
+    private static final int                  ROWS    = 1_000;
+    private static final Insets               PADDING = new Insets(2, 4, 2, 4);
+    private MacosControlSettings              labelSettings;
+    private MacosControlSettings              textFieldSettings;
+    private MacosSwitchSettings               switchSettings;
+
+
+    @Setup(Level.Trial) public void setup() {
+        FxPlatform.startup();
+        labelSettings     = MacosControlBuilder.create(MacosLabel::new).dark(true).prefWidth(120).padding(PADDING).settings();
+        textFieldSettings = MacosControlBuilder.create(MacosTextField::new).dark(true).prefWidth(240).padding(PADDING).settings();
+        switchSettings    = MacosSwitchBuilder.create().dark(true).ios(false).showOnOffText(true).duration(150).selected(true).switchSettings();
+    }
+
+
+    // ******************** Benchmarks ****************************************
+    @Benchmark public Node[] builderPerControl() {
+        return FxPlatform.call(() -> {
+            final Node[] nodes = new Node[ROWS * 3];
+            for (int i = 0 ; i < ROWS ; i++) {
+                nodes[3 * i]     = MacosControlBuilder.create(MacosLabel::new).text("Row " + i).dark(true).prefWidth(120).padding(PADDING).build();
+                nodes[3 * i + 1] = MacosControlBuilder.create(MacosTextField::new).dark(true).prefWidth(240).padding(PADDING).build();
+                nodes[3 * i + 2] = MacosSwitchBuilder.create().dark(true).ios(false).showOnOffText(true).duration(150).selected(true).build();
+            }
+            return nodes;
+        });
+    }
+
+    @Benchmark public Node[] compiledSettings() {
+        return FxPlatform.call(() -> {
+            final Node[] nodes = new Node[ROWS * 3];
+            for (int i = 0 ; i < ROWS ; i++) {
+                final MacosLabel label = new MacosLabel("Row " + i);
+                labelSettings.applyTo(label);
+                final MacosTextField textField = new MacosTextField();
+                textFieldSettings.applyTo(textField);
+                nodes[3 * i]     = label;
+                nodes[3 * i + 1] = textField;
+                nodes[3 * i + 2] = new MacosSwitch(switchSettings);
+            }
+            return nodes;
+        });
+    }
+}
@@ -0,0 +1,138 @@
+package eu.hansolo.applefx;
+
+import eu.hansolo.applefx.tools.SFIcon;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.control.ToggleGroup;
+import javafx.scene.image.WritableImage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+
+/**
+ * Measures construction, first css pass, layout and snapshot time of the
+ * Macos controls with 10, 1,000 and 10,000 instances in one scene.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ControlBenchmark {
+    static final Map<String, Supplier<Node>> CONTROLS = Map.ofEntries(
+        Map.entry("MacosAddRemoveButton", MacosAddRemoveButton::new),
+        Map.entry("MacosButton", () -> new MacosButton("Button")),
+        Map.entry("MacosCheckBox", () -> new MacosCheckBox("Check")),
+        Map.entry("MacosCheckBoxSwitch", MacosCheckBoxSwitch::new),
+        Map.entry("MacosComboBox", () -> {
+            final MacosComboBox<String> comboBox = new MacosComboBox<>();
+            comboBox.getItems().setAll(List.of("Neo", "Anton", "Lilli", "Sandra", "Gerrit"));
+            return comboBox;
+        }),
+        Map.entry("MacosComboBoxBase", MacosComboBoxBase::new),
+        Map.entry("MacosLabel", () -> new MacosLabel("Label")),
+        Map.entry("MacosPasswordField", MacosPasswordField::new),
+        Map.entry("MacosProgress", () -> new MacosProgress(0.5)),
+        Map.entry("MacosRadioButton", () -> new MacosRadioButton("Radio")),
+        Map.entry("MacosScrollPane", () -> new MacosScrollPane(new Label("Content"))),
+        Map.entry("MacosSegmentedBar", () -> new MacosSegmentedBar("Option 1", "Option 2")),
+        Map.entry("MacosSelectableLabel", () -> new MacosSelectableLabel(SFIcon.camera.utf8())),
+        Map.entry("MacosSeparator", MacosSeparator::new),
+        Map.entry("MacosSlider", () -> new MacosSlider(0, 100, 50)),
+        Map.entry("MacosSwitch", MacosSwitch::new),
+        Map.entry("MacosSwitchLite", MacosSwitchLite::new),
+        Map.entry("MacosTextField", MacosTextField::new),
+        Map.entry("MacosToggleButton", () -> new MacosToggleButton("Toggle")),
+        Map.entry("MacosToggleButtonBar", () -> {
+            final ToggleGroup       toggleGroup = new ToggleGroup();
+            final MacosToggleButton button1     = new MacosToggleButton("Option 1");
+            final MacosToggleButton button2     = new MacosToggleButton("Option 2");
+            button1.setToggleGroup(toggleGroup);
+            button2.setToggleGroup(toggleGroup);
+            return new MacosToggleButtonBar(button1, new MacosToggleButtonBarSeparator(), button2);
+        }),
+        Map.entry("MacosToggleButtonBarSeparator", MacosToggleButtonBarSeparator::new),
+        Map.entry("MacosToolbarButton", MacosToolbarButton::new),
+        Map.entry("MacosWindowButton", MacosWindowButton::new));
+
+
+    @State(Scope.Benchmark)
+    public static class Config {
+        @Param({ "MacosAddRemoveButton", "MacosButton", "MacosCheckBox", "MacosCheckBoxSwitch", "MacosComboBox", "MacosComboBoxBase",
+                 "MacosLabel", "MacosPasswordField", "MacosProgress", "MacosRadioButton", "MacosScrollPane", "MacosSegmentedBar",
+                 "MacosSelectableLabel", "MacosSeparator", "MacosSlider", "MacosSwitch", "MacosSwitchLite", "MacosTextField", "MacosToggleButton", "MacosToggleButtonBar",
+                 "MacosToggleButtonBarSeparator", "MacosToolbarButton", "MacosWindowButton" })
+        public String control;
+
+        @Param({ "10", "1000", "10000" })
+        public int count;
+
+        Supplier<Node> factory;
+
+        @Setup(Level.Trial) public void setup() {
+            FxPlatform.startup();
+            factory = CONTROLS.get(control);
+            if (null == factory) { throw new IllegalArgumentException("Unknown control " + control); }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Unstyled {
+        SceneFixture fixture;
+
+        @Setup(Level.Invocation) public void setup(final Config config) {
+            fixture = FxPlatform.call(() -> SceneFixture.of(config.factory, config.count));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Styled {
+        SceneFixture fixture;
+
+        @Setup(Level.Invocation) public void setup(final Config config) {
+            fixture = FxPlatform.call(() -> SceneFixture.of(config.factory, config.count).css());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class LaidOut {
+        SceneFixture fixture;
+
+        @Setup(Level.Invocation) public void setup(final Config config) {
+            fixture = FxPlatform.call(() -> SceneFixture.of(config.factory, config.count).css().layout());
+        }
+    }
+
+
+    // ******************** Benchmarks ****************************************
+    @Benchmark public Node[] construction(final Config config) {
+        return FxPlatform.call(() -> SceneFixture.create(config.factory, config.count));
+    }
+
+    @Benchmark public SceneFixture firstCssPass(final Unstyled state) {
+        return FxPlatform.call(state.fixture::css);
+    }
+
+    @Benchmark public SceneFixture layout(final Styled state) {
+        return FxPlatform.call(state.fixture::layout);
+    }
+
+    @Benchmark public WritableImage snapshot(final LaidOut state) {
+        return FxPlatform.call(state.fixture::snapshot);
+    }
+}
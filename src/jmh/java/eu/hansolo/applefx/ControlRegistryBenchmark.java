@@ -0,0 +1,110 @@
+package eu.hansolo.applefx;
+
+import eu.hansolo.applefx.MacosWindow.Style;
+import eu.hansolo.applefx.tools.MacosAccentColor;
+import javafx.scene.Node;
+import javafx.scene.layout.FlowPane;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+
+/**
+ * Measures how the MacosWindow propagates dark mode and accent color changes to
+ * its controls (via the MacosControlRegistry) and how expensive it is to keep
+ * the registry up to date when subtrees are added to or removed from the content.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ControlRegistryBenchmark {
+    private static final List<Supplier<Node>> MIXED = List.of(MacosSwitch::new, MacosCheckBoxSwitch::new, () -> new MacosCheckBox("Check"),
+                                                              () -> new MacosRadioButton("Radio"), MacosComboBox::new, () -> new MacosSlider(0, 100, 50),
+                                                              MacosTextField::new, () -> new MacosButton("Button"), () -> new MacosLabel("Label"));
+
+    @Param({ "10", "1000", "10000" })
+    public int count;
+
+    private MacosWindow      window;
+    private VBox             content;
+    private SceneFixture     fixture;
+    private FlowPane         subtree;
+    private boolean          dark;
+    private MacosAccentColor accentColor;
+
+
+    @Setup(Level.Trial) public void setup() {
+        FxPlatform.startup();
+        FxPlatform.run(() -> {
+            final Node[] nodes = new Node[count];
+            for (int i = 0 ; i < count ; i++) { nodes[i] = MIXED.get(i % MIXED.size()).get(); }
+            content = new VBox(new FlowPane(4, 4, nodes));
+            window  = new MacosWindow(new Stage(), content, false, MacosAccentColor.BLUE, Style.DECORATED, false);
+            fixture = new SceneFixture(window).css().layout();
+            subtree = new FlowPane(4, 4, SceneFixture.create(MacosSwitch::new, 10));
+        });
+        dark        = false;
+        accentColor = MacosAccentColor.BLUE;
+    }
+
+    @TearDown(Level.Trial) public void tearDown() { FxPlatform.run(window::dispose); }
+
+
+    // ******************** Benchmarks ****************************************
+    @Benchmark public MacosWindow toggleDark() {
+        dark = !dark;
+        FxPlatform.run(() -> window.setDark(dark));
+        return window;
+    }
+
+    @Benchmark public MacosWindow switchAccentColor() {
+        accentColor = MacosAccentColor.BLUE == accentColor ? MacosAccentColor.PINK : MacosAccentColor.BLUE;
+        FxPlatform.run(() -> window.setAccentColor(accentColor));
+        return window;
+    }
+
+    @Benchmark public MacosWindow switchAccentColorAndCss() {
+        accentColor = MacosAccentColor.BLUE == accentColor ? MacosAccentColor.PINK : MacosAccentColor.BLUE;
+        FxPlatform.run(() -> {
+            window.setAccentColor(accentColor);
+            fixture.css();
+        });
+        return window;
+    }
+
+    @Benchmark public int addAndRemoveSubtree() {
+        return FxPlatform.call(() -> {
+            content.getChildren().add(subtree);
+            content.getChildren().remove(subtree);
+            return content.getChildren().size();
+        });
+    }
+
+    @Benchmark public int buildRegistry() {
+        return FxPlatform.call(() -> {
+            final MacosControlRegistry registry = new MacosControlRegistry(content);
+            final int                  size     = registry.size();
+            registry.dispose();
+            return size;
+        });
+    }
+}
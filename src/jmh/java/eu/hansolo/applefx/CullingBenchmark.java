@@ -0,0 +1,76 @@
+package eu.hansolo.applefx;
+
+import javafx.scene.Node;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.VBox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Frame time of a MacosScrollPane with a VBox of 10,000 controls, with and
+ * without viewport culling. One frame scrolls by 100 px and runs the culling
+ * pass, css, layout and a snapshot of the scene like a pulse would do.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CullingBenchmark {
+    private static final int     CHILDREN = 10_000;
+    private static final double  STEP     = 100;
+
+    @Param({ "false", "true" })
+    public boolean culling;
+
+    private MacosScrollPane scrollPane;
+    private SceneFixture    fixture;
+    private double          scrollStep;
+
+
+    @Setup(Level.Trial) public void setup() {
+        FxPlatform.startup();
+        FxPlatform.run(() -> {
+            final Node[] children = new Node[CHILDREN];
+            for (int i = 0 ; i < CHILDREN ; i++) {
+                children[i] = switch (i % 3) {
+                    case 0  -> new MacosCheckBox("Option " + i);
+                    case 1  -> new MacosSwitch();
+                    default -> new MacosTextField("Value " + i);
+                };
+            }
+            final VBox content = new VBox(4, children);
+            scrollPane = new MacosScrollPane(content);
+            scrollPane.setFitToWidth(true);
+            scrollPane.setCulling(culling);
+            fixture    = new SceneFixture(scrollPane).css().layout();
+            scrollPane.flushCulling();
+            scrollStep = STEP / Math.max(1, content.getHeight() - scrollPane.getViewportBounds().getHeight());
+        });
+    }
+
+
+    // ******************** Benchmarks ****************************************
+    @Benchmark public WritableImage frame() {
+        return FxPlatform.call(() -> {
+            final double vvalue = scrollPane.getVvalue() + scrollStep;
+            scrollPane.setVvalue(vvalue > scrollPane.getVmax() ? scrollPane.getVmin() : vvalue);
+            scrollPane.flushCulling();
+            return fixture.css().layout().snapshot();
+        });
+    }
+}
@@ -0,0 +1,92 @@
+package eu.hansolo.applefx;
+
+import eu.hansolo.applefx.MacosWindow.HeaderHeight;
+import eu.hansolo.applefx.MacosWindow.Style;
+import eu.hansolo.applefx.fonts.Fonts;
+import eu.hansolo.applefx.tools.MacosAccentColor;
+import eu.hansolo.applefx.tools.SFIcon;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.ToggleGroup;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+
+import java.util.List;
+
+
+/**
+ * Builds the control box of the Demo application (without the stage handling
+ * and console output) so that it can be instantiated many times in one window.
+ */
+final class DemoScene {
+
+    // ******************** Constructors **************************************
+    private DemoScene() {}
+
+
+    // ******************** Methods *******************************************
+    static MacosWindow createWindow(final Stage stage, final int count) {
+        final Node[] boxes = new Node[count];
+        for (int i = 0 ; i < count ; i++) { boxes[i] = createControlBox(); }
+        final VBox content = new VBox(10, boxes);
+        content.setPadding(new Insets(10));
+
+        final MacosWindow macosWindow = new MacosWindow(stage, content, false, MacosAccentColor.BLUE, Style.DECORATED, true);
+        macosWindow.setHeaderHeight(HeaderHeight.DOUBLE);
+        macosWindow.addToToolbarLeft(new MacosToolbarButton("M4.615,9.079c0,0.298 0.11,0.554 0.35,0.783l6.85,6.705c0.19,0.194 0.43,0.291 0.72,0.291c0.57,-0 1.01,-0.44 1.01,-1.02c0,-0.281 -0.11,-0.536 -0.3,-0.729l-6.18,-6.03l6.18,-6.029c0.19,-0.202 0.3,-0.457 0.3,-0.738c0,-0.572 -0.44,-1.012 -1.01,-1.012c-0.29,0 -0.53,0.098 -0.72,0.291l-6.85,6.706c-0.24,0.229 -0.34,0.483 -0.35,0.782Z"));
+        macosWindow.addToToolbarLeft(new MacosToolbarButton("M13.545,9.079c0,-0.299 -0.11,-0.553 -0.34,-0.782l-6.85,-6.706c-0.2,-0.193 -0.43,-0.291 -0.72,-0.291c-0.57,0 -1.02,0.44 -1.02,1.012c-0,0.281 0.11,0.536 0.3,0.738l6.19,6.029l-6.19,6.03c-0.18,0.193 -0.3,0.448 -0.3,0.729c-0,0.58 0.45,1.02 1.02,1.02c0.29,-0 0.52,-0.097 0.72,-0.291l6.85,-6.705c0.24,-0.229 0.34,-0.485 0.34,-0.783Z"));
+        return macosWindow;
+    }
+
+    static VBox createControlBox() {
+        final MacosSwitch iosSwitch = new MacosSwitch();
+        iosSwitch.setIos(true);
+        iosSwitch.setShowOnOffText(true);
+
+        final MacosSlider slider1 = new MacosSlider(0, 100, 50);
+        slider1.setShowTickMarks(true);
+
+        final MacosComboBox<String> comboBox = new MacosComboBox<>();
+        comboBox.getItems().setAll(List.of("Neo", "Anton", "Lilli", "Sandra", "Gerrit"));
+
+        final MacosRadioButton radioButton1 = new MacosRadioButton("Select me");
+        final MacosRadioButton radioButton2 = new MacosRadioButton("Select me");
+        final ToggleGroup      toggleGroup  = new ToggleGroup();
+        toggleGroup.getToggles().addAll(radioButton1, radioButton2);
+        final VBox radioBox = new VBox(10, radioButton1, radioButton2);
+        radioBox.setAlignment(Pos.CENTER);
+
+        final ToggleGroup       toggleButtonGroup = new ToggleGroup();
+        final MacosToggleButton toggleButton2     = createToggleButton("Option 2", toggleButtonGroup);
+        toggleButton2.setSelected(true);
+        final MacosToggleButtonBar toggleButtonBar = new MacosToggleButtonBar(createToggleButton("Option 1", toggleButtonGroup), new MacosToggleButtonBarSeparator(),
+                                                                              toggleButton2, new MacosToggleButtonBarSeparator(),
+                                                                              createToggleButton("Option 3", toggleButtonGroup), new MacosToggleButtonBarSeparator(),
+                                                                              createToggleButton("Option 4", toggleButtonGroup));
+        VBox.setMargin(toggleButtonBar, new Insets(10, 10, 15, 10));
+
+        final MacosAddRemoveButton addRemoveButton = new MacosAddRemoveButton();
+        addRemoveButton.setRemoveDisable(true);
+
+        final MacosSelectableLabel sfSymbolLabel = new MacosSelectableLabel(SFIcon.camera.utf8());
+        sfSymbolLabel.setFont(Fonts.sfIconSets(32));
+
+        final VBox controlBox = new VBox(20, new MacosButton("Click me"), new MacosButton("Default", true), new MacosSwitch(), iosSwitch, new MacosCheckBoxSwitch(),
+                                         new MacosCheckBox("Check me"), new MacosTextField(), new MacosPasswordField(), radioBox, slider1, new MacosSlider(0, 100, 50),
+                                         comboBox, addRemoveButton, sfSymbolLabel, toggleButtonBar);
+        controlBox.setAlignment(Pos.CENTER);
+        controlBox.setPadding(new Insets(10));
+        return controlBox;
+    }
+
+    private static MacosToggleButton createToggleButton(final String text, final ToggleGroup toggleGroup) {
+        final MacosToggleButton toggleButton = new MacosToggleButton(text);
+        toggleButton.setMaxWidth(Double.MAX_VALUE);
+        toggleButton.setToggleGroup(toggleGroup);
+        HBox.setHgrow(toggleButton, Priority.ALWAYS);
+        return toggleButton;
+    }
+}
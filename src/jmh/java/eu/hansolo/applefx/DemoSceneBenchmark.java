@@ -0,0 +1,103 @@
+package eu.hansolo.applefx;
+
+import javafx.scene.Scene;
+import javafx.scene.image.WritableImage;
+import javafx.stage.Stage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Measures construction, first css pass, layout and snapshot time of a
+ * MacosWindow that contains the Demo control box 10, 1,000 and 10,000 times.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+public class DemoSceneBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Config {
+        @Param({ "10", "1000", "10000" })
+        public int count;
+
+        @Setup(Level.Trial) public void setup() { FxPlatform.startup(); }
+    }
+
+    public abstract static class WindowState {
+        MacosWindow  window;
+        SceneFixture fixture;
+
+        void create(final Config config) {
+            FxPlatform.run(() -> {
+                window  = DemoScene.createWindow(new Stage(), config.count);
+                fixture = new SceneFixture(window);
+            });
+        }
+
+        @TearDown(Level.Invocation) public void tearDown() {
+            FxPlatform.run(window::dispose);
+            window  = null;
+            fixture = null;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Unstyled extends WindowState {
+        @Setup(Level.Invocation) public void setup(final Config config) { create(config); }
+    }
+
+    @State(Scope.Thread)
+    public static class Styled extends WindowState {
+        @Setup(Level.Invocation) public void setup(final Config config) {
+            create(config);
+            FxPlatform.run(fixture::css);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class LaidOut extends WindowState {
+        @Setup(Level.Invocation) public void setup(final Config config) {
+            create(config);
+            FxPlatform.run(() -> fixture.css().layout());
+        }
+    }
+
+
+    // ******************** Benchmarks ****************************************
+    @Benchmark public Scene construction(final Config config) {
+        return FxPlatform.call(() -> {
+            final MacosWindow window = DemoScene.createWindow(new Stage(), config.count);
+            final Scene       scene  = new Scene(window);
+            window.dispose();
+            return scene;
+        });
+    }
+
+    @Benchmark public SceneFixture firstCssPass(final Unstyled state) {
+        return FxPlatform.call(state.fixture::css);
+    }
+
+    @Benchmark public SceneFixture layout(final Styled state) {
+        return FxPlatform.call(state.fixture::layout);
+    }
+
+    @Benchmark public WritableImage snapshot(final LaidOut state) {
+        return FxPlatform.call(state.fixture::snapshot);
+    }
+}
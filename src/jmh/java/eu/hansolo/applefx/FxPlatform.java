@@ -0,0 +1,66 @@
+package eu.hansolo.applefx;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+
+/**
+ * Starts the JavaFX toolkit once per JVM in headless mode (Monocle, software
+ * pipeline) and runs code on the FX application thread for the benchmarks.
+ */
+final class FxPlatform {
+    private static final AtomicBoolean STARTED = new AtomicBoolean(false);
+
+
+    // ******************** Constructors **************************************
+    private FxPlatform() {}
+
+
+    // ******************** Methods *******************************************
+    static void startup() {
+        if (!STARTED.compareAndSet(false, true)) { return; }
+        System.setProperty("glass.platform", "Monocle");
+        System.setProperty("monocle.platform", "Headless");
+        System.setProperty("prism.order", "sw");
+        System.setProperty("java.awt.headless", "true");
+        final CountDownLatch latch = new CountDownLatch(1);
+        Platform.startup(latch::countDown);
+        Platform.setImplicitExit(false);
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) { throw new IllegalStateException("JavaFX toolkit did not start"); }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static void run(final Runnable runnable) {
+        call(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    static <T> T call(final Supplier<T> supplier) {
+        if (Platform.isFxApplicationThread()) { return supplier.get(); }
+        final FutureTask<T> task = new FutureTask<>(supplier::get);
+        Platform.runLater(task);
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) { throw (RuntimeException) cause; }
+            if (cause instanceof Error)            { throw (Error) cause; }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package eu.hansolo.applefx;
+
+import eu.hansolo.applefx.event.MacEvt;
+import eu.hansolo.toolbox.evt.EvtObserver;
+import javafx.scene.layout.FlowPane;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Simulates rapid toggling at 60 Hz across thousands of switches. One benchmark
+ * invocation corresponds to one frame in which every switch is toggled once, so
+ * the result has to stay well below 16.6 ms. Run with -prof gc to see the
+ * allocation rate of the MacEvt dispatch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MacEvtBenchmark {
+    @Param({ "1000", "5000", "10000" })
+    public int count;
+
+    private MacosSwitch[] switches;
+    private MacEvt[]      selectedEvts;
+    private MacEvt[]      deselectedEvts;
+    private boolean       selected;
+    private long          received;
+
+
+    @Setup(Level.Trial) public void setup() {
+        FxPlatform.startup();
+        final EvtObserver<MacEvt> anyObserver      = e -> received++;
+        final EvtObserver<MacEvt> selectedObserver = e -> received++;
+        switches       = new MacosSwitch[count];
+        selectedEvts   = new MacEvt[count];
+        deselectedEvts = new MacEvt[count];
+        FxPlatform.run(() -> {
+            for (int i = 0 ; i < count ; i++) {
+                final MacosSwitch macosSwitch = new MacosSwitch();
+                macosSwitch.addMacEvtObserver(MacEvt.ANY, anyObserver);
+                macosSwitch.addMacEvtObserver(MacEvt.SELECTED, selectedObserver);
+                macosSwitch.addMacEvtObserver(MacEvt.DESELECTED, selectedObserver);
+                switches[i]       = macosSwitch;
+                selectedEvts[i]   = new MacEvt(macosSwitch, MacEvt.SELECTED);
+                deselectedEvts[i] = new MacEvt(macosSwitch, MacEvt.DESELECTED);
+            }
+            new SceneFixture(new FlowPane(switches)).css().layout();
+        });
+    }
+
+
+    // ******************** Benchmarks ****************************************
+    @Benchmark public long dispatchFrame() {
+        selected = !selected;
+        final MacEvt[] evts = selected ? selectedEvts : deselectedEvts;
+        for (int i = 0 ; i < count ; i++) { switches[i].fireMacEvt(evts[i]); }
+        return received;
+    }
+
+    @Benchmark public long toggleFrame() {
+        selected = !selected;
+        FxPlatform.run(() -> {
+            for (MacosSwitch macosSwitch : switches) { macosSwitch.setSelected(selected); }
+        });
+        return received;
+    }
+}
@@ -0,0 +1,92 @@
+package eu.hansolo.applefx;
+
+import eu.hansolo.applefx.fonts.Fonts;
+import eu.hansolo.applefx.tools.SFIcon;
+import eu.hansolo.applefx.tools.SFIconView;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.GridPane;
+import javafx.scene.paint.Color;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Renders a grid of 10,000 SF icons (100 x 100, cycling through the first icons
+ * of SFIcon) either as Labels with the SF icon font or as SFIconViews that share
+ * the glyphs of the SFIconAtlas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SFIconBenchmark {
+    private static final int      COLUMNS = 100;
+    private static final int      ROWS    = 100;
+    private static final SFIcon[] ICONS   = SFIcon.values();
+
+    @Param({ "Label", "SFIconView" })
+    public String renderer;
+
+    @Param({ "16", "200" })
+    public int distinctIcons;
+
+    private SceneFixture fixture;
+
+
+    @Setup(Level.Trial) public void setup() {
+        FxPlatform.startup();
+        fixture = FxPlatform.call(() -> new SceneFixture(createGrid()).css().layout());
+    }
+
+
+    // ******************** Benchmarks ****************************************
+    @Benchmark public GridPane createAndLayout() {
+        return FxPlatform.call(() -> {
+            final GridPane grid = createGrid();
+            new SceneFixture(grid).css().layout();
+            return grid;
+        });
+    }
+
+    @Benchmark public WritableImage snapshot() {
+        return FxPlatform.call(fixture::snapshot);
+    }
+
+
+    // ******************** Methods *******************************************
+    private GridPane createGrid() {
+        final GridPane grid = new GridPane();
+        for (int row = 0 ; row < ROWS ; row++) {
+            for (int column = 0 ; column < COLUMNS ; column++) {
+                grid.add(createIcon(ICONS[(row * COLUMNS + column) % distinctIcons]), column, row);
+            }
+        }
+        return grid;
+    }
+
+    private Node createIcon(final SFIcon icon) {
+        if ("Label".equals(renderer)) {
+            final Label label = new Label(icon.utf8());
+            label.setFont(Fonts.sfIconSets(16));
+            label.setTextFill(Color.BLACK);
+            return label;
+        }
+        return new SFIconView(icon, 16, Color.BLACK);
+    }
+}
@@ -0,0 +1,45 @@
+package eu.hansolo.applefx;
+
+import eu.hansolo.applefx.tools.SFIcon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Measures name lookup and token search of SFIcon against the linear scan
+ * over SFIcon.values() that was needed before.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SFIconSearchBenchmark {
+    @Param({ "arrow_down_circle", "arr circ", "fill" })
+    public String query;
+
+
+    // ******************** Benchmarks ****************************************
+    @Benchmark public SFIcon fromName() { return SFIcon.fromName(query); }
+
+    @Benchmark public List<SFIcon> search() { return SFIcon.search(query, 50); }
+
+    @Benchmark public SFIcon linearScan() {
+        for (SFIcon icon : SFIcon.values()) {
+            if (icon.name().equals(query)) { return icon; }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,55 @@
+package eu.hansolo.applefx;
+
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.FlowPane;
+
+import java.util.function.Supplier;
+
+
+/**
+ * A scene graph that will be brought step by step (css, layout, snapshot) into
+ * the state a benchmark needs. All methods have to be called on the FX thread.
+ */
+final class SceneFixture {
+    static final double WIDTH  = 1280;
+    static final double HEIGHT = 800;
+
+    final Parent root;
+    final Scene  scene;
+
+
+    // ******************** Constructors **************************************
+    SceneFixture(final Parent root) {
+        this.root  = root;
+        this.scene = null == root.getScene() ? new Scene(root, WIDTH, HEIGHT) : root.getScene();
+    }
+
+
+    // ******************** Methods *******************************************
+    static Node[] create(final Supplier<? extends Node> factory, final int count) {
+        final Node[] nodes = new Node[count];
+        for (int i = 0 ; i < count ; i++) { nodes[i] = factory.get(); }
+        return nodes;
+    }
+
+    static SceneFixture of(final Supplier<? extends Node> factory, final int count) {
+        final FlowPane pane = new FlowPane(4, 4, create(factory, count));
+        pane.setPrefWrapLength(WIDTH);
+        return new SceneFixture(pane);
+    }
+
+    SceneFixture css() {
+        root.applyCss();
+        return this;
+    }
+
+    SceneFixture layout() {
+        root.layout();
+        return this;
+    }
+
+    WritableImage snapshot() { return scene.snapshot(null); }
+}
@@ -0,0 +1,92 @@
+package eu.hansolo.applefx;
+
+import javafx.scene.Node;
+import javafx.scene.control.ToggleGroup;
+import javafx.scene.image.WritableImage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Selection changes in a segmented bar like rapid keyboard navigation would cause.
+ * select only moves the selection to the next segment, frame also runs css,
+ * layout and a snapshot of the scene like a pulse would do.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SegmentedBarBenchmark {
+    @Param({ "MacosToggleButtonBar", "MacosSegmentedBar" })
+    public String bar;
+
+    @Param({ "10", "60", "500" })
+    public int segments;
+
+    private MacosToggleButton[] toggleButtons;
+    private MacosSegmentedBar   segmentedBar;
+    private SceneFixture        fixture;
+    private int                 index;
+
+
+    @Setup(Level.Trial) public void setup() {
+        FxPlatform.startup();
+        FxPlatform.run(() -> {
+            if ("MacosSegmentedBar".equals(bar)) {
+                final String[] texts = new String[segments];
+                for (int i = 0 ; i < segments ; i++) { texts[i] = "Filter " + i; }
+                segmentedBar = new MacosSegmentedBar(texts);
+                fixture      = new SceneFixture(segmentedBar).css().layout();
+            } else {
+                final ToggleGroup toggleGroup = new ToggleGroup();
+                final Node[]      children    = new Node[2 * segments - 1];
+                toggleButtons = new MacosToggleButton[segments];
+                for (int i = 0 ; i < segments ; i++) {
+                    toggleButtons[i] = new MacosToggleButton("Filter " + i);
+                    toggleButtons[i].setToggleGroup(toggleGroup);
+                    children[2 * i] = toggleButtons[i];
+                    if (i < segments - 1) { children[2 * i + 1] = new MacosToggleButtonBarSeparator(); }
+                }
+                fixture = new SceneFixture(new MacosToggleButtonBar(children)).css().layout();
+            }
+        });
+    }
+
+
+    // ******************** Benchmarks ****************************************
+    @Benchmark public int select() {
+        return FxPlatform.call(this::selectNext);
+    }
+
+    @Benchmark public WritableImage frame() {
+        return FxPlatform.call(() -> {
+            selectNext();
+            return fixture.css().layout().snapshot();
+        });
+    }
+
+
+    private int selectNext() {
+        index = (index + 1) % segments;
+        if (null == segmentedBar) {
+            toggleButtons[index].setSelected(true);
+        } else {
+            segmentedBar.setSelectedIndex(index);
+        }
+        return index;
+    }
+}
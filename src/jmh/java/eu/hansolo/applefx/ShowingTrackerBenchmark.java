@@ -0,0 +1,106 @@
+package eu.hansolo.applefx;
+
+import eu.hansolo.applefx.tools.ShowingTracker;
+import javafx.scene.Node;
+import javafx.scene.layout.FlowPane;
+import javafx.stage.Stage;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+
+/**
+ * Leak check of the ShowingTracker: creates 100,000 controls that wait to be
+ * shown, puts them in a scene that is never shown and discards them, either by
+ * removing them from the scene, by dropping the whole scene or by dropping a
+ * Stage that contains the scene but was never shown. After a full gc
+ * no node and no scene may be left in the tracker, otherwise the benchmark fails.
+ * The heap that is left per control is reported as "retainedBytes".
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class ShowingTrackerBenchmark {
+    static final int                         COUNT    = 100_000;
+    static final Map<String, Supplier<Node>> CONTROLS = Map.of(
+        "MacosCheckBoxSwitch", MacosCheckBoxSwitch::new,
+        "MacosComboBox", MacosComboBox::new);
+
+
+    @State(Scope.Benchmark)
+    public static class Config {
+        @Param({ "MacosCheckBoxSwitch", "MacosComboBox" })
+        public String control;
+
+        @Param({ "removeFromScene", "dropScene", "dropStage" })
+        public String discard;
+
+        Supplier<Node> factory;
+
+        @Setup(Level.Trial) public void setup() {
+            FxPlatform.startup();
+            factory = CONTROLS.get(control);
+            if (null == factory) { throw new IllegalArgumentException("Unknown control " + control); }
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Leaks {
+        public long retainedBytes;
+        public long pendingNodes;
+        public long pendingScenes;
+
+        @Setup(Level.Iteration) public void reset() {
+            retainedBytes = 0;
+            pendingNodes  = 0;
+            pendingScenes = 0;
+        }
+    }
+
+
+    // ******************** Benchmarks ****************************************
+    @Benchmark public int createAndDiscard(final Config config, final Leaks leaks) {
+        final long before  = usedMemory();
+        final int  created = FxPlatform.call(() -> {
+            final FlowPane pane = new FlowPane(SceneFixture.create(config.factory, COUNT));
+            final SceneFixture fixture = new SceneFixture(pane);
+            if ("dropStage".equals(config.discard)) { new Stage().setScene(fixture.scene); }
+            final int pending = ShowingTracker.getPendingNodes();
+            if ("removeFromScene".equals(config.discard)) { pane.getChildren().clear(); }
+            return pending;
+        });
+        final long after   = usedMemory();
+        final int  nodes   = FxPlatform.call(ShowingTracker::getPendingNodes);
+        final int  scenes  = FxPlatform.call(ShowingTracker::getPendingScenes);
+        leaks.retainedBytes = Math.max(0, after - before) / COUNT;
+        leaks.pendingNodes  = nodes;
+        leaks.pendingScenes = scenes;
+        if (nodes > 0 || scenes > 0) { throw new IllegalStateException("ShowingTracker leaks " + nodes + " nodes and " + scenes + " scenes"); }
+        return created;
+    }
+
+
+    // ******************** Methods *******************************************
+    private static long usedMemory() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0 ; i < 3 ; i++) { System.gc(); }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
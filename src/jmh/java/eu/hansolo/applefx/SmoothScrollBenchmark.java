@@ -0,0 +1,86 @@
+package eu.hansolo.applefx;
+
+import javafx.event.Event;
+import javafx.scene.Node;
+import javafx.scene.image.WritableImage;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.VBox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Frame time of a MacosScrollPane that receives a burst of scroll events per
+ * frame, like a high resolution trackpad or mouse does, with and without smooth
+ * scrolling. With smooth scrolling the cost of a frame should not depend on the
+ * number of events.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SmoothScrollBenchmark {
+    private static final int    CHILDREN = 1_000;
+    private static final double DELTA    = -4;
+
+    @Param({ "1", "8", "64" })
+    public int eventsPerFrame;
+
+    @Param({ "false", "true" })
+    public boolean smoothScrolling;
+
+    private MacosScrollPane scrollPane;
+    private VBox            content;
+    private SceneFixture    fixture;
+    private ScrollEvent     down;
+    private ScrollEvent     up;
+    private int             frames;
+
+
+    @Setup(Level.Trial) public void setup() {
+        FxPlatform.startup();
+        FxPlatform.run(() -> {
+            final Node[] children = SceneFixture.create(() -> new MacosCheckBox("Option"), CHILDREN);
+            content    = new VBox(4, children);
+            scrollPane = new MacosScrollPane(content);
+            scrollPane.setFitToWidth(true);
+            scrollPane.setSmoothScrolling(smoothScrolling);
+            fixture    = new SceneFixture(scrollPane).css().layout();
+            down       = scroll(DELTA);
+            up         = scroll(-DELTA);
+        });
+    }
+
+
+    // ******************** Benchmarks ****************************************
+    @Benchmark public WritableImage frame() {
+        return FxPlatform.call(() -> {
+            // change the direction every 100 frames to stay away from the edges
+            final ScrollEvent event = (frames++ / 100) % 2 == 0 ? down : up;
+            for (int i = 0 ; i < eventsPerFrame ; i++) { Event.fireEvent(content, event.copyFor(content, content)); }
+            scrollPane.flushSmoothScrolling(System.nanoTime());
+            return fixture.css().layout().snapshot();
+        });
+    }
+
+
+    private static ScrollEvent scroll(final double deltaY) {
+        return new ScrollEvent(ScrollEvent.SCROLL, 10, 10, 10, 10, false, false, false, false, false, false,
+                               0, deltaY, 0, deltaY, ScrollEvent.HorizontalTextScrollUnits.NONE, 0,
+                               ScrollEvent.VerticalTextScrollUnits.NONE, 0, 0, null);
+    }
+}
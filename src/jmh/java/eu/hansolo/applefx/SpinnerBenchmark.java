@@ -0,0 +1,60 @@
+package eu.hansolo.applefx;
+
+import javafx.scene.layout.FlowPane;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Measures one frame of the indeterminate MacosProgress spinner for a grid of
+ * spinners, i.e. the work the shared SpinnerClock does every 66 ms.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpinnerBenchmark {
+    @Param({ "200", "1000" })
+    public int count;
+
+    private MacosProgress[] spinners;
+    private int             frame;
+
+
+    @Setup(Level.Trial) public void setup() {
+        FxPlatform.startup();
+        spinners = new MacosProgress[count];
+        FxPlatform.run(() -> {
+            for (int i = 0 ; i < count ; i++) {
+                spinners[i] = new MacosProgress();
+                spinners[i].setPrefSize(32, 32);
+                spinners[i].setIndeterminate(true);
+            }
+            new SceneFixture(new FlowPane(spinners)).css().layout();
+        });
+    }
+
+
+    // ******************** Benchmarks ****************************************
+    @Benchmark public int frame() {
+        frame = (frame + 1) % SpinnerClock.FRAMES;
+        FxPlatform.run(() -> {
+            for (MacosProgress spinner : spinners) { spinner.drawFrame(frame); }
+        });
+        return frame;
+    }
+}
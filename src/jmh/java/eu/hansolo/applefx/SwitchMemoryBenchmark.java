@@ -0,0 +1,110 @@
+package eu.hansolo.applefx;
+
+import javafx.scene.Node;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.IterationParams;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+
+/**
+ * Compares the memory per instance of the MacosSwitch and the MacosSwitchLite.
+ * Every invocation creates 10,000 switches in one scene and runs css and layout,
+ * the retained heap per switch (after a full gc, shared sprite sheets excluded
+ * because they are created in the setup) is reported as "retainedBytes". JMH sums
+ * event counters over the iterations, so every iteration reports its share of
+ * the mean. The switches of an iteration are released before the next one. Run it
+ * with the gc profiler to also get the allocated bytes per operation:
+ * ./gradlew jmh -PjmhInclude=SwitchMemoryBenchmark -PjmhProfilers=gc
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g", "-XX:+UseG1GC" })
+public class SwitchMemoryBenchmark {
+    static final int                            COUNT    = 10_000;
+    static final Map<String, Supplier<Node>>    SWITCHES = Map.of("MacosSwitch", MacosSwitch::new,
+                                                                  "MacosSwitchLite", MacosSwitchLite::new);
+
+
+    @State(Scope.Benchmark)
+    public static class Config {
+        @Param({ "MacosSwitch", "MacosSwitchLite" })
+        public String control;
+
+        Supplier<Node> factory;
+
+        @Setup(Level.Trial) public void setup() {
+            FxPlatform.startup();
+            factory = SWITCHES.get(control);
+            if (null == factory) { throw new IllegalArgumentException("Unknown control " + control); }
+            // creates shared state like the sprite sheets and the css of the switches
+            FxPlatform.run(() -> SceneFixture.of(factory, 1).css().layout());
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Memory {
+        public double retainedBytes;
+
+        int          iterations;
+        SceneFixture fixture;
+
+        @Setup(Level.Iteration) public void reset(final IterationParams params) {
+            retainedBytes = 0;
+            iterations    = params.getCount();
+        }
+
+        @TearDown(Level.Iteration) public void release() { fixture = null; }
+    }
+
+
+    // ******************** Benchmarks ****************************************
+    @Benchmark public void createSwitches(final Config config, final Memory memory) {
+        final long before = usedMemory();
+        memory.fixture = FxPlatform.call(() -> SceneFixture.of(config.factory, COUNT).css().layout());
+        final long after  = usedMemory();
+        memory.retainedBytes = (double) Math.max(0, after - before) / COUNT / memory.iterations;
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Runs full gcs until the used heap doesn't shrink anymore, parts of a
+     * released scene graph are only freed after reference queues were processed.
+     */
+    private static long usedMemory() {
+        final Runtime runtime = Runtime.getRuntime();
+        long          used    = Long.MAX_VALUE;
+        for (int i = 0 ; i < 20 ; i++) {
+            System.gc();
+            final long current = runtime.totalMemory() - runtime.freeMemory();
+            if (current >= used) { break; }
+            used = current;
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return used;
+    }
+}
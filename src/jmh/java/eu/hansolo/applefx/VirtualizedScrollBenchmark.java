@@ -0,0 +1,115 @@
+package eu.hansolo.applefx;
+
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.control.Control;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.skin.VirtualFlow;
+import javafx.scene.layout.StackPane;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.AbstractList;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Scrolls a MacosListView and a MacosTableView with 1,000,000 rows, with and
+ * without fixed cell size. One scroll step moves the flow by 10 rows and runs
+ * css and layout like a pulse would do.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VirtualizedScrollBenchmark {
+    private static final int ROWS = 1_000_000;
+
+    @Param({ "MacosListView", "MacosTableView" })
+    public String control;
+
+    @Param({ "true", "false" })
+    public boolean fixedCellSize;
+
+    private SceneFixture   fixture;
+    private VirtualFlow<?> flow;
+    private int            row;
+
+
+    @Setup(Level.Trial) public void setup() {
+        FxPlatform.startup();
+        FxPlatform.run(() -> {
+            final Control view = "MacosListView".equals(control) ? createListView() : createTableView();
+            fixture = new SceneFixture(new StackPane(view)).css().layout();
+            flow    = (VirtualFlow<?>) view.lookup(".virtual-flow");
+        });
+    }
+
+
+    // ******************** Benchmarks ****************************************
+    @Benchmark public int scrollStep() {
+        FxPlatform.run(() -> {
+            if (flow.getPosition() >= 1) { flow.setPosition(0); }
+            flow.scrollPixels(10 * MacosListView.DEFAULT_CELL_SIZE);
+            fixture.css().layout();
+        });
+        return flow.getFirstVisibleCell().getIndex();
+    }
+
+    @Benchmark public int jump() {
+        row = (row + 99_991) % ROWS;
+        FxPlatform.run(() -> {
+            flow.scrollTo(row);
+            fixture.css().layout();
+        });
+        return row;
+    }
+
+
+    // ******************** Methods *******************************************
+    private static ObservableList<Integer> createRows() {
+        // a virtual list, so the benchmark measures the controls and not the boxing of 1M Integers
+        return FXCollections.observableList(new AbstractList<>() {
+            @Override public Integer get(final int index) { return index; }
+            @Override public int size() { return ROWS; }
+        });
+    }
+
+    private MacosListView<Integer> createListView() {
+        final MacosListView<Integer> listView = new MacosListView<>(createRows());
+        if (!fixedCellSize) { listView.setFixedCellSize(-1); }
+        return listView;
+    }
+
+    private MacosTableView<Integer> createTableView() {
+        final MacosTableView<Integer> tableView = new MacosTableView<>(createRows());
+        for (String name : new String[] { "Row", "Square", "Hex" }) {
+            final TableColumn<Integer, String> column = new TableColumn<>(name);
+            column.setPrefWidth(120);
+            column.setCellValueFactory(features -> {
+                final int value = features.getValue();
+                return new ReadOnlyObjectWrapper<>(switch (name) {
+                    case "Square" -> Long.toString((long) value * value);
+                    case "Hex"    -> Integer.toHexString(value);
+                    default       -> Integer.toString(value);
+                });
+            });
+            tableView.getColumns().add(column);
+        }
+        if (!fixedCellSize) { tableView.setFixedCellSize(-1); }
+        return tableView;
+    }
+}
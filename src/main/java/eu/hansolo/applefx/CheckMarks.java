@@ -0,0 +1,77 @@
+package eu.hansolo.applefx;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.shape.StrokeLineJoin;
+
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * Shared images of the check mark that MacosComboBoxCell shows in front of the
+ * items. The mark is drawn once per render scale and cached, every scale uses
+ * the same drawing, so the mark looks the same on all screens and stays sharp
+ * on HiDPI screens.
+ * All methods have to be called on the FX application thread.
+ */
+final class CheckMarks {
+    static final         double           SIZE   = 10;
+    private static final Map<Long, Image> IMAGES = new HashMap<>();
+
+    enum Type {
+        EMPTY(Color.TRANSPARENT),
+        BLACK(Color.BLACK),
+        WHITE(Color.WHITE);
+
+        final Color color;
+
+        Type(final Color color) {
+            this.color = color;
+        }
+    }
+
+
+    // ******************** Constructors **************************************
+    private CheckMarks() {}
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Returns the shared image of the given check mark.
+     * @param type  the check mark
+     * @param scale the render scale of the window (e.g. 2 on retina displays)
+     * @return an image with the size (10 * scale) x (10 * scale) pixels
+     */
+    static Image get(final Type type, final double scale) {
+        final int  pixelSize = Math.max(1, (int) Math.ceil(SIZE * scale));
+        final long key       = ((long) pixelSize << 8) | type.ordinal();
+        Image image = IMAGES.get(key);
+        if (null == image) {
+            image = render(type, pixelSize);
+            IMAGES.put(key, image);
+        }
+        return image;
+    }
+
+    private static Image render(final Type type, final int pixelSize) {
+        final Canvas          canvas = new Canvas(pixelSize, pixelSize);
+        final GraphicsContext ctx    = canvas.getGraphicsContext2D();
+        final double          factor = pixelSize / SIZE;
+        if (Type.EMPTY != type) {
+            ctx.setStroke(type.color);
+            ctx.setLineWidth(1.5 * factor);
+            ctx.setLineCap(StrokeLineCap.ROUND);
+            ctx.setLineJoin(StrokeLineJoin.ROUND);
+            ctx.strokePolyline(new double[] { 1.5 * factor, 4.5 * factor, 8.5 * factor },
+                               new double[] { 5.5 * factor, 8.0 * factor, 1.5 * factor }, 3);
+        }
+        final SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        return canvas.snapshot(parameters, null);
+    }
+}
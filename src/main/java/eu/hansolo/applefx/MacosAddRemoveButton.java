@@ -1,6 +1,7 @@
 package eu.hansolo.applefx;
 
 import eu.hansolo.applefx.event.MacEvt;
+import eu.hansolo.applefx.event.MacEvtBus;
 import eu.hansolo.applefx.tools.Helper;
 import eu.hansolo.toolbox.evt.EvtObserver;
 import eu.hansolo.toolbox.evt.EvtType;
@@ -10,17 +11,12 @@ import javafx.css.PseudoClass;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Region;
 
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
-
 
 public class MacosAddRemoveButton extends HBox implements MacosControl {
     private static final PseudoClass                             DARK_PSEUDO_CLASS = PseudoClass.getPseudoClass("dark");
     private        final MacEvt                                  addEvt            = new MacEvt(MacosAddRemoveButton.this, MacEvt.ADD);
     private        final MacEvt                                  removeEvt         = new MacEvt(MacosAddRemoveButton.this, MacEvt.REMOVE);
-    private              Map<EvtType, List<EvtObserver<MacEvt>>> observers;
+    private        final MacEvtBus                               macEvtBus         = new MacEvtBus();
     private              boolean                                 _dark;
     private              BooleanProperty                         dark;
     private              Region                                  plusIcon;
@@ -40,7 +36,6 @@ public class MacosAddRemoveButton extends HBox implements MacosControl {
     // ******************** Initialization ************************************
     private void init() {
         getStyleClass().add("macos-add-remove-button");
-        observers = new ConcurrentHashMap<>();
         _dark     = Helper.isDarkMode();
         plusIcon  = new Region();
         plusIcon.getStyleClass().setAll("macos-add-remove-button", "macos-plus-icon");
@@ -116,25 +111,9 @@ public class MacosAddRemoveButton extends HBox implements MacosControl {
 
 
     // ******************** Event handling ************************************
-    public void addMacEvtObserver(final EvtType type, final EvtObserver<MacEvt> observer) {
-        if (!observers.containsKey(type)) { observers.put(type, new CopyOnWriteArrayList<>()); }
-        if (observers.get(type).contains(observer)) { return; }
-        observers.get(type).add(observer);
-    }
-    public void removeMacEvtObserver(final EvtType type, final EvtObserver<MacEvt> observer) {
-        if (observers.containsKey(type)) {
-            if (observers.get(type).contains(observer)) {
-                observers.get(type).remove(observer);
-            }
-        }
-    }
-    public void removeAllMacEvtObservers() { observers.clear(); }
+    public void addMacEvtObserver(final EvtType type, final EvtObserver<MacEvt> observer) { macEvtBus.addObserver(type, observer); }
+    public void removeMacEvtObserver(final EvtType type, final EvtObserver<MacEvt> observer) { macEvtBus.removeObserver(type, observer); }
+    public void removeAllMacEvtObservers() { macEvtBus.removeAllObservers(); }
 
-    public void fireMacEvt(final MacEvt evt) {
-        final EvtType type = evt.getEvtType();
-        observers.entrySet().stream().filter(entry -> entry.getKey().equals(MacEvt.ANY)).forEach(entry -> entry.getValue().forEach(observer -> observer.handle(evt)));
-        if (observers.containsKey(type) && !type.equals(MacEvt.ANY)) {
-            observers.get(type).forEach(observer -> observer.handle(evt));
-        }
-    }
+    public void fireMacEvt(final MacEvt evt) { macEvtBus.fire(evt); }
 }
@@ -18,7 +18,6 @@ package eu.hansolo.applefx;
 
 import eu.hansolo.applefx.tools.Helper;
 import eu.hansolo.applefx.tools.MacosAccentColor;
-import javafx.application.Platform;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.BooleanPropertyBase;
 import javafx.beans.property.ObjectProperty;
@@ -65,6 +64,7 @@ public class MacosButton extends Button implements MacosControlWithAccentColor {
         _def         = isDefault;
         _accentColor = Helper.getMacosAccentColor();
         pseudoClassStateChanged(DEFAULT_PSEUDO_CLASS, isDefault);
+        Helper.setAccentColorPseudoClass(this, _accentColor);
     }
 
 
@@ -121,7 +121,7 @@ public class MacosButton extends Button implements MacosControlWithAccentColor {
     @Override public void setAccentColor(final MacosAccentColor accentColor) {
         if (null == this.accentColor) {
             _accentColor = accentColor;
-            Platform.runLater(() -> setStyle(isDark() ? new StringBuilder("-accent-color-dark: ").append(accentColor.getDarkStyleClass()).append(";").toString() : new StringBuilder("-accent-color: ").append(accentColor.getAquaStyleClass()).append(";").toString()));
+            Helper.setAccentColorPseudoClass(this, accentColor);
         } else {
             this.accentColor.set(accentColor);
         }
@@ -129,9 +129,7 @@ public class MacosButton extends Button implements MacosControlWithAccentColor {
     @Override public ObjectProperty<MacosAccentColor> accentColorProperty() {
         if (null == accentColor) {
             accentColor = new ObjectPropertyBase<>(_accentColor) {
-                @Override protected void invalidated() {
-                    Platform.runLater(() -> setStyle(isDark() ? new StringBuilder("-accent-color-dark: ").append(get().getDarkStyleClass()).append(";").toString() : new StringBuilder("-accent-color: ").append(get().getAquaStyleClass()).append(";").toString()));
-                }
+                @Override protected void invalidated() { Helper.setAccentColorPseudoClass(MacosButton.this, get()); }
                 @Override public Object getBean() { return MacosButton.this; }
                 @Override public String getName() { return "accentColor"; }
             };
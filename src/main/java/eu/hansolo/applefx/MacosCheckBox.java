@@ -36,6 +36,7 @@ public class MacosCheckBox extends CheckBox implements MacosControlWithAccentCol
         getStyleClass().add("macos-check-box");
         _dark        = Helper.isDarkMode();
         _accentColor = Helper.getMacosAccentColor();
+        Helper.setAccentColorPseudoClass(this, _accentColor);
     }
 
 
@@ -66,7 +67,7 @@ public class MacosCheckBox extends CheckBox implements MacosControlWithAccentCol
     @Override public void setAccentColor(final MacosAccentColor accentColor) {
         if (null == this.accentColor) {
             _accentColor = accentColor;
-            setStyle(isDark() ? new StringBuilder("-box-fill: ").append(accentColor.getDarkStyleClass()).append(";").toString() : new StringBuilder("-box-fill: ").append(accentColor.getAquaStyleClass()).append(";").toString());
+            Helper.setAccentColorPseudoClass(this, accentColor);
         } else {
             this.accentColor.set(accentColor);
         }
@@ -74,7 +75,7 @@ public class MacosCheckBox extends CheckBox implements MacosControlWithAccentCol
     @Override public ObjectProperty<MacosAccentColor> accentColorProperty() {
         if (null == accentColor) {
             accentColor = new ObjectPropertyBase<>(_accentColor) {
-                @Override protected void invalidated() { setStyle(isDark() ? new StringBuilder("-box-fill: ").append(get().getDarkStyleClass()).append(";").toString() : new StringBuilder("-box-fill: ").append(get().getAquaStyleClass()).append(";").toString()); }
+                @Override protected void invalidated() { Helper.setAccentColorPseudoClass(MacosCheckBox.this, get()); }
                 @Override public Object getBean() { return MacosCheckBox.this; }
                 @Override public String getName() { return "accentColor"; }
             };
@@ -3,8 +3,7 @@ package eu.hansolo.applefx;
 import eu.hansolo.applefx.tools.Helper;
 import eu.hansolo.applefx.tools.MacosAccentColor;
 import eu.hansolo.applefx.tools.MacosSystemColor;
-import javafx.beans.binding.Bindings;
-import javafx.beans.binding.BooleanBinding;
+import eu.hansolo.applefx.tools.ShowingTracker;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.BooleanPropertyBase;
 import javafx.beans.property.ObjectProperty;
@@ -23,7 +22,6 @@ public class MacosCheckBoxSwitch extends CheckBox implements MacosControl {
     private static final PseudoClass                                   DARK_PSEUDO_CLASS              = PseudoClass.getPseudoClass("dark");
     private static final PseudoClass                                   WINDOW_FOCUS_LOST_PSEUDO_CLASS = PseudoClass.getPseudoClass("window-focus-lost");
     private static final StyleablePropertyFactory<MacosCheckBoxSwitch> FACTORY                        = new StyleablePropertyFactory<>(Region.getClassCssMetaData());
-    private              BooleanBinding                                showing;
     private              StyleableProperty<Color>                      bkgColor;
     private              BooleanProperty                               dark;
     private              BooleanProperty                               windowFocusLost;
@@ -63,7 +61,7 @@ public class MacosCheckBoxSwitch extends CheckBox implements MacosControl {
                     if (getWindowFocusLost()) {
                         setBkgColor(get() ? Color.rgb(106, 105, 104) : Color.rgb(179, 179, 179));
                     } else {
-                        setStyle(get() ? new StringBuilder("-accent-color-dark: ").append(accentColor.getDarkStyleClass()).append(";").toString() : new StringBuilder("-accent-color: ").append(accentColor.getAquaStyleClass()).append(";").toString());
+                        setBkgColor(get() ? getAccentColor().getColorDark() : getAccentColor().getColorAqua());
                     }
                 } else {
                     setBkgColor(get() ? MacosSystemColor.CTRL_BACKGROUND.dark() : MacosSystemColor.CTRL_BACKGROUND.aqua());
@@ -87,7 +85,10 @@ public class MacosCheckBoxSwitch extends CheckBox implements MacosControl {
             @Override public String getName() { return "windowFocusLost"; }
         };
         this.accentColor      = new ObjectPropertyBase<>(accentColor) {
-            @Override protected void invalidated() { setStyle(isDark() ? new StringBuilder("-accent-color: ").append(get().getDarkStyleClass()).append(";").toString() : new StringBuilder("-accent-color: ").append(get().getAquaStyleClass()).append(";").toString()); }
+            @Override protected void invalidated() {
+                Helper.setAccentColorPseudoClass(MacosCheckBoxSwitch.this, get());
+                if (isSelected() && !getWindowFocusLost()) { setBkgColor(isDark() ? get().getColorDark() : get().getColorAqua()); }
+            }
             @Override public Object getBean() { return MacosCheckBoxSwitch.this; }
             @Override public String getName() { return "accentColor"; }
         };
@@ -98,40 +99,16 @@ public class MacosCheckBoxSwitch extends CheckBox implements MacosControl {
         };
 
         pseudoClassStateChanged(DARK_PSEUDO_CLASS, darkMode);
-        setStyle(isDark() ? new StringBuilder("-accent-color-dark: ").append(accentColor.getDarkStyleClass()).append(";").toString() : new StringBuilder("-accent-color: ").append(accentColor.getAquaStyleClass()).append(";").toString());
+        Helper.setAccentColorPseudoClass(this, accentColor);
 
         registerListeners();
     }
 
     private void registerListeners() {
-        if (null != getScene()) {
-            setupBinding();
-        } else {
-            sceneProperty().addListener((o1, ov1, nv1) -> {
-                if (null == nv1) { return; }
-                if (null != getScene().getWindow()) {
-                    setupBinding();
-                } else {
-                    sceneProperty().get().windowProperty().addListener((o2, ov2, nv2) -> {
-                        if (null == nv2) { return; }
-                        setupBinding();
-                    });
-                }
-            });
-        }
-    }
-
-    private void setupBinding() {
-        showing = Bindings.createBooleanBinding(() -> {
-            if (getScene() != null && getScene().getWindow() != null) {
-                return getScene().getWindow().isShowing();
-            } else {
-                return false;
-            }
-        }, sceneProperty(), getScene().windowProperty(), getScene().getWindow().showingProperty());
-        showing.addListener(o -> {
-            if (showing.get()) {
-                if (isSelected()) { setBkgColor(isDark() ? getAccentColor().getColorDark() : getAccentColor().getColorAqua()); }
+        ShowingTracker.whenFirstShown(this, checkBoxSwitch -> {
+            if (checkBoxSwitch.isSelected()) {
+                final MacosAccentColor accentColor = checkBoxSwitch.getAccentColor();
+                checkBoxSwitch.setBkgColor(checkBoxSwitch.isDark() ? accentColor.getColorDark() : accentColor.getColorAqua());
             }
         });
     }
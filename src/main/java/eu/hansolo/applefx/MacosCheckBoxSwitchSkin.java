@@ -2,10 +2,8 @@ package eu.hansolo.applefx;
 
 import eu.hansolo.applefx.tools.MacosAccentColor;
 import eu.hansolo.applefx.tools.MacosSystemColor;
-import javafx.animation.Interpolator;
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
-import javafx.animation.Timeline;
+import eu.hansolo.applefx.tools.SwitchAnimator;
+import eu.hansolo.applefx.tools.VisibilityTracker;
 import javafx.beans.value.ChangeListener;
 import javafx.event.EventHandler;
 import javafx.scene.control.SkinBase;
@@ -14,7 +12,6 @@ import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
 import javafx.scene.shape.Rectangle;
-import javafx.util.Duration;
 
 
 public class MacosCheckBoxSwitchSkin extends SkinBase<MacosCheckBoxSwitch> {
@@ -23,10 +20,9 @@ public class MacosCheckBoxSwitchSkin extends SkinBase<MacosCheckBoxSwitch> {
     private static final double                           THUMB_RADIUS   = 11;
     private static final double                           THUMB_INSET    = 1.5;
     private static final double                           THUMB_CENTER_Y = 12.75;
-    private static final Duration                         DURATION       = Duration.millis(250);
-    private static final Duration                         HALF_DURATION  = Duration.millis(125);
+    private static final double                           DURATION       = 250;
     private final        MacosCheckBoxSwitch              control;
-    private final        Timeline                         timeline;
+    private final        SwitchAnimator.Animation         animation;
     private              Circle                           thumb;
     private              Circle                           zero;
     private              Rectangle                        one;
@@ -42,7 +38,21 @@ public class MacosCheckBoxSwitchSkin extends SkinBase<MacosCheckBoxSwitch> {
     public MacosCheckBoxSwitchSkin(final MacosCheckBoxSwitch control) {
         super(control);
         this.control                 = control;
-        this.timeline                = new Timeline();
+        this.animation               = new SwitchAnimator.Animation(control.isSelected()) {
+            @Override protected void apply(final double position, final boolean selecting) {
+                final Color offColor = control.isDark() ? MacosSystemColor.CTRL_BACKGROUND.dark() : MacosSystemColor.CTRL_BACKGROUND.aqua();
+                final Color onColor  = control.isDark() ? control.getAccentColor().getColorDark() : control.getAccentColor().getColorAqua();
+                control.setBkgColor(offColor.interpolate(onColor, position));
+                thumb.setCenterX(THUMB_RADIUS + THUMB_INSET + (WIDTH - 2 * (THUMB_RADIUS + THUMB_INSET)) * position);
+                if (selecting) {
+                    one.setOpacity(position);
+                    zero.setOpacity(Math.max(0, 1 - 2 * position));
+                } else {
+                    one.setOpacity(Math.max(0, 2 * position - 1));
+                    zero.setOpacity(1 - position);
+                }
+            }
+        };
         this.mouseHandler            = e -> control.setSelected(!control.isSelected());
         this.selectionListener       = (o, ov, nv) -> {
             if (nv) {
@@ -101,39 +111,14 @@ public class MacosCheckBoxSwitchSkin extends SkinBase<MacosCheckBoxSwitch> {
 
 
     // ******************** Methods *******************************************
-    private void animateToSelected() {
-        KeyValue kvBackgroundFillStart = new KeyValue(control.bkgColorProperty(), control.isDark() ? MacosSystemColor.CTRL_BACKGROUND.dark() : MacosSystemColor.CTRL_BACKGROUND.aqua(), Interpolator.EASE_BOTH);
-        KeyValue kvBackgroundFillEnd   = new KeyValue(control.bkgColorProperty(), control.isDark() ? control.getAccentColor().getColorDark() : control.getAccentColor().getColorAqua(), Interpolator.EASE_BOTH);
-        KeyValue kvThumbXStart         = new KeyValue(thumb.centerXProperty(), THUMB_RADIUS + THUMB_INSET, Interpolator.EASE_BOTH);
-        KeyValue kvThumbXEnd           = new KeyValue(thumb.centerXProperty(), WIDTH - THUMB_RADIUS - THUMB_INSET, Interpolator.EASE_BOTH);
-        KeyValue kvOneOpacityStart     = new KeyValue(one.opacityProperty(), 0, Interpolator.EASE_BOTH);
-        KeyValue kvOneOpacityEnd       = new KeyValue(one.opacityProperty(), 1, Interpolator.EASE_BOTH);
-        KeyValue kvZeroOpacityStart    = new KeyValue(zero.opacityProperty(), zero.getOpacity(), Interpolator.EASE_BOTH);
-        KeyValue kvZeroOpacityEnd      = new KeyValue(zero.opacityProperty(), 0, Interpolator.EASE_BOTH);
-
-        KeyFrame kf0 = new KeyFrame(Duration.ZERO, kvBackgroundFillStart, kvThumbXStart, kvOneOpacityStart, kvZeroOpacityStart);
-        KeyFrame kf1 = new KeyFrame(HALF_DURATION, kvZeroOpacityEnd);
-        KeyFrame kf2 = new KeyFrame(DURATION, kvBackgroundFillEnd, kvThumbXEnd, kvOneOpacityEnd);
-
-        timeline.getKeyFrames().setAll(kf0, kf1, kf2);
-        timeline.play();
-    }
-    private void animateToDeselected() {
-        KeyValue kvBackgroundFillStart = new KeyValue(control.bkgColorProperty(), control.isDark() ? control.getAccentColor().getColorDark() : control.getAccentColor().getColorAqua(), Interpolator.EASE_BOTH);
-        KeyValue kvBackgroundFillEnd   = new KeyValue(control.bkgColorProperty(), control.isDark() ? MacosSystemColor.CTRL_BACKGROUND.dark() : MacosSystemColor.CTRL_BACKGROUND.aqua(), Interpolator.EASE_BOTH);
-        KeyValue kvThumbXStart         = new KeyValue(thumb.centerXProperty(), WIDTH - THUMB_RADIUS - THUMB_INSET, Interpolator.EASE_BOTH);
-        KeyValue kvThumbXEnd           = new KeyValue(thumb.centerXProperty(), THUMB_RADIUS + THUMB_INSET, Interpolator.EASE_BOTH);
-        KeyValue kvOneOpacityStart     = new KeyValue(one.opacityProperty(), one.getOpacity(), Interpolator.EASE_BOTH);
-        KeyValue kvOneOpacityEnd       = new KeyValue(one.opacityProperty(), 0, Interpolator.EASE_BOTH);
-        KeyValue kvZeroOpacityStart    = new KeyValue(zero.opacityProperty(), 0, Interpolator.EASE_BOTH);
-        KeyValue kvZeroOpacityEnd      = new KeyValue(zero.opacityProperty(), 1, Interpolator.EASE_BOTH);
-
-        KeyFrame kf0 = new KeyFrame(Duration.ZERO, kvBackgroundFillStart, kvThumbXStart, kvOneOpacityStart, kvZeroOpacityStart);
-        KeyFrame kf1 = new KeyFrame(HALF_DURATION, kvOneOpacityEnd);
-        KeyFrame kf2 = new KeyFrame(DURATION, kvBackgroundFillEnd, kvThumbXEnd, kvZeroOpacityEnd);
-
-        timeline.getKeyFrames().setAll(kf0, kf1, kf2);
-        timeline.play();
+    private void animateToSelected() { animateTo(true); }
+    private void animateToDeselected() { animateTo(false); }
+    private void animateTo(final boolean selected) {
+        if (VisibilityTracker.isTreeVisible(control)) {
+            SwitchAnimator.animate(animation, selected, DURATION);
+        } else {
+            SwitchAnimator.jump(animation, selected);
+        }
     }
 
     @Override public void dispose() {
@@ -143,5 +128,7 @@ public class MacosCheckBoxSwitchSkin extends SkinBase<MacosCheckBoxSwitch> {
         control.bkgColorProperty().removeListener(bkgColorListener);
         control.accentColorProperty().removeListener(accentColorListener);
         control.showDescriptionsProperty().removeListener(showDescriptionListener);
+        // a running animation would keep the disposed skin alive in the shared timer
+        SwitchAnimator.jump(animation, control.isSelected());
     }
 }
\ No newline at end of file
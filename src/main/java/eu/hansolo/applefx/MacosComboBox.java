@@ -3,9 +3,8 @@ package eu.hansolo.applefx;
 import eu.hansolo.applefx.tools.Helper;
 import eu.hansolo.applefx.tools.MacosAccentColor;
 import eu.hansolo.applefx.tools.ResizeHelper;
+import eu.hansolo.applefx.tools.ShowingTracker;
 import javafx.application.Platform;
-import javafx.beans.binding.Bindings;
-import javafx.beans.binding.BooleanBinding;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.BooleanPropertyBase;
 import javafx.beans.property.ObjectProperty;
@@ -23,9 +22,11 @@ import java.util.function.Consumer;
 
 public class MacosComboBox<T> extends ComboBox<T> implements MacosControlWithAccentColor {
     private static final PseudoClass                      DARK_PSEUDO_CLASS = PseudoClass.getPseudoClass("dark");
-    private              BooleanBinding                   showing;
     private              BooleanProperty                  dark;
     private              ObjectProperty<MacosAccentColor> accentColor;
+    private              boolean                          _searchable;
+    private              BooleanProperty                  searchable;
+    private              MacosComboBoxSearch<T>           search;
 
 
     // ******************** Constructors **************************************
@@ -48,54 +49,18 @@ public class MacosComboBox<T> extends ComboBox<T> implements MacosControlWithAcc
             @Override public String getName() { return "dark"; }
         };
         this.accentColor = new ObjectPropertyBase<>(Helper.getMacosAccentColor()) {
-            @Override protected void invalidated() {
-                String style;
-                if (isDark()) {
-                    style = new StringBuilder().append("-accent-color-dark: ").append(get().getDarkStyleClass()).append(";").append("-arrow-button-color: ").append(get().getDarkStyleClass()).toString();
-                } else {
-                    style = new StringBuilder().append("-accent-color: ").append(get().getAquaStyleClass()).append(";").append("-arrow-button-color: ").append(get().getAquaStyleClass()).toString();
-                }
-                setStyle(style);
-            }
+            @Override protected void invalidated() { Helper.setAccentColorPseudoClass(MacosComboBox.this, get()); }
             @Override public Object getBean() { return MacosComboBox.this; }
             @Override public String getName() { return "accentColor"; }
         };
         setCellFactory(param -> new MacosComboBoxCell<>(MacosComboBox.this));
 
         pseudoClassStateChanged(DARK_PSEUDO_CLASS, isDark());
+        Helper.setAccentColorPseudoClass(this, getAccentColor());
     }
 
     private void registerListeners() {
-        if (null != getScene()) {
-            setupBinding();
-        } else {
-            sceneProperty().addListener((o1, ov1, nv1) -> {
-                if (null == nv1) { return; }
-                if (null != getScene().getWindow()) {
-                    setupBinding();
-                } else {
-                    sceneProperty().get().windowProperty().addListener((o2, ov2, nv2) -> {
-                        if (null == nv2) { return; }
-                        setupBinding();
-                    });
-                }
-            });
-        }
-    }
-
-    private void setupBinding() {
-        showing = Bindings.createBooleanBinding(() -> {
-            if (getScene() != null && getScene().getWindow() != null) {
-                return getScene().getWindow().isShowing();
-            } else {
-                return false;
-            }
-        }, sceneProperty(), getScene().windowProperty(), getScene().getWindow().showingProperty());
-        showing.addListener(o -> {
-            if (showing.get()) {
-                setStyle();
-            }
-        });
+        ShowingTracker.whenFirstShown(this, comboBox -> Helper.setAccentColorPseudoClass(comboBox, comboBox.getAccentColor()));
     }
 
 
@@ -108,15 +73,59 @@ public class MacosComboBox<T> extends ComboBox<T> implements MacosControlWithAcc
     @Override public void setAccentColor(final MacosAccentColor accentColor) { this.accentColor.set(accentColor); }
     @Override public ObjectProperty<MacosAccentColor> accentColorProperty() { return accentColor; }
 
-    private void setStyle() {
-        final MacosAccentColor accentColor = getAccentColor();
-        final String           style;
-        if (isDark()) {
-            style = new StringBuilder().append("-accent-color-dark: ").append(accentColor.getDarkStyleClass()).append(";").append("-arrow-button-color: ").append(accentColor.getDarkStyleClass()).toString();
+    public final boolean isSearchable() {
+        return null == searchable ? _searchable : searchable.get();
+    }
+    /**
+     * In searchable mode the combo box is editable and the popup only shows the
+     * items that start with or contain the entered text. The items will be
+     * filtered on a background thread, the full list of items is available
+     * via getSourceItems().
+     * @param searchable true to enable the searchable mode
+     */
+    public final void setSearchable(final boolean searchable) {
+        if (null == this.searchable) {
+            _searchable = searchable;
+            updateSearch(searchable);
         } else {
-            style = new StringBuilder().append("-accent-color: ").append(accentColor.getAquaStyleClass()).append(";").append("-arrow-button-color: ").append(accentColor.getAquaStyleClass()).toString();
+            this.searchable.set(searchable);
+        }
+    }
+    public final BooleanProperty searchableProperty() {
+        if (null == searchable) {
+            searchable = new BooleanPropertyBase(_searchable) {
+                @Override protected void invalidated() { updateSearch(get()); }
+                @Override public Object getBean() { return MacosComboBox.this; }
+                @Override public String getName() { return "searchable"; }
+            };
+        }
+        return searchable;
+    }
+
+    /**
+     * Returns all items of the combo box, in searchable mode getItems() only
+     * contains the items that match the current search.
+     * @return all items of the combo box
+     */
+    public ObservableList<T> getSourceItems() { return null == search ? getItems() : search.getSourceItems(); }
+
+    /**
+     * Filters the items of a searchable combo box by the given text.
+     * @param query the text to search for, an empty text shows all items
+     */
+    public void search(final String query) {
+        if (null == search) { return; }
+        search.search(query);
+    }
+
+    private void updateSearch(final boolean searchable) {
+        if (searchable && null == search) {
+            search = new MacosComboBoxSearch<>(this);
+            search.attach();
+        } else if (!searchable && null != search) {
+            search.detach();
+            search = null;
         }
-        setStyle(style);
     }
 
 
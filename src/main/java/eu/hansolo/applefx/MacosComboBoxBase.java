@@ -10,7 +10,7 @@ import javafx.css.PseudoClass;
 import javafx.scene.control.ComboBoxBase;
 
 
-public class MacosComboBoxBase<T> extends ComboBoxBase<T> implements MacosControl {
+public class MacosComboBoxBase<T> extends ComboBoxBase<T> implements MacosControlWithAccentColor {
     private static final PseudoClass                      DARK_PSEUDO_CLASS = PseudoClass.getPseudoClass("dark");
     private              boolean                          _dark;
     private              BooleanProperty                  dark;
@@ -30,6 +30,7 @@ public class MacosComboBoxBase<T> extends ComboBoxBase<T> implements MacosContro
         //getStyleClass().add("macos-combo-box-base");
         _dark        = Helper.isDarkMode();
         _accentColor = Helper.getMacosAccentColor();
+        Helper.setAccentColorPseudoClass(this, _accentColor);
     }
 
 
@@ -58,19 +59,19 @@ public class MacosComboBoxBase<T> extends ComboBoxBase<T> implements MacosContro
         return dark;
     }
 
-    public MacosAccentColor getAccentColor() { return null == accentColor ? _accentColor : accentColor.get(); }
-    public void setAccentColor(final MacosAccentColor accentColor) {
+    @Override public MacosAccentColor getAccentColor() { return null == accentColor ? _accentColor : accentColor.get(); }
+    @Override public void setAccentColor(final MacosAccentColor accentColor) {
         if (null == this.accentColor) {
             _accentColor = accentColor;
-            setStyle(isDark() ? new StringBuilder("-accent-color-dark: ").append(accentColor.getDarkStyleClass()).append(";").toString() : new StringBuilder("-accent-color: ").append(accentColor.getAquaStyleClass()).append(";").toString());
+            Helper.setAccentColorPseudoClass(this, accentColor);
         } else {
             this.accentColor.set(accentColor);
         }
     }
-    public ObjectProperty<MacosAccentColor> accentColorProperty() {
+    @Override public ObjectProperty<MacosAccentColor> accentColorProperty() {
         if (null == accentColor) {
             accentColor = new ObjectPropertyBase<>(_accentColor) {
-                @Override protected void invalidated() { setStyle(isDark() ? new StringBuilder("-accent-color-dark: ").append(get().getDarkStyleClass()).append(";").toString() : new StringBuilder("-accent-color: ").append(get().getAquaStyleClass()).append(";").toString()); }
+                @Override protected void invalidated() { Helper.setAccentColorPseudoClass(MacosComboBoxBase.this, get()); }
                 @Override public Object getBean() { return MacosComboBoxBase.this; }
                 @Override public String getName() { return "accentColor"; }
             };
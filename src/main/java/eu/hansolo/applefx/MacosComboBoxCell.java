@@ -2,22 +2,25 @@ package eu.hansolo.applefx;
 
 import eu.hansolo.applefx.tools.Helper;
 import eu.hansolo.applefx.tools.MacosAccentColor;
+import javafx.beans.InvalidationListener;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.BooleanPropertyBase;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ObjectPropertyBase;
+import javafx.beans.value.ChangeListener;
 import javafx.css.PseudoClass;
+import javafx.scene.Scene;
 import javafx.scene.control.ContentDisplay;
 import javafx.scene.control.ListCell;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.stage.Window;
 
 
 public class MacosComboBoxCell<T> extends ListCell<T> implements MacosControlWithAccentColor {
-    private static final ImageView                        EMPTY_CHECK_MARK  = new ImageView(new Image(MacosComboBoxCell.class.getResourceAsStream("macos-checkmark-empty.png"), 10, 10, true, false));
-    private static final ImageView                        BLACK_CHECK_MARK  = new ImageView(new Image(MacosComboBoxCell.class.getResourceAsStream("macos-checkmark-black.png"), 10, 10, true, false));
-    private static final ImageView                        WHITE_CHECK_MARK  = new ImageView(new Image(MacosComboBoxCell.class.getResourceAsStream("macos-checkmark-white.png"), 10, 10, true, false));
     private static final PseudoClass                      DARK_PSEUDO_CLASS = PseudoClass.getPseudoClass("dark");
+    private        final ImageView                        checkMark;
+    private        final InvalidationListener             scaleListener;
+    private        final ChangeListener<Window>           windowListener;
     private              BooleanProperty                  dark;
     private              ObjectProperty<MacosAccentColor> accentColor;
 
@@ -28,21 +31,39 @@ public class MacosComboBoxCell<T> extends ListCell<T> implements MacosControlWit
         this.dark        = new BooleanPropertyBase(Helper.isDarkMode()) {
             @Override protected void invalidated() {
                 pseudoClassStateChanged(DARK_PSEUDO_CLASS, get());
+                if (null != checkMark) { updateCheckMark(); }
             }
             @Override public Object getBean() { return MacosComboBoxCell.this; }
             @Override public String getName() { return "dark"; }
         };
         this.accentColor = new ObjectPropertyBase<>(Helper.getMacosAccentColor()) {
-            @Override protected void invalidated() { setStyle(isDark() ? new StringBuilder("-accent-color-dark: ").append(get().getDarkStyleClass()).append(";").toString() : new StringBuilder("-accent-color: ").append(get().getAquaStyleClass()).append(";").toString()); }
+            @Override protected void invalidated() { Helper.setAccentColorPseudoClass(MacosComboBoxCell.this, get()); }
             @Override public Object getBean() { return MacosComboBoxCell.this; }
             @Override public String getName() { return "accentColor"; }
         };
+        this.checkMark   = new ImageView();
+        this.checkMark.setFitWidth(CheckMarks.SIZE);
+        this.checkMark.setFitHeight(CheckMarks.SIZE);
+        this.checkMark.setSmooth(true);
+        // the check mark is drawn for the render scale of the window
+        this.scaleListener  = o -> updateCheckMark();
+        this.windowListener = (o, ov, nv) -> {
+            if (null != ov) { ov.renderScaleXProperty().removeListener(scaleListener); }
+            if (null != nv) { nv.renderScaleXProperty().addListener(scaleListener); }
+            updateCheckMark();
+        };
         setGraphicTextGap(5);
         setContentDisplay(ContentDisplay.LEFT);
 
+        sceneProperty().addListener((o, ov, nv) -> {
+            if (null != ov) { ov.windowProperty().removeListener(windowListener); }
+            if (null != nv) { nv.windowProperty().addListener(windowListener); }
+            windowListener.changed(null, null == ov ? null : ov.getWindow(), null == nv ? null : nv.getWindow());
+        });
         comboBox.darkProperty().addListener((o, ov, nv) -> this.dark.set(nv));
         this.accentColor.bind(comboBox.accentColorProperty());
         pseudoClassStateChanged(DARK_PSEUDO_CLASS, comboBox.isDark());
+        Helper.setAccentColorPseudoClass(this, getAccentColor());
     }
 
 
@@ -66,10 +87,27 @@ public class MacosComboBoxCell<T> extends ListCell<T> implements MacosControlWit
             setGraphic(null);
         } else {
             setText(item.toString());
-            setGraphic(isSelected() ? (isDark() ? WHITE_CHECK_MARK : BLACK_CHECK_MARK) : EMPTY_CHECK_MARK);
+            updateCheckMark();
+            setGraphic(checkMark);
         }
     }
 
+    @Override public void updateSelected(final boolean selected) {
+        super.updateSelected(selected);
+        updateCheckMark();
+    }
+
+    private void updateCheckMark() {
+        final CheckMarks.Type type = isSelected() ? (isDark() ? CheckMarks.Type.WHITE : CheckMarks.Type.BLACK) : CheckMarks.Type.EMPTY;
+        checkMark.setImage(CheckMarks.get(type, getRenderScale()));
+    }
+
+    private double getRenderScale() {
+        final Scene  scene  = getScene();
+        final Window window = null == scene ? null : scene.getWindow();
+        return null == window ? 1 : window.getRenderScaleX();
+    }
+
     @Override public String toString() {
         return getItem().toString();
     }
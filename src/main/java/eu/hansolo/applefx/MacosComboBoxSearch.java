@@ -0,0 +1,305 @@
+package eu.hansolo.applefx;
+
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.value.ChangeListener;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.util.StringConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Searchable mode of the MacosComboBox.
+ * The lower case search keys of the source items are derived from the converter
+ * of the combo box, they are maintained incrementally from the changes of the
+ * source list. An immutable snapshot of the items and keys is only built when a
+ * query is submitted after the source changed, so the filtering can run on a
+ * background thread. While the query is empty the changes of the source are
+ * applied to the results as they are, and with a query the search is repeated
+ * once per pulse, so adding items one by one stays cheap. Every new query
+ * cancels the running search. Items that start with the query come first, followed by items
+ * that contain it, and the results are published in batches to the list that
+ * is shown in the popup.
+ * Items that are set with setItems() become the new source items, changes that
+ * the application makes to getItems() (the results) are forwarded to the source
+ * items, so they survive the next search.
+ */
+final class MacosComboBoxSearch<T> {
+    static final         int                               BATCH_SIZE = 500;
+    private static final ExecutorService                   EXECUTOR   = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "applefx-combo-box-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private        final MacosComboBox<T>                  comboBox;
+    private        final ObservableList<T>                 results;
+    private        final ArrayList<String>                 keys;
+    private        final ListChangeListener<T>             sourceListener;
+    private        final ListChangeListener<T>             resultsListener;
+    private        final ChangeListener<ObservableList<T>> itemsListener;
+    private        final InvalidationListener              converterListener;
+    private        final ChangeListener<String>            textListener;
+    private        final AtomicLong                        generation;
+    private        final boolean                           previousEditable;
+    private              Snapshot                          snapshot;
+    private              ObservableList<T>                 sourceItems;
+    private              Future<?>                         task;
+    private              String                            query;
+    private              boolean                           publishing;
+    private              boolean                           forwarding;
+    private              boolean                           searchPending;
+    private              boolean                           attached;
+
+
+    private record Snapshot(Object[] items, String[] keys) {}
+
+
+    // ******************** Constructors **************************************
+    MacosComboBoxSearch(final MacosComboBox<T> comboBox) {
+        this.comboBox          = comboBox;
+        this.sourceItems       = comboBox.getItems();
+        this.results           = FXCollections.observableArrayList(sourceItems);
+        this.keys              = new ArrayList<>(sourceItems.size());
+        this.generation        = new AtomicLong();
+        this.previousEditable  = comboBox.isEditable();
+        this.query             = "";
+        this.sourceListener    = c -> {
+            while (c.next()) {
+                if (c.wasPermutated()) {
+                    final String[] permutated = new String[c.getTo() - c.getFrom()];
+                    for (int i = c.getFrom() ; i < c.getTo() ; i++) { permutated[c.getPermutation(i) - c.getFrom()] = keys.get(i); }
+                    for (int i = 0 ; i < permutated.length ; i++) { keys.set(c.getFrom() + i, permutated[i]); }
+                } else {
+                    if (c.wasRemoved()) { keys.subList(c.getFrom(), c.getFrom() + c.getRemovedSize()).clear(); }
+                    if (c.wasAdded()) {
+                        final List<String> added = new ArrayList<>(c.getAddedSize());
+                        for (T item : c.getAddedSubList()) { added.add(key(item)); }
+                        keys.addAll(c.getFrom(), added);
+                    }
+                }
+            }
+            snapshot = null;
+            // forwarded changes of the results are already visible
+            if (forwarding) { return; }
+            if (isQueryEmpty()) {
+                c.reset();
+                mirror(c);
+            } else {
+                requestSearch();
+            }
+        };
+        this.resultsListener   = c -> {
+            if (publishing) { return; }
+            forwarding = true;
+            try {
+                while (c.next()) { forward(c); }
+            } finally {
+                forwarding = false;
+            }
+        };
+        this.itemsListener     = (o, ov, nv) -> {
+            if (nv == results) { return; }
+            // the application set new items, they become the source of the search
+            sourceItems.removeListener(sourceListener);
+            sourceItems = null == nv ? FXCollections.observableArrayList() : nv;
+            sourceItems.addListener(sourceListener);
+            rebuildKeys();
+            setResults(sourceItems);
+            comboBox.setItems(results);
+            search(query);
+        };
+        this.converterListener = o -> {
+            rebuildKeys();
+            search(query);
+        };
+        this.textListener      = (o, ov, nv) -> {
+            final T value = comboBox.getValue();
+            // the editor shows the selected item, that is no query
+            if (null != value && comboBox.getConverter().toString(value).equals(nv)) { return; }
+            search(nv);
+            if (!comboBox.isShowing() && null != comboBox.getScene()) { comboBox.show(); }
+        };
+        rebuildKeys();
+    }
+
+
+    // ******************** Methods *******************************************
+    void attach() {
+        attached = true;
+        sourceItems.addListener(sourceListener);
+        results.addListener(resultsListener);
+        comboBox.setEditable(true);
+        comboBox.setItems(results);
+        comboBox.itemsProperty().addListener(itemsListener);
+        comboBox.converterProperty().addListener(converterListener);
+        comboBox.getEditor().textProperty().addListener(textListener);
+    }
+
+    void detach() {
+        attached = false;
+        generation.incrementAndGet();
+        if (null != task) { task.cancel(true); }
+        comboBox.getEditor().textProperty().removeListener(textListener);
+        comboBox.converterProperty().removeListener(converterListener);
+        comboBox.itemsProperty().removeListener(itemsListener);
+        results.removeListener(resultsListener);
+        sourceItems.removeListener(sourceListener);
+        comboBox.setItems(sourceItems);
+        comboBox.setEditable(previousEditable);
+    }
+
+    ObservableList<T> getSourceItems() { return sourceItems; }
+
+    ObservableList<T> getResults() { return results; }
+
+    /**
+     * Starts a new search and cancels the running one.
+     * @param query the text to search for, an empty query shows all items
+     */
+    void search(final String query) {
+        this.query = null == query ? "" : query;
+        final long currentGeneration = generation.incrementAndGet();
+        if (null != task) { task.cancel(true); }
+        final String normalized = this.query.trim().toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty()) {
+            task = null;
+            setResults(sourceItems);
+            return;
+        }
+        if (null == snapshot) { snapshot = new Snapshot(sourceItems.toArray(), keys.toArray(new String[0])); }
+        final Snapshot currentSnapshot = snapshot;
+        task = EXECUTOR.submit(() -> filter(currentSnapshot, normalized, currentGeneration));
+    }
+
+    private boolean isQueryEmpty() { return query.trim().isEmpty(); }
+
+    /**
+     * Repeats the current search once in the next pulse, no matter how many
+     * changes of the source items happen until then.
+     */
+    private void requestSearch() {
+        if (searchPending) { return; }
+        searchPending = true;
+        Platform.runLater(() -> {
+            searchPending = false;
+            if (attached && !isQueryEmpty()) { search(query); }
+        });
+    }
+
+    private void filter(final Snapshot snapshot, final String query, final long searchGeneration) {
+        final String[]     keys  = snapshot.keys();
+        final boolean[]    done  = new boolean[keys.length];
+        final List<Object> batch = new ArrayList<>(BATCH_SIZE);
+        boolean            first = true;
+        // first pass: prefix matches, second pass: the remaining substring matches
+        for (int pass = 0 ; pass < 2 ; pass++) {
+            for (int i = 0 ; i < keys.length ; i++) {
+                if ((i & 1023) == 0 && generation.get() != searchGeneration) { return; }
+                if (done[i]) { continue; }
+                final boolean match = 0 == pass ? keys[i].startsWith(query) : keys[i].contains(query);
+                if (!match) { continue; }
+                done[i] = true;
+                batch.add(snapshot.items()[i]);
+                if (batch.size() == BATCH_SIZE) {
+                    publish(new ArrayList<>(batch), first, searchGeneration);
+                    batch.clear();
+                    first = false;
+                }
+            }
+        }
+        publish(new ArrayList<>(batch), first, searchGeneration);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void publish(final List<Object> batch, final boolean replace, final long searchGeneration) {
+        if (generation.get() != searchGeneration) { return; }
+        Platform.runLater(() -> {
+            if (generation.get() != searchGeneration) { return; }
+            publishing = true;
+            try {
+                if (replace) {
+                    results.setAll((List<T>) batch);
+                } else {
+                    results.addAll((List<T>) batch);
+                }
+            } finally {
+                publishing = false;
+            }
+        });
+    }
+
+    private void setResults(final List<T> items) {
+        publishing = true;
+        try {
+            results.setAll(items);
+        } finally {
+            publishing = false;
+        }
+    }
+
+    /**
+     * Applies a change of the source items to the results, which contain all
+     * source items while the query is empty.
+     */
+    private void mirror(final ListChangeListener.Change<? extends T> c) {
+        publishing = true;
+        try {
+            while (c.next()) {
+                if (c.wasUpdated()) { continue; }
+                if (c.wasPermutated()) {
+                    results.remove(c.getFrom(), c.getTo());
+                    results.addAll(c.getFrom(), sourceItems.subList(c.getFrom(), c.getTo()));
+                    continue;
+                }
+                if (c.wasRemoved()) { results.remove(c.getFrom(), c.getFrom() + c.getRemovedSize()); }
+                if (c.wasAdded())   { results.addAll(c.getFrom(), c.getAddedSubList()); }
+            }
+        } finally {
+            publishing = false;
+        }
+    }
+
+    /**
+     * Applies a change that the application made to the results to the source
+     * items, a replaced item is replaced in place, added items are appended.
+     */
+    private void forward(final ListChangeListener.Change<? extends T> c) {
+        if (c.wasPermutated() || c.wasUpdated()) { return; }
+        final List<? extends T> added   = c.wasAdded() ? c.getAddedSubList() : List.of();
+        final List<? extends T> removed = c.getRemoved();
+        int next = 0;
+        for (T item : removed) {
+            final int index = sourceItems.indexOf(item);
+            if (index < 0) { continue; }
+            if (next < added.size()) {
+                sourceItems.set(index, added.get(next++));
+            } else {
+                sourceItems.remove(index);
+            }
+        }
+        if (next < added.size()) { sourceItems.addAll(added.subList(next, added.size())); }
+    }
+
+    private void rebuildKeys() {
+        keys.clear();
+        keys.ensureCapacity(sourceItems.size());
+        for (T item : sourceItems) { keys.add(key(item)); }
+        snapshot = null;
+    }
+
+    private String key(final T item) {
+        if (null == item) { return ""; }
+        final StringConverter<T> converter = comboBox.getConverter();
+        final String             text      = null == converter ? item.toString() : converter.toString(item);
+        return null == text ? "" : text.toLowerCase(Locale.ROOT);
+    }
+}
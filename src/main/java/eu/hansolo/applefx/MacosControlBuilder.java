@@ -0,0 +1,161 @@
+package eu.hansolo.applefx;
+
+import eu.hansolo.applefx.tools.MacosAccentColor;
+import javafx.geometry.Insets;
+import javafx.scene.layout.Region;
+
+import java.util.function.Supplier;
+
+
+/**
+ * Builder for all Macos controls, e.g.
+ * MacosControlBuilder.create(MacosButton::new).text("OK").dark(true).prefWidth(80).build()
+ * The values are kept in primitive fields and compiled into one immutable
+ * MacosControlSettings that is applied to the control in one step. To build many
+ * controls with the same settings call settings() once and apply the result to
+ * each control.
+ */
+public class MacosControlBuilder<C extends Region & MacosControl, B extends MacosControlBuilder<C, B>> {
+    private final Supplier<? extends C> factory;
+    private       int                   set;
+    private       double                prefWidth;
+    private       double                prefHeight;
+    private       double                minWidth;
+    private       double                minHeight;
+    private       double                maxWidth;
+    private       double                maxHeight;
+    private       double                scaleX;
+    private       double                scaleY;
+    private       double                layoutX;
+    private       double                layoutY;
+    private       double                translateX;
+    private       double                translateY;
+    private       Insets                padding;
+    private       boolean               dark;
+    private       MacosAccentColor      accentColor;
+    private       String                text;
+
+
+    // ******************** Constructors **************************************
+    protected MacosControlBuilder(final Supplier<? extends C> factory) {
+        if (null == factory) { throw new IllegalArgumentException("factory cannot be null"); }
+        this.factory = factory;
+    }
+
+
+    // ******************** Methods *******************************************
+    public static <C extends Region & MacosControl> MacosControlBuilder<C, ?> create(final Supplier<? extends C> factory) {
+        return new MacosControlBuilder<>(factory);
+    }
+
+    public final B dark(final boolean dark) {
+        this.dark = dark;
+        return flag(MacosControlSettings.DARK);
+    }
+
+    public final B accentColor(final MacosAccentColor accentColor) {
+        this.accentColor = accentColor;
+        return flag(MacosControlSettings.ACCENT_COLOR);
+    }
+
+    public final B text(final String text) {
+        this.text = text;
+        return flag(MacosControlSettings.TEXT);
+    }
+
+
+    // General properties
+    public final B prefSize(final double width, final double height) {
+        prefWidth(width);
+        return prefHeight(height);
+    }
+    public final B minSize(final double width, final double height) {
+        minWidth(width);
+        return minHeight(height);
+    }
+    public final B maxSize(final double width, final double height) {
+        maxWidth(width);
+        return maxHeight(height);
+    }
+
+    public final B prefWidth(final double prefWidth) {
+        this.prefWidth = prefWidth;
+        return flag(MacosControlSettings.PREF_WIDTH);
+    }
+    public final B prefHeight(final double prefHeight) {
+        this.prefHeight = prefHeight;
+        return flag(MacosControlSettings.PREF_HEIGHT);
+    }
+
+    public final B minWidth(final double minWidth) {
+        this.minWidth = minWidth;
+        return flag(MacosControlSettings.MIN_WIDTH);
+    }
+    public final B minHeight(final double minHeight) {
+        this.minHeight = minHeight;
+        return flag(MacosControlSettings.MIN_HEIGHT);
+    }
+
+    public final B maxWidth(final double maxWidth) {
+        this.maxWidth = maxWidth;
+        return flag(MacosControlSettings.MAX_WIDTH);
+    }
+    public final B maxHeight(final double maxHeight) {
+        this.maxHeight = maxHeight;
+        return flag(MacosControlSettings.MAX_HEIGHT);
+    }
+
+    public final B scaleX(final double scaleX) {
+        this.scaleX = scaleX;
+        return flag(MacosControlSettings.SCALE_X);
+    }
+    public final B scaleY(final double scaleY) {
+        this.scaleY = scaleY;
+        return flag(MacosControlSettings.SCALE_Y);
+    }
+
+    public final B layoutX(final double layoutX) {
+        this.layoutX = layoutX;
+        return flag(MacosControlSettings.LAYOUT_X);
+    }
+    public final B layoutY(final double layoutY) {
+        this.layoutY = layoutY;
+        return flag(MacosControlSettings.LAYOUT_Y);
+    }
+
+    public final B translateX(final double translateX) {
+        this.translateX = translateX;
+        return flag(MacosControlSettings.TRANSLATE_X);
+    }
+    public final B translateY(final double translateY) {
+        this.translateY = translateY;
+        return flag(MacosControlSettings.TRANSLATE_Y);
+    }
+
+    public final B padding(final Insets insets) {
+        this.padding = insets;
+        return flag(MacosControlSettings.PADDING);
+    }
+
+
+    /**
+     * @return the compiled settings that contain all values set so far
+     */
+    public final MacosControlSettings settings() {
+        if (0 == set) { return MacosControlSettings.EMPTY; }
+        return new MacosControlSettings(set, prefWidth, prefHeight, minWidth, minHeight, maxWidth, maxHeight,
+                                        scaleX, scaleY, layoutX, layoutY, translateX, translateY, padding, dark, accentColor, text);
+    }
+
+    public C build() {
+        final C control = factory.get();
+        settings().applyTo(control);
+        return control;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected final B flag(final int flag) {
+        set |= flag;
+        return (B) this;
+    }
+}
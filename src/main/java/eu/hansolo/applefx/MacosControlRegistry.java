@@ -0,0 +1,104 @@
+package eu.hansolo.applefx;
+
+import javafx.collections.ListChangeListener;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+
+/**
+ * Keeps track of all MacosControl descendants of the given roots.
+ * The registry listens to the children of every Parent in the tracked subtrees and
+ * updates itself incrementally when nodes are added or removed. Each control is
+ * classified once when it is registered so that propagating dark mode, accent color
+ * or window focus changes only needs one pass without instanceof chains.
+ */
+class MacosControlRegistry {
+    enum Kind {
+        SWITCH, SWITCH_LITE, CHECK_BOX_SWITCH, CHECK_BOX, RADIO_BUTTON, COMBO_BOX, SLIDER, TEXT_FIELD, BUTTON, ACCENT_COLOR, OTHER;
+
+        static Kind of(final MacosControl control) {
+            if (control instanceof MacosSwitch)                 { return SWITCH; }
+            if (control instanceof MacosSwitchLite)             { return SWITCH_LITE; }
+            if (control instanceof MacosCheckBoxSwitch)         { return CHECK_BOX_SWITCH; }
+            if (control instanceof MacosCheckBox)               { return CHECK_BOX; }
+            if (control instanceof MacosRadioButton)            { return RADIO_BUTTON; }
+            if (control instanceof MacosComboBox)               { return COMBO_BOX; }
+            if (control instanceof MacosSlider)                 { return SLIDER; }
+            if (control instanceof MacosTextField)              { return TEXT_FIELD; }
+            if (control instanceof MacosButton)                 { return BUTTON; }
+            // e.g. MacosListView, MacosTableView, MacosPasswordField and MacosComboBoxBase
+            if (control instanceof MacosControlWithAccentColor) { return ACCENT_COLOR; }
+            return OTHER;
+        }
+    }
+
+    private final List<Parent>              roots;
+    private final Map<MacosControl, Kind>   controls;
+    private final ListChangeListener<Node>  childrenListener;
+
+
+    // ******************** Constructors **************************************
+    MacosControlRegistry(final Parent... roots) {
+        this.roots            = new ArrayList<>(roots.length);
+        this.controls         = new LinkedHashMap<>();
+        this.childrenListener = c -> {
+            while (c.next()) {
+                if (c.wasRemoved()) { c.getRemoved().forEach(this::unregister); }
+                if (c.wasAdded())   { c.getAddedSubList().forEach(this::register); }
+            }
+        };
+        for (Parent root : roots) {
+            if (null == root) { continue; }
+            this.roots.add(root);
+            root.getChildrenUnmodifiable().addListener(childrenListener);
+            root.getChildrenUnmodifiable().forEach(this::register);
+        }
+    }
+
+
+    // ******************** Methods *******************************************
+    int size() { return controls.size(); }
+
+    void forEach(final BiConsumer<MacosControl, Kind> action) {
+        for (Map.Entry<MacosControl, Kind> entry : controls.entrySet()) {
+            action.accept(entry.getKey(), entry.getValue());
+        }
+    }
+
+    void dispose() {
+        for (Parent root : roots) {
+            root.getChildrenUnmodifiable().removeListener(childrenListener);
+            root.getChildrenUnmodifiable().forEach(this::unregister);
+        }
+        roots.clear();
+        controls.clear();
+    }
+
+    private void register(final Node node) {
+        if (node instanceof MacosControl) {
+            final MacosControl control = (MacosControl) node;
+            controls.put(control, Kind.of(control));
+        }
+        if (node instanceof Parent) {
+            final Parent parent = (Parent) node;
+            parent.getChildrenUnmodifiable().removeListener(childrenListener);
+            parent.getChildrenUnmodifiable().addListener(childrenListener);
+            for (Node child : parent.getChildrenUnmodifiable()) { register(child); }
+        }
+    }
+
+    private void unregister(final Node node) {
+        if (node instanceof MacosControl) { controls.remove(node); }
+        if (node instanceof Parent) {
+            final Parent parent = (Parent) node;
+            parent.getChildrenUnmodifiable().removeListener(childrenListener);
+            for (Node child : parent.getChildrenUnmodifiable()) { unregister(child); }
+        }
+    }
+}
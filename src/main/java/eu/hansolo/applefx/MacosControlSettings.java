@@ -0,0 +1,73 @@
+package eu.hansolo.applefx;
+
+import eu.hansolo.applefx.tools.MacosAccentColor;
+import javafx.geometry.Insets;
+import javafx.scene.control.Labeled;
+import javafx.scene.control.TextInputControl;
+import javafx.scene.layout.Region;
+
+
+/**
+ * Compiled settings of a MacosControlBuilder.
+ * Only the values whose flag is contained in {@code set} will be applied, all
+ * other values are ignored. The settings are immutable, so one instance can be
+ * applied to any number of controls (e.g. all rows of a generated form).
+ */
+public record MacosControlSettings(int set,
+                                   double prefWidth, double prefHeight, double minWidth, double minHeight, double maxWidth, double maxHeight,
+                                   double scaleX, double scaleY, double layoutX, double layoutY, double translateX, double translateY,
+                                   Insets padding, boolean dark, MacosAccentColor accentColor, String text) {
+    static final        int                  PREF_WIDTH   = 1;
+    static final        int                  PREF_HEIGHT  = 1 << 1;
+    static final        int                  MIN_WIDTH    = 1 << 2;
+    static final        int                  MIN_HEIGHT   = 1 << 3;
+    static final        int                  MAX_WIDTH    = 1 << 4;
+    static final        int                  MAX_HEIGHT   = 1 << 5;
+    static final        int                  SCALE_X      = 1 << 6;
+    static final        int                  SCALE_Y      = 1 << 7;
+    static final        int                  LAYOUT_X     = 1 << 8;
+    static final        int                  LAYOUT_Y     = 1 << 9;
+    static final        int                  TRANSLATE_X  = 1 << 10;
+    static final        int                  TRANSLATE_Y  = 1 << 11;
+    static final        int                  PADDING      = 1 << 12;
+    static final        int                  DARK         = 1 << 13;
+    static final        int                  ACCENT_COLOR = 1 << 14;
+    static final        int                  TEXT         = 1 << 15;
+    public static final MacosControlSettings EMPTY        = new MacosControlSettings(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, null, false, null, null);
+
+
+    // ******************** Methods *******************************************
+    boolean isSet(final int flag) { return (set & flag) != 0; }
+
+    /**
+     * Applies all values that are set to the given control. Dark mode is only
+     * applied to MacosControls, the accent color to MacosControlWithAccentColor
+     * and the text to Labeled controls and text input controls.
+     * @param control the control to apply the settings to
+     */
+    public void applyTo(final Region control) {
+        if (0 == set) { return; }
+        if (isSet(PREF_WIDTH))  { control.setPrefWidth(prefWidth); }
+        if (isSet(PREF_HEIGHT)) { control.setPrefHeight(prefHeight); }
+        if (isSet(MIN_WIDTH))   { control.setMinWidth(minWidth); }
+        if (isSet(MIN_HEIGHT))  { control.setMinHeight(minHeight); }
+        if (isSet(MAX_WIDTH))   { control.setMaxWidth(maxWidth); }
+        if (isSet(MAX_HEIGHT))  { control.setMaxHeight(maxHeight); }
+        if (isSet(SCALE_X))     { control.setScaleX(scaleX); }
+        if (isSet(SCALE_Y))     { control.setScaleY(scaleY); }
+        if (isSet(LAYOUT_X))    { control.setLayoutX(layoutX); }
+        if (isSet(LAYOUT_Y))    { control.setLayoutY(layoutY); }
+        if (isSet(TRANSLATE_X)) { control.setTranslateX(translateX); }
+        if (isSet(TRANSLATE_Y)) { control.setTranslateY(translateY); }
+        if (isSet(PADDING))     { control.setPadding(padding); }
+        if (isSet(DARK) && control instanceof MacosControl) { ((MacosControl) control).setDark(dark); }
+        if (isSet(ACCENT_COLOR) && control instanceof MacosControlWithAccentColor) { ((MacosControlWithAccentColor) control).setAccentColor(accentColor); }
+        if (isSet(TEXT)) {
+            if (control instanceof Labeled) {
+                ((Labeled) control).setText(text);
+            } else if (control instanceof TextInputControl) {
+                ((TextInputControl) control).setText(text);
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package eu.hansolo.applefx;
+
+import javafx.scene.control.ListCell;
+
+
+/**
+ * Cell of the MacosListView, it has no own appearance state, dark mode and
+ * accent color are inherited from the list view via css.
+ */
+public class MacosListCell<T> extends ListCell<T> {
+
+    // ******************** Constructors **************************************
+    public MacosListCell() {
+        getStyleClass().add("macos-list-cell");
+    }
+
+
+    // ******************** Methods *******************************************
+    @Override protected void updateItem(final T item, final boolean empty) {
+        super.updateItem(item, empty);
+        if (empty || null == item) {
+            setText(null);
+            setGraphic(null);
+        } else {
+            setText(item.toString());
+        }
+    }
+}
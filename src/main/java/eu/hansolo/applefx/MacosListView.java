@@ -0,0 +1,102 @@
+package eu.hansolo.applefx;
+
+import eu.hansolo.applefx.tools.Helper;
+import eu.hansolo.applefx.tools.MacosAccentColor;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.BooleanPropertyBase;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ObjectPropertyBase;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.css.PseudoClass;
+import javafx.scene.control.ListView;
+
+
+/**
+ * Virtualized list in the macOS look.
+ * Dark mode and accent color are pseudo classes of the list view only, the
+ * recycled MacosListCells pick them up via css, so updating a cell never has to
+ * query the appearance. By default all cells have the same fixed height which
+ * lets the VirtualFlow skip measuring cells, call setFixedCellSize(-1) for
+ * cells with variable height.
+ */
+public class MacosListView<T> extends ListView<T> implements MacosControlWithAccentColor {
+    public  static final double                           DEFAULT_CELL_SIZE = 24;
+    private static final PseudoClass                      DARK_PSEUDO_CLASS = PseudoClass.getPseudoClass("dark");
+    private              boolean                          _dark;
+    private              BooleanProperty                  dark;
+    private              MacosAccentColor                 _accentColor;
+    private              ObjectProperty<MacosAccentColor> accentColor;
+
+
+    // ******************** Constructors **************************************
+    public MacosListView() {
+        this(FXCollections.<T>observableArrayList());
+    }
+    public MacosListView(final ObservableList<T> items) {
+        super(items);
+        init();
+    }
+
+
+    // ******************** Initialization ************************************
+    private void init() {
+        getStyleClass().add("macos-list-view");
+        _dark        = Helper.isDarkMode();
+        _accentColor = Helper.getMacosAccentColor();
+        setFixedCellSize(DEFAULT_CELL_SIZE);
+        setCellFactory(param -> new MacosListCell<>());
+        pseudoClassStateChanged(DARK_PSEUDO_CLASS, _dark);
+        Helper.setAccentColorPseudoClass(this, _accentColor);
+    }
+
+
+    // ******************** Methods *******************************************
+    @Override public final boolean isDark() {
+        return null == dark ? _dark : dark.get();
+    }
+    @Override public final void setDark(final boolean dark) {
+        if (null == this.dark) {
+            _dark = dark;
+            pseudoClassStateChanged(DARK_PSEUDO_CLASS, dark);
+        } else {
+            this.dark.set(dark);
+        }
+    }
+    @Override public final BooleanProperty darkProperty() {
+        if (null == dark) {
+            dark = new BooleanPropertyBase(_dark) {
+                @Override protected void invalidated() { pseudoClassStateChanged(DARK_PSEUDO_CLASS, get()); }
+                @Override public Object getBean() { return MacosListView.this; }
+                @Override public String getName() { return "dark"; }
+            };
+        }
+        return dark;
+    }
+
+    @Override public MacosAccentColor getAccentColor() {
+        return null == accentColor ? _accentColor : accentColor.get();
+    }
+    @Override public void setAccentColor(final MacosAccentColor accentColor) {
+        if (null == this.accentColor) {
+            _accentColor = accentColor;
+            Helper.setAccentColorPseudoClass(this, accentColor);
+        } else {
+            this.accentColor.set(accentColor);
+        }
+    }
+    @Override public ObjectProperty<MacosAccentColor> accentColorProperty() {
+        if (null == accentColor) {
+            accentColor = new ObjectPropertyBase<>(_accentColor) {
+                @Override protected void invalidated() { Helper.setAccentColorPseudoClass(MacosListView.this, get()); }
+                @Override public Object getBean() { return MacosListView.this; }
+                @Override public String getName() { return "accentColor"; }
+            };
+        }
+        return accentColor;
+    }
+
+
+    // ******************** Style related *************************************
+    @Override public String getUserAgentStylesheet() { return MacosListView.class.getResource("apple.css").toExternalForm(); }
+}
@@ -36,6 +36,7 @@ public class MacosPasswordField extends PasswordField implements MacosControlWit
         _dark        = Helper.isDarkMode();
         _accentColor = Helper.getMacosAccentColor();
         pseudoClassStateChanged(DARK_PSEUDO_CLASS, _dark);
+        Helper.setAccentColorPseudoClass(this, _accentColor);
     }
 
 
@@ -68,16 +69,7 @@ public class MacosPasswordField extends PasswordField implements MacosControlWit
     @Override public void setAccentColor(final MacosAccentColor accentColor) {
         if (null == this.accentColor) {
             _accentColor = accentColor;
-            String style;
-            if (isDark()) {
-                style = new StringBuilder().append("-fx-focus-color: ").append(accentColor.getDarkHighlightStyleClass()).append(";")
-                                           .append("-fx-faint-focus-color: ").append(accentColor.getDarkHighlightStyleClass()).append(";")
-                                           .append("-highlight-color-dark: ").append(accentColor.getDarkHighlightStyleClass()).append(";").toString();
-            } else {
-                style = new StringBuilder().append("-fx-focus-color: ").append(accentColor.getAquaStyleClass()).append(";")
-                                           .append("-highlight-color: ").append(accentColor.getAquaHighlightStyleClass()).append(";").toString();
-            }
-            setStyle(style);
+            Helper.setAccentColorPseudoClass(this, accentColor);
         } else {
             this.accentColor.set(accentColor);
         }
@@ -85,17 +77,7 @@ public class MacosPasswordField extends PasswordField implements MacosControlWit
     @Override public ObjectProperty<MacosAccentColor> accentColorProperty() {
         if (null == accentColor) {
             accentColor = new ObjectPropertyBase<>(_accentColor) {
-                @Override protected void invalidated() {
-                    String style;
-                    if (isDark()) {
-                        style = new StringBuilder().append("-fx-focus-color: ").append(get().getDarkStyleClass()).append(";")
-                                                   .append("-focus-color-dark: ").append(get().getDarkHighlightStyleClass()).append(";").toString();
-                    } else {
-                        style = new StringBuilder().append("-fx-focus-color: ").append(get().getAquaStyleClass()).append(";")
-                                                   .append("-focus-color: ").append(get().getAquaHighlightStyleClass()).append(";").toString();
-                    }
-                    setStyle(style);
-                }
+                @Override protected void invalidated() { Helper.setAccentColorPseudoClass(MacosPasswordField.this, get()); }
                 @Override public Object getBean() { return MacosPasswordField.this; }
                 @Override public String getName() { return "accentColor"; }
             };
@@ -1,7 +1,7 @@
 package eu.hansolo.applefx;
 
 import eu.hansolo.applefx.tools.Helper;
-import javafx.animation.AnimationTimer;
+import eu.hansolo.applefx.tools.VisibilityTracker;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.BooleanPropertyBase;
 import javafx.beans.property.DoubleProperty;
@@ -15,6 +15,7 @@ import javafx.css.StyleableProperty;
 import javafx.css.StyleablePropertyFactory;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
@@ -32,12 +33,6 @@ public class MacosProgress extends Region implements MacosControl {
     private static final PseudoClass                             DARK_PSEUDO_CLASS      = PseudoClass.getPseudoClass("dark");
     private static final CssMetaData<MacosProgress, Color>       PROGRESS_STROKE        = FACTORY.createColorCssMetaData("-progress-stroke", s -> s.progressStroke, Color.rgb(119, 119, 119), false);
     private static final CssMetaData<MacosProgress, Color>       PROGRESS_FILL          = FACTORY.createColorCssMetaData("-progress-fill", s -> s.progressFill, Color.rgb(119, 119, 119), false);
-    private static final Color[]                                 PILL_COLORS            = { Color.rgb(0, 0, 0), Color.rgb(21, 21, 21), Color.rgb(42, 42, 42), Color.rgb(63, 63, 63),
-                                                                                            Color.rgb(84, 84, 84), Color.rgb(105, 105, 105), Color.rgb(126, 126, 126), Color.rgb(147, 147, 147),
-                                                                                            Color.rgb(168, 168, 168), Color.rgb(189, 189, 189), Color.rgb(210, 210, 210), Color.rgb(231, 231, 231), Color.rgb(252, 252, 252) };
-    private static final Color[]                                 PILL_COLORS_DARK       = { Color.rgb(252, 252, 252), Color.rgb(231, 231, 231), Color.rgb(210, 210, 210), Color.rgb(189, 189, 189), Color.rgb(168, 168, 168),
-                                                                                            Color.rgb(147, 147, 147), Color.rgb(126, 126, 126), Color.rgb(105, 105, 105), Color.rgb(84, 84, 84),
-                                                                                            Color.rgb(63, 63, 63), Color.rgb(42, 42, 42), Color.rgb(21, 21, 21), Color.rgb(0, 0, 0) };
     private              boolean                                 _dark;
     private              BooleanProperty                         dark;
     private        final StyleableProperty<Color>                progressStroke;
@@ -55,9 +50,8 @@ public class MacosProgress extends Region implements MacosControl {
     private              double                                  halfLineWidth;
     private              double                                  _progress;
     private              DoubleProperty                          progress;
-    private              long                                    lastTimerCall;
-    private              AnimationTimer                          timer;
-    private              int                                     pillFillOffset;
+    private              boolean                                 spinning;
+    private              VisibilityTracker                       visibilityTracker;
 
 
     // ******************** Constructors **************************************
@@ -65,33 +59,24 @@ public class MacosProgress extends Region implements MacosControl {
         this(0);
     }
     public MacosProgress(final double progress) {
-        this._dark          = false;
-        this.progressStroke = new StyleableObjectProperty<>(PROGRESS_STROKE.getInitialValue(MacosProgress.this)) {
+        this._dark           = false;
+        this.progressStroke  = new StyleableObjectProperty<>(PROGRESS_STROKE.getInitialValue(MacosProgress.this)) {
             @Override protected void invalidated() { redraw(); }
             @Override public Object getBean() { return MacosProgress.this; }
             @Override public String getName() { return "progressStroke"; }
             @Override public CssMetaData<? extends Styleable, Color> getCssMetaData() { return PROGRESS_STROKE; }
         };
-        this.progressFill   = new StyleableObjectProperty<>(PROGRESS_FILL.getInitialValue(MacosProgress.this)) {
+        this.progressFill    = new StyleableObjectProperty<>(PROGRESS_FILL.getInitialValue(MacosProgress.this)) {
             @Override protected void invalidated() { redraw(); }
             @Override public Object getBean() { return MacosProgress.this; }
             @Override public String getName() { return "progressFill"; }
             @Override public CssMetaData<? extends Styleable, Color> getCssMetaData() { return PROGRESS_FILL; }
         };
-        this._indeterminate = false;
-        this._progress      = Helper.clamp(0.0, 1.0, progress);
-        this.lastTimerCall  = System.nanoTime();
-        this.timer          = new AnimationTimer() {
-            @Override public void handle(final long now) {
-                if (now > lastTimerCall + 66_660_000l) {
-                    redraw();
-                    lastTimerCall = now;
-                }
-            }
-        };
-        this.pillFillOffset = 0;
-        this.lineWidth      = 1;
-        this.halfLineWidth  = 0.5;
+        this._indeterminate  = false;
+        this._progress       = Helper.clamp(0.0, 1.0, progress);
+        this.spinning        = false;
+        this.lineWidth       = 1;
+        this.halfLineWidth   = 0.5;
         initGraphics();
         registerListeners();
     }
@@ -121,6 +106,7 @@ public class MacosProgress extends Region implements MacosControl {
     private void registerListeners() {
         widthProperty().addListener(o -> resize());
         heightProperty().addListener(o -> resize());
+        visibilityTracker = VisibilityTracker.track(this, visible -> updateSpinning());
     }
 
 
@@ -139,6 +125,7 @@ public class MacosProgress extends Region implements MacosControl {
         if (null == this.dark) {
             _dark = dark;
             pseudoClassStateChanged(DARK_PSEUDO_CLASS, dark);
+            redraw();
         } else {
             this.dark.set(dark);
         }
@@ -148,6 +135,7 @@ public class MacosProgress extends Region implements MacosControl {
             dark = new BooleanPropertyBase() {
                 @Override protected void invalidated() {
                     pseudoClassStateChanged(DARK_PSEUDO_CLASS, get());
+                    redraw();
                 }
                 @Override public Object getBean() { return MacosProgress.this; }
                 @Override public String getName() { return "dark"; }
@@ -193,13 +181,9 @@ public class MacosProgress extends Region implements MacosControl {
 
     public boolean isIndeterminate() { return null == indeterminate ? _indeterminate : indeterminate.get(); }
     public void setIndeterminate(final boolean indeterminate) {
-        if (indeterminate) {
-            timer.start();
-        } else {
-            timer.stop();
-        }
         if (null == this.indeterminate) {
             _indeterminate = indeterminate;
+            updateSpinning();
             redraw();
         } else {
             this.indeterminate.set(indeterminate);
@@ -208,7 +192,10 @@ public class MacosProgress extends Region implements MacosControl {
     public BooleanProperty indeterminateProperty() {
         if (null == indeterminate) {
             indeterminate = new BooleanPropertyBase(_indeterminate) {
-                @Override protected void invalidated() { redraw(); }
+                @Override protected void invalidated() {
+                    updateSpinning();
+                    redraw();
+                }
                 @Override public Object getBean() { return MacosProgress.this; }
                 @Override public String getName() { return "indeterminate"; }
             };
@@ -240,29 +227,35 @@ public class MacosProgress extends Region implements MacosControl {
             lineWidth     = Helper.clamp(1, 10, size * 0.0625);
             halfLineWidth = lineWidth * 0.5;
 
-            if (!isIndeterminate()) { redraw(); }
+            redraw();
         }
     }
 
+    private void updateSpinning() {
+        final boolean spin = isIndeterminate() && visibilityTracker.isVisible();
+        if (spin == spinning) { return; }
+        spinning = spin;
+        if (spin) {
+            SpinnerClock.register(this);
+        } else {
+            SpinnerClock.unregister(this);
+        }
+    }
+
+    void drawFrame(final int frame) {
+        if (size <= 0) { return; }
+        final double        scale     = null == getScene() || null == getScene().getWindow() ? 1 : getScene().getWindow().getRenderScaleX();
+        final WritableImage sprite    = SpinnerClock.getSprite(size, scale, isDark());
+        final double        frameSize = sprite.getHeight();
+        ctx.clearRect(0, 0, size, size);
+        ctx.drawImage(sprite, frame * frameSize, 0, frameSize, frameSize, 0, 0, size, size);
+    }
+
     private void redraw() {
-        ctx.clearRect(0, 0, width, height);
         if (isIndeterminate()) {
-            double pillWidth  = size * 0.125;
-            double pillHeight = size * 0.28125;
-            ctx.save();
-            for (int i = 0 ; i < 12 ; i++) {
-                int pillFillIndex = pillFillOffset + i;
-                if (pillFillIndex > 11) { pillFillIndex -= 11; }
-                ctx.setFill(isDark() ? PILL_COLORS_DARK[pillFillIndex] : PILL_COLORS[pillFillIndex]);
-                ctx.fillRoundRect((size - pillWidth) * 0.5, 0, pillWidth, pillHeight,pillWidth, pillWidth);
-                ctx.translate(size * 0.5, size * 0.5);
-                ctx.rotate(-30);
-                ctx.translate(-size * 0.5, -size * 0.5);
-            }
-            pillFillOffset++;
-            if (pillFillOffset > 11) { pillFillOffset = 0; }
-            ctx.restore();
+            drawFrame(SpinnerClock.getFrame());
         } else {
+            ctx.clearRect(0, 0, width, height);
             ctx.setFill(getProgressFill());
             ctx.setStroke(getProgressStroke());
             ctx.setLineWidth(lineWidth);
@@ -34,6 +34,7 @@ public class MacosRadioButton extends RadioButton implements MacosControlWithAcc
         getStyleClass().add("macos-radio-button");
         _dark        = Helper.isDarkMode();
         _accentColor = Helper.getMacosAccentColor();
+        Helper.setAccentColorPseudoClass(this, _accentColor);
     }
 
 
@@ -66,7 +67,7 @@ public class MacosRadioButton extends RadioButton implements MacosControlWithAcc
     @Override public void setAccentColor(final MacosAccentColor accentColor) {
         if (null == this.accentColor) {
             _accentColor = accentColor;
-            setStyle(isDark() ? new StringBuilder("-dot-fill: ").append(accentColor.getDarkStyleClass()).append(";").toString() : new StringBuilder("-dot-fill: ").append(accentColor.getAquaStyleClass()).append(";").toString());
+            Helper.setAccentColorPseudoClass(this, accentColor);
         } else {
             this.accentColor.set(accentColor);
         }
@@ -74,7 +75,7 @@ public class MacosRadioButton extends RadioButton implements MacosControlWithAcc
     @Override public ObjectProperty<MacosAccentColor> accentColorProperty() {
         if (null == accentColor) {
             accentColor = new ObjectPropertyBase<>(_accentColor) {
-                @Override protected void invalidated() { setStyle(isDark() ? new StringBuilder("-dot-fill: ").append(get().getDarkStyleClass()).append(";").toString() : new StringBuilder("-dot-fill: ").append(get().getAquaStyleClass()).append(";").toString()); }
+                @Override protected void invalidated() { Helper.setAccentColorPseudoClass(MacosRadioButton.this, get()); }
                 @Override public Object getBean() { return MacosRadioButton.this; }
                 @Override public String getName() { return "accentColor"; }
             };
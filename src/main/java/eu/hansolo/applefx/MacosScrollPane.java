@@ -1,12 +1,17 @@
 package eu.hansolo.applefx;
 
+import eu.hansolo.applefx.tools.VisibilityTracker;
+import javafx.animation.Animation;
+import javafx.animation.Animation.Status;
 import javafx.animation.FadeTransition;
 import javafx.animation.PauseTransition;
-import javafx.animation.SequentialTransition;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.BooleanPropertyBase;
-import javafx.collections.ListChangeListener;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.DoublePropertyBase;
+import javafx.beans.value.ChangeListener;
 import javafx.css.PseudoClass;
+import javafx.geometry.Orientation;
 import javafx.scene.Node;
 import javafx.scene.control.ScrollBar;
 import javafx.scene.control.ScrollPane;
@@ -14,11 +19,41 @@ import javafx.util.Duration;
 
 
 public class MacosScrollPane extends ScrollPane implements MacosControl {
-    private static final PseudoClass     DARK_PSEUDO_CLASS = PseudoClass.getPseudoClass("dark");
-    private              boolean         _dark;
-    private              BooleanProperty dark;
-    private              SequentialTransition fadeInSequence;
-    private              SequentialTransition fadeOutSequence;
+    public static final  double                  DEFAULT_CULLING_MARGIN = 500;
+    private static final PseudoClass             DARK_PSEUDO_CLASS      = PseudoClass.getPseudoClass("dark");
+    private static final Duration                FADE_DURATION          = Duration.millis(300);
+    private static final Duration                HIDE_DELAY             = Duration.millis(1000);
+    private              boolean                 _dark;
+    private              BooleanProperty         dark;
+    private              boolean                 _overlayScrollBars;
+    private              BooleanProperty         overlayScrollBars;
+    private              MacosScrollPaneOverlay  overlay;
+    private              boolean                 _culling;
+    private              BooleanProperty         culling;
+    private              double                  _cullingMargin;
+    private              DoubleProperty          cullingMargin;
+    private              MacosScrollPaneCulling  cullingSupport;
+    private              boolean                 _smoothScrolling;
+    private              BooleanProperty         smoothScrolling;
+    private              MacosScrollPaneKinetics kinetics;
+    private              ScrollBar               hBar;
+    private              ScrollBar               vBar;
+    private              FadeTransition          hFade;
+    private              FadeTransition          vFade;
+    private              PauseTransition         hideDelay;
+    private              BarState                barState;
+    private              ChangeListener<Status>  fadeStatusListener;
+    private              VisibilityTracker       visibilityTracker;
+
+
+    /**
+     * The scroll bars fade in when scrolling starts and fade out after a delay
+     * when it has finished.
+     * HIDDEN -> FADING_IN -> SHOWN -> HIDE_PENDING -> FADING_OUT -> HIDDEN
+     * A new scroll gesture brings the bars back from every state to FADING_IN
+     * (or keeps them SHOWN), starting at their current opacity.
+     */
+    private enum BarState { HIDDEN, FADING_IN, SHOWN, HIDE_PENDING, FADING_OUT }
 
 
     // ******************** Constructors **************************************
@@ -35,23 +70,77 @@ public class MacosScrollPane extends ScrollPane implements MacosControl {
     // ******************** Initialization ************************************
     private void init() {
         getStyleClass().add("macos-scroll-pane");
-        _dark           = false;
-        fadeInSequence  = new SequentialTransition();
-        fadeOutSequence = new SequentialTransition();
+        _dark              = false;
+        _culling           = false;
+        _cullingMargin     = DEFAULT_CULLING_MARGIN;
+        _smoothScrolling   = false;
+        barState           = BarState.HIDDEN;
+        hFade              = new FadeTransition(FADE_DURATION);
+        vFade              = new FadeTransition(FADE_DURATION);
+        hideDelay          = new PauseTransition(HIDE_DELAY);
+        fadeStatusListener = (o, ov, nv) -> {
+            if (Status.RUNNING == nv) {
+                VisibilityTracker.animationStarted();
+            } else if (Status.RUNNING == ov) {
+                VisibilityTracker.animationStopped();
+            }
+        };
+        hFade.setOnFinished(e -> fadeFinished());
+        vFade.setOnFinished(e -> fadeFinished());
+        hideDelay.setOnFinished(e -> {
+            if (BarState.HIDE_PENDING == barState) { fadeBars(BarState.FADING_OUT, 0); }
+        });
         registerListeners();
     }
 
     private void registerListeners() {
-        setOnScrollStarted(e -> fadeInScrollBars());
-        setOnScrollFinished(e -> fadeOutScrollBars());
-        getChildren().addListener((ListChangeListener<Node>) c -> {
-            for (Node node : lookupAll(".scroll-bar")) {
+        setOnScrollStarted(e -> showScrollBars());
+        setOnScrollFinished(e -> hideScrollBars());
+        hFade.statusProperty().addListener(fadeStatusListener);
+        vFade.statusProperty().addListener(fadeStatusListener);
+        hideDelay.statusProperty().addListener(fadeStatusListener);
+        skinProperty().addListener(o -> attachScrollBars());
+        visibilityTracker = VisibilityTracker.track(this, visible -> {
+            if (visible) {
+                resumeFades();
+            } else {
+                pauseFades();
+            }
+        });
+    }
+
+    /**
+     * Resolves the scroll bars of the skin once when it is attached, the skin
+     * adds them as direct children of the scroll pane.
+     */
+    private void attachScrollBars() {
+        hBar = null;
+        vBar = null;
+        if (null != getSkin()) {
+            for (Node node : getChildrenUnmodifiable()) {
                 if (node instanceof ScrollBar) {
-                    ScrollBar scrollBar = (ScrollBar) node;
-                    scrollBar.setOpacity(0);
+                    final ScrollBar scrollBar = (ScrollBar) node;
+                    if (Orientation.HORIZONTAL == scrollBar.getOrientation()) { hBar = scrollBar; } else { vBar = scrollBar; }
                 }
             }
-        });
+            if (null != overlay) { overlay.addThumbs(); }
+        }
+        resetScrollBars();
+    }
+
+    /**
+     * Hides the bars that are currently in use (the bars of the skin or the
+     * overlay thumbs) and points the fades to them.
+     */
+    private void resetScrollBars() {
+        stopFades();
+        if (null != hBar) { hBar.setOpacity(0); }
+        if (null != vBar) { vBar.setOpacity(0); }
+        hFade.setNode(null == overlay ? hBar : overlay.getHThumb());
+        vFade.setNode(null == overlay ? vBar : overlay.getVThumb());
+        if (null != hFade.getNode()) { hFade.getNode().setOpacity(0); }
+        if (null != vFade.getNode()) { vFade.getNode().setOpacity(0); }
+        barState = BarState.HIDDEN;
     }
 
 
@@ -80,37 +169,244 @@ public class MacosScrollPane extends ScrollPane implements MacosControl {
         return dark;
     }
 
-    private void fadeInScrollBars() {
-        fadeInSequence.stop();
-        for (Node node : lookupAll(".scroll-bar")) {
-            if (node instanceof ScrollBar) {
-                ScrollBar scrollBar = (ScrollBar) node;
-                FadeTransition fadeIn = new FadeTransition(Duration.millis(300));
-                fadeIn.setFromValue(0);
-                fadeIn.setToValue(1);
-                fadeIn.setNode(scrollBar);
-                fadeInSequence.setNode(scrollBar);
-                fadeInSequence.getChildren().setAll(fadeIn);
-                fadeInSequence.play();
+    public final boolean isOverlayScrollBars() {
+        return null == overlayScrollBars ? _overlayScrollBars : overlayScrollBars.get();
+    }
+    /**
+     * In overlay mode the scroll bars don't take part in the layout, thin thumbs
+     * are drawn above the viewport instead. The hbar and vbar policies are set
+     * to NEVER while the mode is active and restored afterwards.
+     * @param overlayScrollBars true to draw the scroll bars above the viewport
+     */
+    public final void setOverlayScrollBars(final boolean overlayScrollBars) {
+        if (null == this.overlayScrollBars) {
+            _overlayScrollBars = overlayScrollBars;
+            updateOverlay(overlayScrollBars);
+        } else {
+            this.overlayScrollBars.set(overlayScrollBars);
+        }
+    }
+    public final BooleanProperty overlayScrollBarsProperty() {
+        if (null == overlayScrollBars) {
+            overlayScrollBars = new BooleanPropertyBase(_overlayScrollBars) {
+                @Override protected void invalidated() { updateOverlay(get()); }
+                @Override public Object getBean() { return MacosScrollPane.this; }
+                @Override public String getName() { return "overlayScrollBars"; }
+            };
+        }
+        return overlayScrollBars;
+    }
+
+    public final boolean isCulling() {
+        return null == culling ? _culling : culling.get();
+    }
+    /**
+     * In culling mode the children of the content that are further away from
+     * the viewport than the culling margin are made fully transparent, so they
+     * won't be rendered and their animations are paused. Their opacity is
+     * restored before they scroll into view. This is meant for big non-virtualized content like a VBox with thousands
+     * of controls.
+     * @param culling true to enable viewport culling
+     */
+    public final void setCulling(final boolean culling) {
+        if (null == this.culling) {
+            _culling = culling;
+            updateCulling(culling);
+        } else {
+            this.culling.set(culling);
+        }
+    }
+    public final BooleanProperty cullingProperty() {
+        if (null == culling) {
+            culling = new BooleanPropertyBase(_culling) {
+                @Override protected void invalidated() { updateCulling(get()); }
+                @Override public Object getBean() { return MacosScrollPane.this; }
+                @Override public String getName() { return "culling"; }
+            };
+        }
+        return culling;
+    }
+
+    public final double getCullingMargin() {
+        return null == cullingMargin ? _cullingMargin : cullingMargin.get();
+    }
+    /**
+     * @param margin the distance in pixels around the viewport in which children stay visible
+     */
+    public final void setCullingMargin(final double margin) {
+        if (null == cullingMargin) {
+            _cullingMargin = Math.max(0, margin);
+            if (null != cullingSupport) { cullingSupport.setMargin(_cullingMargin); }
+        } else {
+            cullingMargin.set(margin);
+        }
+    }
+    public final DoubleProperty cullingMarginProperty() {
+        if (null == cullingMargin) {
+            cullingMargin = new DoublePropertyBase(_cullingMargin) {
+                @Override protected void invalidated() {
+                    if (get() < 0) { set(0); }
+                    if (null != cullingSupport) { cullingSupport.setMargin(get()); }
+                }
+                @Override public Object getBean() { return MacosScrollPane.this; }
+                @Override public String getName() { return "cullingMargin"; }
+            };
+        }
+        return cullingMargin;
+    }
+
+    public final boolean isSmoothScrolling() {
+        return null == smoothScrolling ? _smoothScrolling : smoothScrolling.get();
+    }
+    /**
+     * In smooth scrolling mode the scroll events only feed a kinetic model that
+     * moves the content once per frame, it keeps gliding with friction when the
+     * input stops and bounces back when it is scrolled beyond the edges. The
+     * translate of the content is used for the bounce.
+     * @param smooth true to enable kinetic smooth scrolling
+     */
+    public final void setSmoothScrolling(final boolean smooth) {
+        if (null == smoothScrolling) {
+            _smoothScrolling = smooth;
+            updateSmoothScrolling(smooth);
+        } else {
+            smoothScrolling.set(smooth);
+        }
+    }
+    public final BooleanProperty smoothScrollingProperty() {
+        if (null == smoothScrolling) {
+            smoothScrolling = new BooleanPropertyBase(_smoothScrolling) {
+                @Override protected void invalidated() { updateSmoothScrolling(get()); }
+                @Override public Object getBean() { return MacosScrollPane.this; }
+                @Override public String getName() { return "smoothScrolling"; }
+            };
+        }
+        return smoothScrolling;
+    }
+
+    /**
+     * Runs a pending culling pass immediately instead of before the next layout.
+     */
+    void flushCulling() { if (null != cullingSupport) { cullingSupport.flush(); } }
+
+    int getCulledNodes() { return null == cullingSupport ? 0 : cullingSupport.getCulledNodes(); }
+
+    /**
+     * Runs a frame of the smooth scrolling immediately instead of on the next pulse.
+     */
+    void flushSmoothScrolling(final long now) { if (null != kinetics && kinetics.isRunning()) { kinetics.frame(now); } }
+
+    @Override protected void layoutChildren() {
+        super.layoutChildren();
+        if (null != overlay) { overlay.update(); }
+    }
+
+    private void updateCulling(final boolean enable) {
+        if (enable == (null != cullingSupport)) { return; }
+        if (enable) {
+            cullingSupport = new MacosScrollPaneCulling(this, getCullingMargin());
+            cullingSupport.attach();
+        } else {
+            cullingSupport.detach();
+            cullingSupport = null;
+        }
+    }
+
+    private void updateSmoothScrolling(final boolean enable) {
+        if (enable == (null != kinetics)) { return; }
+        if (enable) {
+            kinetics = new MacosScrollPaneKinetics(this);
+            kinetics.attach();
+        } else {
+            kinetics.detach();
+            kinetics = null;
+        }
+    }
+
+    private void updateOverlay(final boolean enable) {
+        if (enable == (null != overlay)) { return; }
+        if (enable) {
+            overlay = new MacosScrollPaneOverlay(this, getChildren());
+            overlay.attach();
+        } else {
+            overlay.detach();
+            overlay = null;
+        }
+        resetScrollBars();
+    }
+
+    private void pauseFades() {
+        pause(hFade);
+        pause(vFade);
+        pause(hideDelay);
+    }
+    private void resumeFades() {
+        resume(hFade);
+        resume(vFade);
+        resume(hideDelay);
+    }
+    private void stopFades() {
+        hFade.stop();
+        vFade.stop();
+        hideDelay.stop();
+    }
+
+    private void showScrollBars() {
+        switch (barState) {
+            case FADING_IN, SHOWN -> { }
+            case HIDE_PENDING     -> {
+                hideDelay.stop();
+                barState = BarState.SHOWN;
+            }
+            default               -> {
+                hideDelay.stop();
+                fadeBars(BarState.FADING_IN, 1);
             }
         }
     }
-    private void fadeOutScrollBars() {
-        fadeOutSequence.stop();
-        for (Node node : lookupAll(".scroll-bar")) {
-            if (node instanceof ScrollBar) {
-                ScrollBar scrollBar = (ScrollBar) node;
-                FadeTransition fadeOut = new FadeTransition(Duration.millis(300));
-                fadeOut.setFromValue(1);
-                fadeOut.setToValue(0);
-                fadeOut.setNode(scrollBar);
-                fadeOutSequence.setNode(scrollBar);
-                fadeOutSequence.getChildren().setAll(new PauseTransition(Duration.millis(1000)), fadeOut);
-                fadeOutSequence.play();
+    private void hideScrollBars() {
+        switch (barState) {
+            case SHOWN, FADING_IN -> {
+                // a running fade in will finish first and then hide the bars
+                if (BarState.SHOWN == barState) { hideDelay.playFromStart(); }
+                barState = BarState.HIDE_PENDING;
             }
+            default               -> { }
+        }
+    }
+
+    private void fadeBars(final BarState state, final double toValue) {
+        barState = state;
+        hFade.stop();
+        vFade.stop();
+        if (null == hFade.getNode() && null == vFade.getNode()) {
+            fadeFinished();
+            return;
+        }
+        // without a from value the fades start at the current opacity of the bars
+        if (null != hFade.getNode()) {
+            hFade.setToValue(toValue);
+            hFade.playFromStart();
+        }
+        if (null != vFade.getNode()) {
+            vFade.setToValue(toValue);
+            vFade.playFromStart();
         }
     }
 
+    private void fadeFinished() {
+        if (Status.RUNNING == hFade.getStatus() || Status.RUNNING == vFade.getStatus()) { return; }
+        switch (barState) {
+            case FADING_IN    -> barState = BarState.SHOWN;
+            case HIDE_PENDING -> hideDelay.playFromStart();
+            case FADING_OUT   -> barState = BarState.HIDDEN;
+            default           -> { }
+        }
+    }
+
+    private static void pause(final Animation animation) { if (Status.RUNNING == animation.getStatus()) { animation.pause(); } }
+    private static void resume(final Animation animation) { if (Status.PAUSED == animation.getStatus()) { animation.play(); } }
+
 
     // ******************** Style related *************************************
     @Override public String getUserAgentStylesheet() { return MacosScrollPane.class.getResource("apple.css").toExternalForm(); }
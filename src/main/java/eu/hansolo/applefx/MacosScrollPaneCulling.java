@@ -0,0 +1,195 @@
+package eu.hansolo.applefx;
+
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.ReadOnlyProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.collections.ListChangeListener;
+import javafx.css.PseudoClass;
+import javafx.css.StyleOrigin;
+import javafx.css.StyleableProperty;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+
+/**
+ * Viewport culling of the MacosScrollPane.
+ * Children of the content that are further away from the viewport than the
+ * margin are made fully transparent, so they are skipped when the scene is
+ * rendered, and their opacity is restored when they come closer than the margin.
+ * The origin of the opacity is restored as well, so an opacity that came from
+ * css (e.g. the :disabled state) stays under the control of css. Culled nodes
+ * have the :culled pseudo class, the state change lets css recalculate the
+ * opacity of a node when it is restored. Fully transparent nodes are not visible
+ * for the VisibilityTracker, so the animations of culled nodes are paused.
+ * The visible property is never touched, so nodes that the application made
+ * invisible (before or while they were culled) stay invisible. If the
+ * application changes the opacity of a culled node, the node is released from
+ * the culling and keeps the new opacity. Culled nodes keep their place in the
+ * layout. The culling pass runs at most once per pulse before the layout.
+ */
+final class MacosScrollPaneCulling {
+    private static final PseudoClass               CULLED = PseudoClass.getPseudoClass("culled");
+    private        final MacosScrollPane           scrollPane;
+    private        final Map<Node, Opacity>        culled;
+    private        final InvalidationListener      opacityListener;
+    private        final InvalidationListener      requestListener;
+    private        final ListChangeListener<Node>  childrenListener;
+    private        final ChangeListener<Node>      contentListener;
+    private        final ChangeListener<Scene>     sceneListener;
+    private        final Runnable                  pulseListener;
+    private              double                    margin;
+    private              boolean                   requested;
+    private              boolean                   updating;
+
+    private record Opacity(double value, StyleOrigin origin) {}
+
+
+    // ******************** Constructors **************************************
+    MacosScrollPaneCulling(final MacosScrollPane scrollPane, final double margin) {
+        this.scrollPane       = scrollPane;
+        this.culled           = new IdentityHashMap<>();
+        this.margin           = margin;
+        this.requestListener  = o -> request();
+        this.opacityListener  = o -> {
+            // the opacity was changed by the application, it takes precedence
+            if (updating) { return; }
+            release((Node) ((ReadOnlyProperty<?>) o).getBean());
+        };
+        this.childrenListener = c -> {
+            while (c.next()) {
+                if (c.wasRemoved()) { c.getRemoved().forEach(this::restore); }
+            }
+            request();
+        };
+        this.contentListener  = (o, ov, nv) -> {
+            unobserve(ov);
+            observe(nv);
+            request();
+        };
+        this.pulseListener    = () -> { if (requested) { cull(); } };
+        this.sceneListener    = (o, ov, nv) -> {
+            if (null != ov) { ov.removePreLayoutPulseListener(pulseListener); }
+            if (null != nv) { nv.addPreLayoutPulseListener(pulseListener); }
+        };
+    }
+
+
+    // ******************** Methods *******************************************
+    void attach() {
+        scrollPane.hvalueProperty().addListener(requestListener);
+        scrollPane.vvalueProperty().addListener(requestListener);
+        scrollPane.viewportBoundsProperty().addListener(requestListener);
+        scrollPane.contentProperty().addListener(contentListener);
+        scrollPane.sceneProperty().addListener(sceneListener);
+        if (null != scrollPane.getScene()) { scrollPane.getScene().addPreLayoutPulseListener(pulseListener); }
+        observe(scrollPane.getContent());
+        request();
+    }
+
+    void detach() {
+        scrollPane.hvalueProperty().removeListener(requestListener);
+        scrollPane.vvalueProperty().removeListener(requestListener);
+        scrollPane.viewportBoundsProperty().removeListener(requestListener);
+        scrollPane.contentProperty().removeListener(contentListener);
+        scrollPane.sceneProperty().removeListener(sceneListener);
+        if (null != scrollPane.getScene()) { scrollPane.getScene().removePreLayoutPulseListener(pulseListener); }
+        unobserve(scrollPane.getContent());
+        requested = false;
+    }
+
+    void setMargin(final double margin) {
+        this.margin = margin;
+        request();
+    }
+
+    int getCulledNodes() { return culled.size(); }
+
+    /**
+     * Runs the culling pass now, if one was requested.
+     */
+    void flush() { if (requested) { cull(); } }
+
+    private void request() {
+        if (requested) { return; }
+        requested = true;
+        Platform.requestNextPulse();
+    }
+
+    private void cull() {
+        requested = false;
+        final Node content = scrollPane.getContent();
+        if (!(content instanceof Parent)) { return; }
+        // the viewport bounds contain the negative scroll offset of the content
+        final Bounds viewport = scrollPane.getViewportBounds();
+        final double minX     = -viewport.getMinX() - margin;
+        final double minY     = -viewport.getMinY() - margin;
+        final double maxX     = -viewport.getMinX() + viewport.getWidth() + margin;
+        final double maxY     = -viewport.getMinY() + viewport.getHeight() + margin;
+        for (Node child : ((Parent) content).getChildrenUnmodifiable()) {
+            final Bounds  bounds = child.getBoundsInParent();
+            final boolean inside = bounds.getMaxX() >= minX && bounds.getMinX() <= maxX && bounds.getMaxY() >= minY && bounds.getMinY() <= maxY;
+            if (inside) {
+                restore(child);
+            } else if (child.isVisible() && child.getOpacity() > 0 && !culled.containsKey(child)) {
+                culled.put(child, new Opacity(child.getOpacity(), opacity(child).getStyleOrigin()));
+                setOpacity(child, 0);
+                child.opacityProperty().addListener(opacityListener);
+                child.pseudoClassStateChanged(CULLED, true);
+            }
+        }
+    }
+
+    private void restore(final Node node) {
+        final Opacity opacity = culled.remove(node);
+        if (null == opacity) { return; }
+        node.opacityProperty().removeListener(opacityListener);
+        node.pseudoClassStateChanged(CULLED, false);
+        if (StyleOrigin.USER == opacity.origin()) {
+            setOpacity(node, opacity.value());
+        } else {
+            // hand the opacity back to css, the next css pass recalculates it for the current state
+            opacity(node).applyStyle(opacity.origin(), opacity.value());
+        }
+    }
+
+    /**
+     * Forgets a culled node without changing its opacity.
+     */
+    private void release(final Node node) {
+        if (null == culled.remove(node)) { return; }
+        node.opacityProperty().removeListener(opacityListener);
+        node.pseudoClassStateChanged(CULLED, false);
+    }
+
+    private void setOpacity(final Node node, final double opacity) {
+        updating = true;
+        try {
+            node.setOpacity(opacity);
+        } finally {
+            updating = false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static StyleableProperty<Number> opacity(final Node node) { return (StyleableProperty<Number>) node.opacityProperty(); }
+
+    private void observe(final Node content) {
+        if (null == content) { return; }
+        content.layoutBoundsProperty().addListener(requestListener);
+        if (content instanceof Parent) { ((Parent) content).getChildrenUnmodifiable().addListener(childrenListener); }
+    }
+
+    private void unobserve(final Node content) {
+        for (Node node : new ArrayList<>(culled.keySet())) { restore(node); }
+        if (null == content) { return; }
+        content.layoutBoundsProperty().removeListener(requestListener);
+        if (content instanceof Parent) { ((Parent) content).getChildrenUnmodifiable().removeListener(childrenListener); }
+    }
+}
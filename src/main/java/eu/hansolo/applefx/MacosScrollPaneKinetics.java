@@ -0,0 +1,212 @@
+package eu.hansolo.applefx;
+
+import eu.hansolo.applefx.tools.VisibilityTracker;
+import javafx.animation.AnimationTimer;
+import javafx.beans.value.ChangeListener;
+import javafx.event.EventHandler;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.input.ScrollEvent;
+
+
+/**
+ * Kinetic scrolling of the MacosScrollPane.
+ * Scroll events that bubble up from the content are consumed and only add their
+ * deltas to an accumulator, events that a scrollable control inside the content
+ * (a ListView, a TextArea or a nested ScrollPane) consumed never get here. The
+ * scroll position is integrated once per animation pulse from the accumulated
+ * deltas and a velocity that decays with friction when the input stops. Beyond
+ * the edges the content follows the input with resistance (rubber band) and
+ * springs back afterwards. The overscroll is shown by translating the content
+ * relative to the translate it had when the animation started, so it doesn't
+ * need a layout, the original translate is restored when the animation stops.
+ * Each frame results in at most one update of the vvalue and the hvalue,
+ * independent of the rate of the input events.
+ */
+final class MacosScrollPaneKinetics {
+    static final         double                    FRICTION        = 4.5;   // 1/s, velocity decay
+    static final         double                    SPRING          = 14;    // 1/s, rubber band decay
+    static final         double                    RESISTANCE      = 0.35;  // factor of the input beyond the edges
+    static final         double                    MAX_OVERSCROLL  = 0.2;   // fraction of the viewport
+    static final         double                    MIN_VELOCITY    = 5;     // px/s
+    private static final double                    MAX_FRAME_TIME  = 0.05;  // s
+    private static final double                    INPUT_WINDOW    = 0.1;   // s, max. time between events that counts for the velocity
+    private        final MacosScrollPane           scrollPane;
+    private        final EventHandler<ScrollEvent> scrollHandler;
+    private        final ChangeListener<Node>      contentListener;
+    private        final AnimationTimer            timer;
+    private        final Axis                      x;
+    private        final Axis                      y;
+    private              Node                      target;
+    private              double                    translateX;
+    private              double                    translateY;
+    private              long                      lastFrame;
+    private              boolean                   firstFrame;
+    private              boolean                   running;
+
+
+    /**
+     * The state of one scroll direction in pixels, 0 is the start of the content.
+     */
+    private static final class Axis {
+        double pending;
+        double offset;
+        double velocity;
+        double overscroll;
+        double max;
+        double viewport;
+        double idle = INPUT_WINDOW;
+
+        void sync(final double max, final double viewport, final double fraction) {
+            this.max      = max;
+            this.viewport = viewport;
+            this.offset   = max * fraction;
+        }
+
+        void reset() {
+            pending    = 0;
+            velocity   = 0;
+            overscroll = 0;
+            idle       = INPUT_WINDOW;
+        }
+
+        boolean isActive() {
+            return 0 != pending || Math.abs(velocity) > MIN_VELOCITY || Math.abs(overscroll) > 0.5;
+        }
+
+        void step(final double dt) {
+            final double limit = MAX_OVERSCROLL * viewport;
+            if (0 != pending) {
+                final double delta = overscroll * pending > 0 || isOutside(offset + pending) ? pending * RESISTANCE : pending;
+                // slow input (e.g. the notches of a mouse wheel) results in a slow velocity
+                velocity = 0.5 * velocity + 0.5 * (pending / Math.max(dt, Math.min(idle, INPUT_WINDOW)));
+                move(delta, limit);
+                pending  = 0;
+                idle     = 0;
+                return;
+            }
+            idle += dt;
+            if (0 != overscroll) {
+                velocity   = 0;
+                overscroll = Math.abs(overscroll) < 0.5 ? 0 : overscroll * Math.exp(-SPRING * dt);
+            } else {
+                velocity *= Math.exp(-FRICTION * dt);
+                if (Math.abs(velocity) <= MIN_VELOCITY) { velocity = 0; }
+                move(velocity * dt, limit);
+            }
+        }
+
+        private boolean isOutside(final double value) { return value < 0 || value > max; }
+
+        private void move(final double delta, final double limit) {
+            final double target = offset + overscroll + delta;
+            if (target < 0) {
+                offset     = 0;
+                overscroll = Math.max(-limit, target);
+            } else if (target > max) {
+                offset     = max;
+                overscroll = Math.min(limit, target - max);
+            } else {
+                offset     = target;
+                overscroll = 0;
+            }
+        }
+    }
+
+
+    // ******************** Constructors **************************************
+    MacosScrollPaneKinetics(final MacosScrollPane scrollPane) {
+        this.scrollPane      = scrollPane;
+        this.x               = new Axis();
+        this.y               = new Axis();
+        this.timer           = new AnimationTimer() {
+            @Override public void handle(final long now) { frame(now); }
+        };
+        this.scrollHandler   = e -> {
+            // the content is moved by the engine, inertia events of the system would add a second inertia
+            if (!e.isInertia()) {
+                if (!running) { start(); }
+                x.pending -= e.getDeltaX();
+                y.pending -= e.getDeltaY();
+            }
+            e.consume();
+        };
+        this.contentListener = (o, ov, nv) -> {
+            stop();
+            if (null != ov) { ov.removeEventHandler(ScrollEvent.SCROLL, scrollHandler); }
+            if (null != nv) { nv.addEventHandler(ScrollEvent.SCROLL, scrollHandler); }
+        };
+    }
+
+
+    // ******************** Methods *******************************************
+    void attach() {
+        // the handler runs in the bubbling phase of the content, before the handler of the skin
+        scrollPane.contentProperty().addListener(contentListener);
+        if (null != scrollPane.getContent()) { scrollPane.getContent().addEventHandler(ScrollEvent.SCROLL, scrollHandler); }
+    }
+
+    void detach() {
+        scrollPane.contentProperty().removeListener(contentListener);
+        if (null != scrollPane.getContent()) { scrollPane.getContent().removeEventHandler(ScrollEvent.SCROLL, scrollHandler); }
+        stop();
+    }
+
+    boolean isRunning() { return running; }
+
+    private void start() {
+        // the position may have been changed by the scroll bars or by code since the last frame
+        final Node content = scrollPane.getContent();
+        if (null == content) { return; }
+        final Bounds viewport      = scrollPane.getViewportBounds();
+        final Bounds contentBounds = content.getLayoutBounds();
+        x.sync(Math.max(0, contentBounds.getWidth() - viewport.getWidth()), viewport.getWidth(), fraction(scrollPane.getHvalue(), scrollPane.getHmin(), scrollPane.getHmax()));
+        y.sync(Math.max(0, contentBounds.getHeight() - viewport.getHeight()), viewport.getHeight(), fraction(scrollPane.getVvalue(), scrollPane.getVmin(), scrollPane.getVmax()));
+        x.reset();
+        y.reset();
+        target     = content;
+        translateX = content.getTranslateX();
+        translateY = content.getTranslateY();
+        firstFrame = true;
+        running    = true;
+        timer.start();
+        VisibilityTracker.animationStarted();
+    }
+
+    private void stop() {
+        if (!running) { return; }
+        running = false;
+        timer.stop();
+        x.reset();
+        y.reset();
+        target.setTranslateX(translateX);
+        target.setTranslateY(translateY);
+        target = null;
+        VisibilityTracker.animationStopped();
+    }
+
+    /**
+     * Advances the model to the given time and applies it, called by the
+     * animation timer once per pulse.
+     */
+    void frame(final long now) {
+        final double dt = firstFrame ? 1.0 / 60.0 : Math.min(MAX_FRAME_TIME, Math.max(1e-4, (now - lastFrame) / 1_000_000_000.0));
+        lastFrame  = now;
+        firstFrame = false;
+        x.step(dt);
+        y.step(dt);
+        if (x.max > 0) { scrollPane.setHvalue(value(x.offset / x.max, scrollPane.getHmin(), scrollPane.getHmax())); }
+        if (y.max > 0) { scrollPane.setVvalue(value(y.offset / y.max, scrollPane.getVmin(), scrollPane.getVmax())); }
+        target.setTranslateX(translateX - x.overscroll);
+        target.setTranslateY(translateY - y.overscroll);
+        if (!x.isActive() && !y.isActive()) { stop(); }
+    }
+
+    private static double fraction(final double value, final double min, final double max) {
+        return max > min ? Math.max(0, Math.min(1, (value - min) / (max - min))) : 0;
+    }
+
+    private static double value(final double fraction, final double min, final double max) {
+        return min + fraction * (max - min);
+    }
+}
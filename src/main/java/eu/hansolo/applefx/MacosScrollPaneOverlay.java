@@ -0,0 +1,175 @@
+package eu.hansolo.applefx;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.value.ChangeListener;
+import javafx.collections.ObservableList;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.control.ScrollPane.ScrollBarPolicy;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Region;
+
+
+/**
+ * Overlay scroll bars of the MacosScrollPane.
+ * The scroll bars of the skin are switched off, so the viewport always uses the
+ * full size of the scroll pane, and two thin thumbs are drawn above the viewport
+ * instead. The thumbs are unmanaged children of the scroll pane that are only
+ * moved when the scroll position, the viewport or the content size changes, so
+ * scrolling and fading the bars never causes a layout pass of the scroll pane
+ * and only the area of the thumbs has to be repainted. Faded out thumbs are
+ * mouse transparent, so clicks reach the content below them.
+ */
+final class MacosScrollPaneOverlay {
+    static final         double                 THICKNESS      = 7;
+    static final         double                 INSET          = 2;
+    static final         double                 MIN_THUMB_SIZE = 18;
+    private        final MacosScrollPane        scrollPane;
+    private        final ObservableList<Node>   children;
+    private        final Region                 hThumb;
+    private        final Region                 vThumb;
+    private        final InvalidationListener   updateListener;
+    private        final ChangeListener<Node>   contentListener;
+    private        final ScrollBarPolicy        previousHbarPolicy;
+    private        final ScrollBarPolicy        previousVbarPolicy;
+    private              double                 dragStart;
+    private              double                 dragStartValue;
+
+
+    // ******************** Constructors **************************************
+    MacosScrollPaneOverlay(final MacosScrollPane scrollPane, final ObservableList<Node> children) {
+        this.scrollPane         = scrollPane;
+        this.children           = children;
+        this.hThumb             = createThumb("horizontal");
+        this.vThumb             = createThumb("vertical");
+        this.updateListener     = o -> update();
+        this.contentListener    = (o, ov, nv) -> {
+            if (null != ov) { ov.layoutBoundsProperty().removeListener(updateListener); }
+            if (null != nv) { nv.layoutBoundsProperty().addListener(updateListener); }
+            update();
+        };
+        this.previousHbarPolicy = scrollPane.getHbarPolicy();
+        this.previousVbarPolicy = scrollPane.getVbarPolicy();
+
+        hThumb.addEventHandler(MouseEvent.MOUSE_PRESSED, e -> startDrag(e.getSceneX(), scrollPane.getHvalue(), e));
+        hThumb.addEventHandler(MouseEvent.MOUSE_DRAGGED, e -> {
+            scrollPane.setHvalue(dragValue(e.getSceneX(), trackLength(true) - (vThumb.isVisible() ? THICKNESS : 0) - hThumb.getWidth(), scrollPane.getHmin(), scrollPane.getHmax()));
+            e.consume();
+        });
+        vThumb.addEventHandler(MouseEvent.MOUSE_PRESSED, e -> startDrag(e.getSceneY(), scrollPane.getVvalue(), e));
+        vThumb.addEventHandler(MouseEvent.MOUSE_DRAGGED, e -> {
+            scrollPane.setVvalue(dragValue(e.getSceneY(), trackLength(false) - (hThumb.isVisible() ? THICKNESS : 0) - vThumb.getHeight(), scrollPane.getVmin(), scrollPane.getVmax()));
+            e.consume();
+        });
+    }
+
+
+    // ******************** Methods *******************************************
+    void attach() {
+        scrollPane.setHbarPolicy(ScrollBarPolicy.NEVER);
+        scrollPane.setVbarPolicy(ScrollBarPolicy.NEVER);
+        scrollPane.hvalueProperty().addListener(updateListener);
+        scrollPane.vvalueProperty().addListener(updateListener);
+        scrollPane.hminProperty().addListener(updateListener);
+        scrollPane.hmaxProperty().addListener(updateListener);
+        scrollPane.vminProperty().addListener(updateListener);
+        scrollPane.vmaxProperty().addListener(updateListener);
+        scrollPane.viewportBoundsProperty().addListener(updateListener);
+        scrollPane.contentProperty().addListener(contentListener);
+        if (null != scrollPane.getContent()) { scrollPane.getContent().layoutBoundsProperty().addListener(updateListener); }
+        addThumbs();
+        update();
+    }
+
+    void detach() {
+        scrollPane.hvalueProperty().removeListener(updateListener);
+        scrollPane.vvalueProperty().removeListener(updateListener);
+        scrollPane.hminProperty().removeListener(updateListener);
+        scrollPane.hmaxProperty().removeListener(updateListener);
+        scrollPane.vminProperty().removeListener(updateListener);
+        scrollPane.vmaxProperty().removeListener(updateListener);
+        scrollPane.viewportBoundsProperty().removeListener(updateListener);
+        scrollPane.contentProperty().removeListener(contentListener);
+        if (null != scrollPane.getContent()) { scrollPane.getContent().layoutBoundsProperty().removeListener(updateListener); }
+        children.removeAll(hThumb, vThumb);
+        scrollPane.setHbarPolicy(previousHbarPolicy);
+        scrollPane.setVbarPolicy(previousVbarPolicy);
+    }
+
+    /**
+     * Puts the thumbs on top of the children of the skin, has to be called
+     * again when a new skin was attached.
+     */
+    void addThumbs() {
+        children.removeAll(hThumb, vThumb);
+        children.addAll(hThumb, vThumb);
+    }
+
+    Region getHThumb() { return hThumb; }
+
+    Region getVThumb() { return vThumb; }
+
+    /**
+     * Moves and resizes the thumbs, this never requests a layout of the scroll pane.
+     */
+    void update() {
+        final Node content = scrollPane.getContent();
+        if (null == content) {
+            hThumb.setVisible(false);
+            vThumb.setVisible(false);
+            return;
+        }
+        final Bounds  viewport      = scrollPane.getViewportBounds();
+        final Bounds  contentBounds = content.getLayoutBounds();
+        final boolean hVisible      = contentBounds.getWidth() > viewport.getWidth() && viewport.getWidth() > 0;
+        final boolean vVisible      = contentBounds.getHeight() > viewport.getHeight() && viewport.getHeight() > 0;
+        final double  left          = scrollPane.snappedLeftInset();
+        final double  top           = scrollPane.snappedTopInset();
+        hThumb.setVisible(hVisible);
+        vThumb.setVisible(vVisible);
+        if (hVisible) {
+            final double track  = trackLength(true) - (vVisible ? THICKNESS : 0);
+            final double length = Math.min(track, Math.max(MIN_THUMB_SIZE, track * viewport.getWidth() / contentBounds.getWidth()));
+            final double offset = (track - length) * fraction(scrollPane.getHvalue(), scrollPane.getHmin(), scrollPane.getHmax());
+            hThumb.resizeRelocate(left + INSET + offset, top + viewport.getHeight() - THICKNESS - INSET, length, THICKNESS);
+        }
+        if (vVisible) {
+            final double track  = trackLength(false) - (hVisible ? THICKNESS : 0);
+            final double length = Math.min(track, Math.max(MIN_THUMB_SIZE, track * viewport.getHeight() / contentBounds.getHeight()));
+            final double offset = (track - length) * fraction(scrollPane.getVvalue(), scrollPane.getVmin(), scrollPane.getVmax());
+            vThumb.resizeRelocate(left + viewport.getWidth() - THICKNESS - INSET, top + INSET + offset, THICKNESS, length);
+        }
+    }
+
+    private double trackLength(final boolean horizontal) {
+        final Bounds viewport = scrollPane.getViewportBounds();
+        return (horizontal ? viewport.getWidth() : viewport.getHeight()) - 2 * INSET;
+    }
+
+    private void startDrag(final double position, final double value, final MouseEvent event) {
+        dragStart      = position;
+        dragStartValue = value;
+        event.consume();
+    }
+
+    private double dragValue(final double position, final double freeTrack, final double min, final double max) {
+        if (freeTrack <= 0) { return dragStartValue; }
+        final double value = dragStartValue + (position - dragStart) / freeTrack * (max - min);
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static double fraction(final double value, final double min, final double max) {
+        return max > min ? Math.max(0, Math.min(1, (value - min) / (max - min))) : 0;
+    }
+
+    private static Region createThumb(final String orientation) {
+        final Region thumb = new Region();
+        thumb.getStyleClass().addAll("overlay-thumb", orientation);
+        thumb.setManaged(false);
+        thumb.setOpacity(0);
+        // a faded out thumb must not take the clicks of the content below it
+        thumb.setMouseTransparent(true);
+        thumb.opacityProperty().addListener(o -> thumb.setMouseTransparent(thumb.getOpacity() <= 0));
+        return thumb;
+    }
+}
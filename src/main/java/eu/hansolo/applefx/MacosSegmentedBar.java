@@ -0,0 +1,319 @@
+package eu.hansolo.applefx;
+
+import eu.hansolo.applefx.fonts.Fonts;
+import eu.hansolo.applefx.tools.Helper;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.BooleanPropertyBase;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.IntegerPropertyBase;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextAlignment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Segmented bar that is rendered into canvas tiles, meant for bars with a very
+ * large number of segments where a MacosToggleButtonBar would need a button and
+ * a separator node per segment. The tiles have a bounded width, so even very wide
+ * bars stay below the maximum texture size of the graphics card. The segments are plain strings, their widths are
+ * measured once when the segments change. A change of the selection only repaints
+ * the previously and the newly selected segment and their separators.
+ * In contrast to the MacosToggleButtonBar the colors are not styleable via css.
+ */
+public class MacosSegmentedBar extends Region implements MacosControl {
+    public static final  int                    NO_SELECTION      = -1;
+    private static final double                 HEIGHT            = 22;
+    private static final double                 RADIUS            = 5;
+    private static final double                 INSET             = 1;
+    private static final double                 SEGMENT_PADDING   = 8;
+    private static final double                 MIN_SEGMENT_WIDTH = 24;
+    private static final double                 TILE_WIDTH        = 2048;  // 8192 px at a render scale of 4
+    private static final Color                  BORDER            = Color.rgb(199, 198, 198);
+    private static final Color                  BACKGROUND        = Color.rgb(227, 225, 225);
+    private static final Color                  SELECTED_BORDER   = Color.rgb(200, 198, 198);
+    private static final Color                  SELECTED          = Color.WHITE;
+    private static final Color                  SEPARATOR         = Color.rgb(207, 205, 205);
+    private static final Color                  TEXT              = Color.BLACK;
+    private static final Color                  BORDER_DARK       = Color.rgb(52, 51, 49);
+    private static final Color                  BACKGROUND_DARK   = Color.rgb(46, 43, 42);
+    private static final Color                  SELECTED_DARK     = Color.rgb(105, 103, 103);
+    private static final Color                  SEPARATOR_DARK    = Color.rgb(37, 34, 33);
+    private static final Color                  TEXT_DARK         = Color.WHITE;
+    private static final Text                   MEASURE           = new Text();
+    private        final ObservableList<String> segments;
+    private        final List<Canvas>           tiles;
+    private        final Font                   font;
+    private              double[]               edges;
+    private              double                 width;
+    private              double                 height;
+    private              boolean                _dark;
+    private              BooleanProperty        dark;
+    private              int                    _selectedIndex;
+    private              IntegerProperty        selectedIndex;
+
+
+    // ******************** Constructors **************************************
+    public MacosSegmentedBar() {
+        this(new String[]{});
+    }
+    public MacosSegmentedBar(final String... segments) {
+        this.segments       = FXCollections.observableArrayList(segments);
+        this.tiles          = new ArrayList<>();
+        this.font           = Fonts.sfProRegular(13);
+        this.edges          = new double[] { 0 };
+        this._dark          = Helper.isDarkMode();
+        this._selectedIndex = NO_SELECTION;
+        getStyleClass().add("macos-segmented-bar");
+        setFocusTraversable(true);
+        measure();
+        registerListeners();
+    }
+
+
+    // ******************** Initialization ************************************
+    private void registerListeners() {
+        segments.addListener((ListChangeListener<String>) c -> {
+            measure();
+            if (getSelectedIndex() >= segments.size()) { setSelectedIndex(NO_SELECTION); }
+            requestLayout();
+            redraw();
+        });
+        widthProperty().addListener(o -> resize());
+        heightProperty().addListener(o -> resize());
+        addEventHandler(MouseEvent.MOUSE_PRESSED, e -> {
+            if (isDisabled()) { return; }
+            requestFocus();
+            final int index = indexAt(e.getX() - snappedLeftInset());
+            if (NO_SELECTION != index) { setSelectedIndex(index); }
+        });
+        addEventHandler(KeyEvent.KEY_PRESSED, e -> {
+            if (segments.isEmpty()) { return; }
+            final int index = getSelectedIndex();
+            switch (e.getCode()) {
+                case LEFT  -> setSelectedIndex(Math.max(0, index - 1));
+                case RIGHT -> setSelectedIndex(Math.min(segments.size() - 1, index + 1));
+                case HOME  -> setSelectedIndex(0);
+                case END   -> setSelectedIndex(segments.size() - 1);
+                default    -> { return; }
+            }
+            e.consume();
+        });
+    }
+
+
+    // ******************** Methods *******************************************
+    @Override protected double computeMinWidth(final double height)  { return computePrefWidth(height); }
+    @Override protected double computeMinHeight(final double width)  { return computePrefHeight(width); }
+    @Override protected double computePrefWidth(final double height) { return snappedLeftInset() + edges[edges.length - 1] + snappedRightInset(); }
+    @Override protected double computePrefHeight(final double width) { return snappedTopInset() + HEIGHT + snappedBottomInset(); }
+    @Override protected double computeMaxHeight(final double width)  { return computePrefHeight(width); }
+
+    @Override protected void layoutChildren() {
+        for (int i = 0 ; i < tiles.size() ; i++) { tiles.get(i).relocate(snappedLeftInset() + i * TILE_WIDTH, snappedTopInset()); }
+    }
+
+    public ObservableList<String> getSegments() { return segments; }
+
+    public int getSelectedIndex() { return null == selectedIndex ? _selectedIndex : selectedIndex.get(); }
+    /**
+     * @param index the index of the selected segment or NO_SELECTION
+     */
+    public void setSelectedIndex(final int index) {
+        if (null == selectedIndex) {
+            final int clamped = clampIndex(index);
+            if (_selectedIndex == clamped) { return; }
+            final int previous = _selectedIndex;
+            _selectedIndex = clamped;
+            selectionChanged(previous, clamped);
+        } else {
+            selectedIndex.set(index);
+        }
+    }
+    public IntegerProperty selectedIndexProperty() {
+        if (null == selectedIndex) {
+            selectedIndex = new IntegerPropertyBase(_selectedIndex) {
+                private int previous = _selectedIndex;
+
+                @Override protected void invalidated() {
+                    final int index = clampIndex(get());
+                    if (index != get()) { set(index); return; }
+                    selectionChanged(previous, index);
+                    previous = index;
+                }
+                @Override public Object getBean() { return MacosSegmentedBar.this; }
+                @Override public String getName() { return "selectedIndex"; }
+            };
+        }
+        return selectedIndex;
+    }
+
+    @Override public final boolean isDark() { return null == dark ? _dark : dark.get(); }
+    @Override public final void setDark(final boolean dark) {
+        if (null == this.dark) {
+            _dark = dark;
+            redraw();
+        } else {
+            this.dark.set(dark);
+        }
+    }
+    @Override public final BooleanProperty darkProperty() {
+        if (null == dark) {
+            dark = new BooleanPropertyBase(_dark) {
+                @Override protected void invalidated() { redraw(); }
+                @Override public Object getBean() { return MacosSegmentedBar.this; }
+                @Override public String getName() { return "dark"; }
+            };
+        }
+        return dark;
+    }
+
+    private int clampIndex(final int index) { return index < 0 || index >= segments.size() ? NO_SELECTION : index; }
+
+    /**
+     * @param x the x coordinate relative to the content area of the bar
+     * @return the index of the segment at x or NO_SELECTION
+     */
+    private int indexAt(final double x) {
+        if (segments.isEmpty() || x < 0 || x >= edges[edges.length - 1]) { return NO_SELECTION; }
+        final int index = Arrays.binarySearch(edges, x);
+        return Math.min(segments.size() - 1, index < 0 ? -index - 2 : index);
+    }
+
+    private void measure() {
+        edges = new double[segments.size() + 1];
+        MEASURE.setFont(font);
+        double x = INSET;
+        edges[0] = 0;
+        for (int i = 0 ; i < segments.size() ; i++) {
+            MEASURE.setText(segments.get(i));
+            x += Math.max(MIN_SEGMENT_WIDTH, Math.ceil(MEASURE.getLayoutBounds().getWidth()) + 2 * SEGMENT_PADDING);
+            edges[i + 1] = i == segments.size() - 1 ? x + INSET : x;
+        }
+        MEASURE.setText("");
+    }
+
+    private void selectionChanged(final int previous, final int index) {
+        // only the segments and the separators next to them change
+        if (NO_SELECTION != previous) { redraw(previous - 1, previous + 1); }
+        if (NO_SELECTION != index)    { redraw(index - 1, index + 1); }
+    }
+
+
+    // ******************** Layout *******************************************
+    @Override public String getUserAgentStylesheet() { return MacosSegmentedBar.class.getResource("apple.css").toExternalForm(); }
+
+    private void resize() {
+        final double width  = getWidth() - snappedLeftInset() - snappedRightInset();
+        final double height = getHeight() - snappedTopInset() - snappedBottomInset();
+        if (width <= 0 || height <= 0) { return; }
+        final int count = (int) Math.ceil(width / TILE_WIDTH);
+        while (tiles.size() > count) { getChildren().remove(tiles.remove(tiles.size() - 1)); }
+        while (tiles.size() < count) {
+            final Canvas tile = new Canvas();
+            tile.setMouseTransparent(true);
+            tiles.add(tile);
+            getChildren().add(tile);
+        }
+        for (int i = 0 ; i < count ; i++) {
+            tiles.get(i).setWidth(Math.min(TILE_WIDTH, width - i * TILE_WIDTH));
+            tiles.get(i).setHeight(height);
+        }
+        this.width  = width;
+        this.height = height;
+        redraw();
+    }
+
+    private void redraw() {
+        paint(0, width, 0, segments.size() - 1);
+    }
+
+    /**
+     * Repaints the segments from..to (inclusive) and the separators between
+     * and next to them, everything else stays untouched.
+     */
+    private void redraw(final int from, final int to) {
+        if (segments.isEmpty()) { return; }
+        final int first = Math.max(0, from);
+        final int last  = Math.min(segments.size() - 1, to);
+        if (first > last) { return; }
+        paint(edges[first], last == segments.size() - 1 ? width : edges[last + 1], first, last);
+    }
+
+    /**
+     * Paints the area minX..maxX (in coordinates of the whole bar) into all
+     * tiles that intersect it.
+     */
+    private void paint(final double minX, final double maxX, final int first, final int last) {
+        for (int i = 0 ; i < tiles.size() ; i++) {
+            final Canvas tile  = tiles.get(i);
+            final double tileX = i * TILE_WIDTH;
+            if (tileX >= maxX || tileX + tile.getWidth() <= minX) { continue; }
+            final GraphicsContext ctx = tile.getGraphicsContext2D();
+            ctx.save();
+            ctx.translate(-tileX, 0);
+            ctx.beginPath();
+            ctx.rect(minX, 0, maxX - minX, height);
+            ctx.clip();
+            ctx.clearRect(minX, 0, maxX - minX, height);
+            drawBackground(ctx);
+            if (first <= last) { drawSegments(ctx, first, last); }
+            ctx.restore();
+        }
+    }
+
+    private void drawSegments(final GraphicsContext ctx, final int first, final int last) {
+        final int     selected = getSelectedIndex();
+        final boolean dark     = isDark();
+
+        // separators are hidden next to the selected segment
+        ctx.setFill(dark ? SEPARATOR_DARK : SEPARATOR);
+        for (int i = Math.max(1, first) ; i <= Math.min(segments.size() - 1, last + 1) ; i++) {
+            if (i == selected || i - 1 == selected) { continue; }
+            ctx.fillRect(Math.round(edges[i]) - 0.5, height * 0.15, 1, height * 0.7);
+        }
+
+        if (selected >= first && selected <= last) {
+            final double x = edges[selected];
+            final double w = edges[selected + 1] - x;
+            if (dark) {
+                ctx.setFill(SELECTED_DARK);
+                ctx.fillRoundRect(x, INSET, w, height - 2 * INSET, 2 * RADIUS, 2 * RADIUS);
+            } else {
+                ctx.setFill(SELECTED_BORDER);
+                ctx.fillRoundRect(x, INSET, w, height - 2 * INSET, 2 * RADIUS, 2 * RADIUS);
+                ctx.setFill(SELECTED);
+                ctx.fillRoundRect(x + 1, INSET + 1, w - 2, height - 2 * INSET - 2, 2 * RADIUS - 2, 2 * RADIUS - 2);
+            }
+        }
+
+        ctx.setFont(font);
+        ctx.setFill(dark ? TEXT_DARK : TEXT);
+        ctx.setTextAlign(TextAlignment.CENTER);
+        ctx.setTextBaseline(VPos.CENTER);
+        for (int i = first ; i <= last ; i++) {
+            ctx.fillText(segments.get(i), (edges[i] + edges[i + 1]) * 0.5, height * 0.5);
+        }
+    }
+
+    private void drawBackground(final GraphicsContext ctx) {
+        final boolean dark = isDark();
+        ctx.setFill(dark ? BORDER_DARK : BORDER);
+        ctx.fillRoundRect(0, 0, width, height, 2 * RADIUS, 2 * RADIUS);
+        ctx.setFill(dark ? BACKGROUND_DARK : BACKGROUND);
+        ctx.fillRoundRect(INSET, INSET, width - 2 * INSET, height - 2 * INSET, 2 * RADIUS - 2, 2 * RADIUS - 2);
+    }
+}
@@ -15,6 +15,7 @@ import javafx.scene.paint.Color;
 public class MacosSlider extends Slider implements MacosControlWithAccentColor {
     private static final PseudoClass                      BALANCE_PSEUDO_CLASS = PseudoClass.getPseudoClass("balance");
     private static final PseudoClass                      DARK_PSEUDO_CLASS    = PseudoClass.getPseudoClass("dark");
+    private static final PseudoClass                      WINDOW_FOCUS_LOST_PSEUDO_CLASS = PseudoClass.getPseudoClass("window-focus-lost");
     private              BooleanProperty                  balance              = new BooleanPropertyBase(false) {
         @Override protected void invalidated() { pseudoClassStateChanged(BALANCE_PSEUDO_CLASS, get()); }
         @Override public Object getBean() { return MacosSlider.this; }
@@ -44,11 +45,12 @@ public class MacosSlider extends Slider implements MacosControlWithAccentColor {
             @Override public String getName() { return "dark"; }
         };
         this.accentColor = new ObjectPropertyBase<>(Helper.getMacosAccentColor()) {
-            @Override protected void invalidated() { setStyle(new StringBuilder().append("-track-progress-fill: ").append((isDark() ? get().getDarkStyleClass() : get().getAquaStyleClass())).append(";").toString()); }
+            @Override protected void invalidated() { Helper.setAccentColorPseudoClass(MacosSlider.this, get()); }
             @Override public Object getBean() { return MacosSlider.this; }
             @Override public String getName() { return "accentColor"; }
         };
         pseudoClassStateChanged(DARK_PSEUDO_CLASS, isDark());
+        Helper.setAccentColorPseudoClass(this, getAccentColor());
     }
 
 
@@ -65,13 +67,7 @@ public class MacosSlider extends Slider implements MacosControlWithAccentColor {
     @Override public void setAccentColor(final MacosAccentColor accentColor) { this.accentColor.set(accentColor); }
     @Override public ObjectProperty<MacosAccentColor> accentColorProperty() { return accentColor; }
 
-    public void setWindowFocusLost(final boolean windowFocusLost) {
-        if (windowFocusLost) {
-            setStyle(new StringBuilder().append(isDark() ? "-track-progress-fill: #6A6968;" : "-track-progress-fill: #D8D8D8;").toString());
-        } else {
-            setStyle(new StringBuilder().append("-track-progress-fill: ").append((isDark() ? getAccentColor().getDarkStyleClass() : getAccentColor().getAquaStyleClass())).append(";").toString());
-        }
-    }
+    public void setWindowFocusLost(final boolean windowFocusLost) { pseudoClassStateChanged(WINDOW_FOCUS_LOST_PSEUDO_CLASS, windowFocusLost); }
 
     public double getRange() { return (getMax() - getMin()); }
 
@@ -17,24 +17,20 @@
 package eu.hansolo.applefx;
 
 import eu.hansolo.applefx.event.MacEvt;
+import eu.hansolo.applefx.event.MacEvtBus;
 import eu.hansolo.applefx.tools.Helper;
 import eu.hansolo.applefx.tools.MacosAccentColor;
 import eu.hansolo.applefx.tools.MacosSystemColor;
+import eu.hansolo.applefx.tools.SwitchAnimator;
+import eu.hansolo.applefx.tools.VisibilityTracker;
 import eu.hansolo.toolbox.evt.EvtObserver;
 import eu.hansolo.toolbox.evt.EvtType;
-import javafx.animation.Interpolator;
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
-import javafx.animation.Timeline;
 import javafx.beans.DefaultProperty;
-import javafx.beans.binding.Bindings;
-import javafx.beans.binding.BooleanBinding;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.BooleanPropertyBase;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.DoublePropertyBase;
 import javafx.beans.property.ObjectProperty;
-import javafx.beans.property.Property;
 import javafx.collections.ObservableList;
 import javafx.css.CssMetaData;
 import javafx.css.PseudoClass;
@@ -42,8 +38,6 @@ import javafx.css.Styleable;
 import javafx.css.StyleableProperty;
 import javafx.css.StyleablePropertyFactory;
 import javafx.event.EventHandler;
-import javafx.geometry.Dimension2D;
-import javafx.geometry.Insets;
 import javafx.scene.Node;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.Pane;
@@ -51,17 +45,12 @@ import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
 import javafx.scene.shape.Rectangle;
-import javafx.util.Duration;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 
 @DefaultProperty("children")
-public class MacosSwitch extends Region implements MacosControl {
+public class MacosSwitch extends Region implements MacosControl, MacosSwitchControl {
     public static final  double                                  MIN_DURATION           = 10;
     public static final  double                                  MAX_DURATION           = 500;
     public static final  Color                                   DEFAULT_ACCENT_COLOR   = MacosAccentColor.BLUE.getColorAqua();
@@ -86,7 +75,7 @@ public class MacosSwitch extends Region implements MacosControl {
     private final        MacEvt                                  selectedEvt            = new MacEvt(MacosSwitch.this, MacEvt.SELECTED);
     private final        MacEvt                                  deselectedEvt          = new MacEvt(MacosSwitch.this, MacEvt.DESELECTED);
     private final        StyleableProperty<Color>                accentColor;
-    private              Map<EvtType, List<EvtObserver<MacEvt>>> observers;
+    private final        MacEvtBus                               macEvtBus              = new MacEvtBus();
     private              boolean                                 _dark;
     private              BooleanProperty                         dark;
     private              boolean                                 _ios;
@@ -103,18 +92,13 @@ public class MacosSwitch extends Region implements MacosControl {
     private              DoubleProperty                          duration;
     private              boolean                                 _showOnOffText;
     private              BooleanProperty                         showOnOffText;
-    private              Timeline                                timeline;
-    private              BooleanBinding                          showing;
-    private              HashMap<String, Property>               settings;
+    private              SwitchAnimator.Animation                animation;
     private              EventHandler<MouseEvent>                clickedHandler;
 
 
 
     // ******************** Constructors **************************************
     public MacosSwitch() {
-        this(new HashMap<>());
-    }
-    public MacosSwitch(final Map<String, Property> settings) {
         _selected       = false;
         accentColor     = FACTORY.createStyleableColorProperty(MacosSwitch.this, "accentColor", "-accent-color", s -> s.accentColor, DEFAULT_ACCENT_COLOR);
         _dark           = Helper.isDarkMode();
@@ -134,9 +118,20 @@ public class MacosSwitch extends Region implements MacosControl {
         };
         _duration       = 250;
         _showOnOffText  = false;
-        this.settings   = new HashMap<>(settings);
-        timeline        = new Timeline();
-        observers       = new ConcurrentHashMap<>();
+        animation       = new SwitchAnimator.Animation(_selected) {
+            @Override protected void apply(final double position, final boolean selecting) {
+                final double knobStartX = knobRadius + knobInset;
+                backgroundArea.setFill((isDark() ? MacosSystemColor.CTRL_BACKGROUND.dark() : MacosSystemColor.CTRL_BACKGROUND.aqua()).interpolate(getAccentColor(), position));
+                knob.setCenterX(knobStartX + (width - 2 * knobStartX) * position);
+                if (selecting) {
+                    one.setOpacity(position);
+                    zero.setOpacity(Math.max(0, 1 - 2 * position));
+                } else {
+                    one.setOpacity(Math.max(0, 2 * position - 1));
+                    zero.setOpacity(1 - position);
+                }
+            }
+        };
         clickedHandler  = e -> {
             setSelected(!isSelected());
             if (windowFocusLost.get()) { windowFocusLost.set(false); }
@@ -145,6 +140,10 @@ public class MacosSwitch extends Region implements MacosControl {
         initGraphics();
         registerListeners();
     }
+    public MacosSwitch(final MacosSwitchSettings settings) {
+        this();
+        settings.applyTo(this);
+    }
 
 
     // ******************** Initialization ************************************
@@ -187,21 +186,6 @@ public class MacosSwitch extends Region implements MacosControl {
     private void registerListeners() {
         disabledProperty().addListener(o -> setOpacity(isDisabled() ? 0.5 : 1.0));
         backgroundArea.addEventHandler(MouseEvent.MOUSE_CLICKED, clickedHandler);
-        if (null != getScene()) {
-            setupBinding();
-        } else {
-            sceneProperty().addListener((o1, ov1, nv1) -> {
-                if (null == nv1) { return; }
-                if (null != getScene().getWindow()) {
-                    setupBinding();
-                } else {
-                    sceneProperty().get().windowProperty().addListener((o2, ov2, nv2) -> {
-                        if (null == nv2) { return; }
-                        setupBinding();
-                    });
-                }
-            });
-        }
         accentColorProperty().addListener(o -> {
             if (isSelected()) {
                 if (isDark()) {
@@ -213,75 +197,6 @@ public class MacosSwitch extends Region implements MacosControl {
         });
     }
 
-    private void setupBinding() {
-        showing = Bindings.selectBoolean(sceneProperty(), "window", "showing");
-        showing.addListener(o -> {
-            if (showing.get()) {
-                applySettings();
-            }
-        });
-    }
-
-    private void applySettings() {
-        if (settings.isEmpty()) { return; }
-        for (String key : settings.keySet()) {
-            if ("prefSize".equals(key)) {
-                Dimension2D dim = ((ObjectProperty<Dimension2D>) settings.get(key)).get();
-                setPrefSize(dim.getWidth(), dim.getHeight());
-            } else if ("minSize".equals(key)) {
-                Dimension2D dim = ((ObjectProperty<Dimension2D>) settings.get(key)).get();
-                setMinSize(dim.getWidth(), dim.getHeight());
-            } else if ("maxSize".equals(key)) {
-                Dimension2D dim = ((ObjectProperty<Dimension2D>) settings.get(key)).get();
-                setMaxSize(dim.getWidth(), dim.getHeight());
-            } else if ("prefWidth".equals(key)) {
-                setPrefWidth(((DoubleProperty) settings.get(key)).get());
-            } else if ("prefHeight".equals(key)) {
-                setPrefHeight(((DoubleProperty) settings.get(key)).get());
-            } else if ("minWidth".equals(key)) {
-                setMinWidth(((DoubleProperty) settings.get(key)).get());
-            } else if ("minHeight".equals(key)) {
-                setMinHeight(((DoubleProperty) settings.get(key)).get());
-            } else if ("maxWidth".equals(key)) {
-                setMaxWidth(((DoubleProperty) settings.get(key)).get());
-            } else if ("maxHeight".equals(key)) {
-                setMaxHeight(((DoubleProperty) settings.get(key)).get());
-            } else if ("scaleX".equals(key)) {
-                setScaleX(((DoubleProperty) settings.get(key)).get());
-            } else if ("scaleY".equals(key)) {
-                setScaleY(((DoubleProperty) settings.get(key)).get());
-            } else if ("layoutX".equals(key)) {
-                setLayoutX(((DoubleProperty) settings.get(key)).get());
-            } else if ("layoutY".equals(key)) {
-                setLayoutY(((DoubleProperty) settings.get(key)).get());
-            } else if ("translateX".equals(key)) {
-                setTranslateX(((DoubleProperty) settings.get(key)).get());
-            } else if ("translateY".equals(key)) {
-                setTranslateY(((DoubleProperty) settings.get(key)).get());
-            } else if ("padding".equals(key)) {
-                setPadding(((ObjectProperty<Insets>) settings.get(key)).get());
-            } // Control specific settings
-            else if ("selectedColor".equals(key)) {
-                setAccentColor(((ObjectProperty<Color>) settings.get(key)).get());
-            } else if("dark".equals(key)) {
-                setDark(((BooleanProperty) settings.get(key)).get());
-            } else if ("ios".equals(key)) {
-                setIos(((BooleanProperty) settings.get(key)).get());
-            } else if ("showOnOffText".equals(key)) {
-                setShowOnOffText(((BooleanProperty) settings.get(key)).get());
-            } else if ("duration".equals(key)) {
-                setDuration(((DoubleProperty) settings.get(key)).get());
-            }
-        }
-
-        if (settings.containsKey("selected")) {
-            setSelected(((BooleanProperty) settings.get("selected")).get());
-        }
-
-        settings.clear();
-        if (null == showing) { return; }
-    }
-
     public void dispose() {
         backgroundArea.removeEventHandler(MouseEvent.MOUSE_CLICKED, clickedHandler);
     }
@@ -302,7 +217,7 @@ public class MacosSwitch extends Region implements MacosControl {
     @Override public ObservableList<Node> getChildren() { return super.getChildren(); }
 
     public boolean isSelected() { return null == selected ? _selected : selected.get(); }
-    public void setSelected(final boolean selected) {
+    @Override public void setSelected(final boolean selected) {
         if (null == this.selected) {
             _selected = selected;
             if (_selected) {
@@ -334,8 +249,14 @@ public class MacosSwitch extends Region implements MacosControl {
     }
 
     public Color getAccentColor() { return accentColor.getValue(); }
-    public void setAccentColor(final Color color) { this.accentColor.setValue(color); }
-    public void setAccentColor(final MacosAccentColor accentColor) { this.accentColor.setValue(isDark() ? accentColor.getColorDark() : accentColor.getColorAqua()); }
+    @Override public void setAccentColor(final Color color) { this.accentColor.setValue(color); }
+    @Override public void setAccentColor(final MacosAccentColor accentColor) {
+        if (null == accentColor) {
+            this.accentColor.setValue(DEFAULT_ACCENT_COLOR);
+        } else {
+            this.accentColor.setValue(isDark() ? accentColor.getColorDark() : accentColor.getColorAqua());
+        }
+    }
     public ObjectProperty<Color> accentColorProperty() { return (ObjectProperty<Color>) accentColor; }
 
     @Override public final boolean isDark() {
@@ -367,7 +288,7 @@ public class MacosSwitch extends Region implements MacosControl {
     public final boolean isIos() {
         return null == ios ? _ios : ios.get();
     }
-    public final void setIos(final boolean ios) {
+    @Override public final void setIos(final boolean ios) {
         if (null == this.ios) {
             _ios = ios;
             pseudoClassStateChanged(IOS_PSEUDO_CLASS, ios);
@@ -461,7 +382,7 @@ public class MacosSwitch extends Region implements MacosControl {
     }
 
     public double getDuration() { return null == duration ? _duration : duration.get(); }
-    public void setDuration(final double duration) {
+    @Override public void setDuration(final double duration) {
         if (null == this.duration) {
             _duration = Helper.clamp(MIN_DURATION, MAX_DURATION, duration);
         } else {
@@ -480,7 +401,7 @@ public class MacosSwitch extends Region implements MacosControl {
     }
 
     public boolean getShowOnOffText() { return null == showOnOffText ? _showOnOffText : showOnOffText.get(); }
-    public void setShowOnOffText(final boolean show) {
+    @Override public void setShowOnOffText(final boolean show) {
         if (null == showOnOffText) {
             _showOnOffText = show;
             one.setVisible(show);
@@ -507,66 +428,23 @@ public class MacosSwitch extends Region implements MacosControl {
     public void setWindowFocusLost(final boolean windowFocusLost) { this.windowFocusLost.set(windowFocusLost); }
     public BooleanProperty windowFocusLostProperty() { return windowFocusLost; }
 
-    protected HashMap<String, Property> getSettings() { return settings; }
-
-    private void animateToSelected() {
-        KeyValue kvBackgroundFillStart = new KeyValue(backgroundArea.fillProperty(), isDark() ? MacosSystemColor.CTRL_BACKGROUND.dark() : MacosSystemColor.CTRL_BACKGROUND.aqua(), Interpolator.EASE_BOTH);
-        KeyValue kvBackgroundFillEnd   = new KeyValue(backgroundArea.fillProperty(), getAccentColor(), Interpolator.EASE_BOTH);
-        KeyValue kvKnobXStart          = new KeyValue(knob.centerXProperty(), knobRadius + knobInset, Interpolator.EASE_BOTH);
-        KeyValue kvKnobXEnd            = new KeyValue(knob.centerXProperty(), width - knobRadius - knobInset, Interpolator.EASE_BOTH);
-        KeyValue kvOneOpacityStart     = new KeyValue(one.opacityProperty(), 0, Interpolator.EASE_BOTH);
-        KeyValue kvOneOpacityEnd       = new KeyValue(one.opacityProperty(), 1, Interpolator.EASE_BOTH);
-        KeyValue kvZeroOpacityStart    = new KeyValue(zero.opacityProperty(), zero.getOpacity(), Interpolator.EASE_BOTH);
-        KeyValue kvZeroOpacityEnd      = new KeyValue(zero.opacityProperty(), 0, Interpolator.EASE_BOTH);
-
-        KeyFrame kf0 = new KeyFrame(Duration.ZERO, kvBackgroundFillStart, kvKnobXStart, kvOneOpacityStart, kvZeroOpacityStart);
-        KeyFrame kf1 = new KeyFrame(Duration.millis(getDuration() * 0.5), kvZeroOpacityEnd);
-        KeyFrame kf2 = new KeyFrame(Duration.millis(getDuration()), kvBackgroundFillEnd, kvKnobXEnd, kvOneOpacityEnd);
-
-        timeline.getKeyFrames().setAll(kf0, kf1, kf2);
-        timeline.play();
-    }
-    private void animateToDeselected() {
-        KeyValue kvBackgroundFillStart = new KeyValue(backgroundArea.fillProperty(), getAccentColor(), Interpolator.EASE_BOTH);
-        KeyValue kvBackgroundFillEnd   = new KeyValue(backgroundArea.fillProperty(), isDark() ? MacosSystemColor.CTRL_BACKGROUND.dark() : MacosSystemColor.CTRL_BACKGROUND.aqua(), Interpolator.EASE_BOTH);
-        KeyValue kvKnobXStart          = new KeyValue(knob.centerXProperty(), width - knobRadius - knobInset, Interpolator.EASE_BOTH);
-        KeyValue kvKnobXEnd            = new KeyValue(knob.centerXProperty(), knobRadius + knobInset, Interpolator.EASE_BOTH);
-        KeyValue kvOneOpacityStart     = new KeyValue(one.opacityProperty(), one.getOpacity(), Interpolator.EASE_BOTH);
-        KeyValue kvOneOpacityEnd       = new KeyValue(one.opacityProperty(), 0, Interpolator.EASE_BOTH);
-        KeyValue kvZeroOpacityStart    = new KeyValue(zero.opacityProperty(), 0, Interpolator.EASE_BOTH);
-        KeyValue kvZeroOpacityEnd      = new KeyValue(zero.opacityProperty(), 1, Interpolator.EASE_BOTH);
-
-        KeyFrame kf0 = new KeyFrame(Duration.ZERO, kvBackgroundFillStart, kvKnobXStart, kvOneOpacityStart, kvZeroOpacityStart);
-        KeyFrame kf1 = new KeyFrame(Duration.millis(getDuration() * 0.5), kvOneOpacityEnd);
-        KeyFrame kf2 = new KeyFrame(Duration.millis(getDuration()), kvBackgroundFillEnd, kvKnobXEnd, kvZeroOpacityEnd);
-
-        timeline.getKeyFrames().setAll(kf0, kf1, kf2);
-        timeline.play();
+    private void animateToSelected() { animateTo(true); }
+    private void animateToDeselected() { animateTo(false); }
+    private void animateTo(final boolean selected) {
+        if (VisibilityTracker.isTreeVisible(this)) {
+            SwitchAnimator.animate(animation, selected, getDuration());
+        } else {
+            SwitchAnimator.jump(animation, selected);
+        }
     }
 
 
     // ******************** Event handling ************************************
-    public void addMacEvtObserver(final EvtType type, final EvtObserver<MacEvt> observer) {
-        if (!observers.containsKey(type)) { observers.put(type, new CopyOnWriteArrayList<>()); }
-        if (observers.get(type).contains(observer)) { return; }
-        observers.get(type).add(observer);
-    }
-    public void removeMacEvtObserver(final EvtType type, final EvtObserver<MacEvt> observer) {
-        if (observers.containsKey(type)) {
-            if (observers.get(type).contains(observer)) {
-                observers.get(type).remove(observer);
-            }
-        }
-    }
-    public void removeAllMacEvtObservers() { observers.clear(); }
+    public void addMacEvtObserver(final EvtType type, final EvtObserver<MacEvt> observer) { macEvtBus.addObserver(type, observer); }
+    public void removeMacEvtObserver(final EvtType type, final EvtObserver<MacEvt> observer) { macEvtBus.removeObserver(type, observer); }
+    public void removeAllMacEvtObservers() { macEvtBus.removeAllObservers(); }
 
-    public void fireMacEvt(final MacEvt evt) {
-        final EvtType type = evt.getEvtType();
-        observers.entrySet().stream().filter(entry -> entry.getKey().equals(MacEvt.ANY)).forEach(entry -> entry.getValue().forEach(observer -> observer.handle(evt)));
-        if (observers.containsKey(type) && !type.equals(MacEvt.ANY)) {
-            observers.get(type).forEach(observer -> observer.handle(evt));
-        }
-    }
+    public void fireMacEvt(final MacEvt evt) { macEvtBus.fire(evt); }
 
 
     // ******************** Style related *************************************
@@ -16,138 +16,72 @@
 
 package eu.hansolo.applefx;
 
-import javafx.beans.property.Property;
-import javafx.beans.property.SimpleBooleanProperty;
-import javafx.beans.property.SimpleDoubleProperty;
-import javafx.beans.property.SimpleObjectProperty;
-import javafx.geometry.Dimension2D;
-import javafx.geometry.Insets;
 import javafx.scene.paint.Color;
 
-import java.util.HashMap;
 
-
-public class MacosSwitchBuilder<B extends MacosSwitchBuilder<B>> {
-    private HashMap<String, Property> properties = new HashMap<>();
+public class MacosSwitchBuilder<B extends MacosSwitchBuilder<B>> extends MacosControlBuilder<MacosSwitch, B> {
+    private int     set;
+    private boolean selected;
+    private Color   selectedColor;
+    private boolean ios;
+    private boolean showOnOffText;
+    private double  duration;
 
 
     // ******************** Constructors **************************************
-    protected MacosSwitchBuilder() {}
+    protected MacosSwitchBuilder() {
+        super(MacosSwitch::new);
+    }
 
 
     // ******************** Methods *******************************************
-    public static final MacosSwitchBuilder create() {
-        return new MacosSwitchBuilder();
+    public static final MacosSwitchBuilder<?> create() {
+        return new MacosSwitchBuilder<>();
     }
 
     public final B selected(final boolean selected) {
-        properties.put("selected", new SimpleBooleanProperty(selected));
-        return (B)this;
+        this.selected = selected;
+        return switchFlag(MacosSwitchSettings.SELECTED);
     }
 
     public final B selectedColor(final Color color) {
-        properties.put("selectedColor", new SimpleObjectProperty<>(color));
-        return (B)this;
-    }
-
-    public final B dark(final boolean dark) {
-        properties.put("dark", new SimpleBooleanProperty(dark));
-        return (B)this;
+        this.selectedColor = color;
+        return switchFlag(MacosSwitchSettings.SELECTED_COLOR);
     }
 
     public final B ios(final boolean ios) {
-        properties.put("ios", new SimpleBooleanProperty(ios));
-        return (B)this;
+        this.ios = ios;
+        return switchFlag(MacosSwitchSettings.IOS);
     }
 
     public final B showOnOffText(final boolean show) {
-        properties.put("showOnOffText", new SimpleBooleanProperty(show));
-        return (B)this;
+        this.showOnOffText = show;
+        return switchFlag(MacosSwitchSettings.SHOW_ON_OFF);
     }
 
     public final B duration(final double duration) {
-        properties.put("duration", new SimpleDoubleProperty(duration));
-        return (B)this;
-    }
-
-
-    // General properties
-    public final B prefSize(final double width, final double height) {
-        properties.put("prefSize", new SimpleObjectProperty<>(new Dimension2D(width, height)));
-        return (B) this;
-    }
-    public final B minSize(final double width, final double height) {
-        properties.put("minSize", new SimpleObjectProperty<>(new Dimension2D(width, height)));
-        return (B) this;
-    }
-    public final B maxSize(final double width, final double height) {
-        properties.put("maxSize", new SimpleObjectProperty<>(new Dimension2D(width, height)));
-        return (B) this;
-    }
-
-    public final B prefWidth(final double prefWidth) {
-        properties.put("prefWidth", new SimpleDoubleProperty(prefWidth));
-        return (B) this;
-    }
-    public final B prefHeight(final double prefHeight) {
-        properties.put("prefHeight", new SimpleDoubleProperty(prefHeight));
-        return (B) this;
-    }
-
-    public final B minWidth(final double minWidth) {
-        properties.put("minWidth", new SimpleDoubleProperty(minWidth));
-        return (B) this;
-    }
-    public final B minHeight(final double minHeight) {
-        properties.put("minHeight", new SimpleDoubleProperty(minHeight));
-        return (B) this;
+        this.duration = duration;
+        return switchFlag(MacosSwitchSettings.DURATION);
     }
 
-    public final B maxWidth(final double maxWidth) {
-        properties.put("maxWidth", new SimpleDoubleProperty(maxWidth));
-        return (B) this;
-    }
-    public final B maxHeight(final double maxHeight) {
-        properties.put("maxHeight", new SimpleDoubleProperty(maxHeight));
-        return (B) this;
-    }
 
-    public final B scaleX(final double scaleX) {
-        properties.put("scaleX", new SimpleDoubleProperty(scaleX));
-        return (B) this;
-    }
-    public final B scaleY(final double scaleY) {
-        properties.put("scaleY", new SimpleDoubleProperty(scaleY));
-        return (B) this;
+    /**
+     * @return the compiled settings that can be applied to any number of
+     * MacosSwitch and MacosSwitchLite instances
+     */
+    public final MacosSwitchSettings switchSettings() {
+        final MacosControlSettings control = settings();
+        if (0 == set && MacosControlSettings.EMPTY == control) { return MacosSwitchSettings.EMPTY; }
+        return new MacosSwitchSettings(control, set, selected, selectedColor, ios, showOnOffText, duration);
     }
 
-    public final B layoutX(final double layoutX) {
-        properties.put("layoutX", new SimpleDoubleProperty(layoutX));
-        return (B) this;
-    }
-    public final B layoutY(final double layoutY) {
-        properties.put("layoutY", new SimpleDoubleProperty(layoutY));
-        return (B) this;
-    }
+    @Override public final MacosSwitch build() { return new MacosSwitch(switchSettings()); }
 
-    public final B translateX(final double translateX) {
-        properties.put("translateX", new SimpleDoubleProperty(translateX));
-        return (B) this;
-    }
-    public final B translateY(final double translateY) {
-        properties.put("translateY", new SimpleDoubleProperty(translateY));
-        return (B) this;
-    }
+    public final MacosSwitchLite buildLite() { return new MacosSwitchLite(switchSettings()); }
 
-    public final B padding(final Insets insets) {
-        properties.put("padding", new SimpleObjectProperty<>(insets));
+    @SuppressWarnings("unchecked")
+    private B switchFlag(final int flag) {
+        set |= flag;
         return (B) this;
     }
-
-
-    public final MacosSwitch build() {
-        final MacosSwitch CONTROL = new MacosSwitch(properties);
-        properties.clear();
-        return CONTROL;
-    }
 }
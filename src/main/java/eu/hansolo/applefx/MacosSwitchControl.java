@@ -0,0 +1,18 @@
+package eu.hansolo.applefx;
+
+import eu.hansolo.applefx.tools.MacosAccentColor;
+import javafx.scene.paint.Color;
+
+
+/**
+ * The switch specific setters that the MacosSwitch and the MacosSwitchLite
+ * share, MacosSwitchSettings applies its values through them.
+ */
+interface MacosSwitchControl {
+    void setSelected(boolean selected);
+    void setAccentColor(Color color);
+    void setAccentColor(MacosAccentColor accentColor);
+    void setIos(boolean ios);
+    void setShowOnOffText(boolean show);
+    void setDuration(double duration);
+}
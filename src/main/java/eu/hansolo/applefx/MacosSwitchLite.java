@@ -0,0 +1,392 @@
+package eu.hansolo.applefx;
+
+import eu.hansolo.applefx.event.MacEvt;
+import eu.hansolo.applefx.event.MacEvtBus;
+import eu.hansolo.applefx.tools.Helper;
+import eu.hansolo.applefx.tools.MacosAccentColor;
+import eu.hansolo.applefx.tools.SwitchAnimator;
+import eu.hansolo.applefx.tools.VisibilityTracker;
+import eu.hansolo.toolbox.evt.EvtObserver;
+import eu.hansolo.toolbox.evt.EvtType;
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.BooleanPropertyBase;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.DoublePropertyBase;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ObjectPropertyBase;
+import javafx.beans.property.ReadOnlyProperty;
+import javafx.event.EventHandler;
+import javafx.scene.Scene;
+import javafx.scene.image.ImageView;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.stage.Screen;
+import javafx.stage.Window;
+
+
+/**
+ * Lightweight variant of the MacosSwitch for views with thousands of switches.
+ * The switch has only one ImageView child that shows a frame of a sprite sheet
+ * that is shared by all switches with the same look (see SwitchSprites). The
+ * state is kept in primitive fields, properties, the animation and the event bus
+ * are only created when they are requested. Listeners and the click handler are
+ * shared between all instances, only the listener that follows the render scale
+ * of the window is created per switch when it is added to a scene.
+ * In contrast to the MacosSwitch the colors are not styleable via css.
+ */
+public class MacosSwitchLite extends Region implements MacosControl, MacosSwitchControl {
+    public static final  double                        MIN_DURATION         = MacosSwitch.MIN_DURATION;
+    public static final  double                        MAX_DURATION         = MacosSwitch.MAX_DURATION;
+    public static final  Color                         DEFAULT_ACCENT_COLOR = MacosSwitch.DEFAULT_ACCENT_COLOR;
+    private static final EventHandler<MouseEvent>      CLICKED_HANDLER      = e -> ((MacosSwitchLite) e.getSource()).toggle();
+    private static final InvalidationListener          SCENE_LISTENER       = o -> {
+        final MacosSwitchLite macosSwitch = (MacosSwitchLite) ((ReadOnlyProperty<?>) o).getBean();
+        macosSwitch.observe(macosSwitch.getScene());
+    };
+    private static final InvalidationListener          DISABLED_LISTENER    = o -> {
+        final MacosSwitchLite macosSwitch = (MacosSwitchLite) ((ReadOnlyProperty<?>) o).getBean();
+        macosSwitch.setOpacity(macosSwitch.isDisabled() ? 0.5 : 1.0);
+    };
+    private final        ImageView                     view;
+    private              double                        position;
+    private              SwitchSprites.Sheet           sheet;
+    private              SwitchAnimator.Animation      animation;
+    private              MacEvtBus                     macEvtBus;
+    private              boolean                       _selected;
+    private              BooleanProperty               selected;
+    private              boolean                       _dark;
+    private              BooleanProperty               dark;
+    private              boolean                       _ios;
+    private              BooleanProperty               ios;
+    private              boolean                       _windowFocusLost;
+    private              BooleanProperty               windowFocusLost;
+    private              boolean                       _showOnOffText;
+    private              BooleanProperty               showOnOffText;
+    private              double                        _duration;
+    private              DoubleProperty                duration;
+    private              Color                         _accentColor;
+    private              ObjectProperty<Color>         accentColor;
+    private              MacosAccentColor              macosAccentColor;
+    private              boolean                       resolvingAccentColor;
+    private              InvalidationListener          windowListener;
+    private              Scene                         observedScene;
+    private              Window                        observedWindow;
+
+
+    // ******************** Constructors **************************************
+    public MacosSwitchLite() {
+        this(false);
+    }
+    public MacosSwitchLite(final boolean selected) {
+        _selected        = selected;
+        _dark            = Helper.isDarkMode();
+        _ios             = false;
+        _windowFocusLost = false;
+        _showOnOffText   = false;
+        _duration        = 250;
+        _accentColor     = DEFAULT_ACCENT_COLOR;
+        position         = selected ? 1 : 0;
+        view             = new ImageView();
+        view.setMouseTransparent(true);
+
+        getStyleClass().add("macos-switch-lite");
+        getChildren().add(view);
+        addEventHandler(MouseEvent.MOUSE_CLICKED, CLICKED_HANDLER);
+        sceneProperty().addListener(SCENE_LISTENER);
+        disabledProperty().addListener(DISABLED_LISTENER);
+        redraw();
+    }
+    public MacosSwitchLite(final MacosSwitchSettings settings) {
+        this(false);
+        settings.applyTo(this);
+    }
+
+
+    // ******************** Methods *******************************************
+    @Override protected double computeMinWidth(final double height)  { return getSwitchWidth(); }
+    @Override protected double computeMinHeight(final double width)  { return getSwitchHeight(); }
+    @Override protected double computePrefWidth(final double height) { return getSwitchWidth(); }
+    @Override protected double computePrefHeight(final double width) { return getSwitchHeight(); }
+    @Override protected double computeMaxWidth(final double height)  { return getSwitchWidth(); }
+    @Override protected double computeMaxHeight(final double width)  { return getSwitchHeight(); }
+
+    @Override protected void layoutChildren() { view.relocate(snappedLeftInset(), snappedTopInset()); }
+
+    public boolean isSelected() { return null == selected ? _selected : selected.get(); }
+    @Override public void setSelected(final boolean selected) {
+        if (null == this.selected) {
+            if (_selected == selected) { return; }
+            _selected = selected;
+            onSelectedChanged(selected);
+        } else {
+            this.selected.set(selected);
+        }
+    }
+    public BooleanProperty selectedProperty() {
+        if (null == selected) {
+            selected = new BooleanPropertyBase(_selected) {
+                @Override protected void invalidated() { onSelectedChanged(get()); }
+                @Override public Object getBean() { return MacosSwitchLite.this; }
+                @Override public String getName() { return "selected"; }
+            };
+        }
+        return selected;
+    }
+
+    @Override public final boolean isDark() { return null == dark ? _dark : dark.get(); }
+    @Override public final void setDark(final boolean dark) {
+        if (null == this.dark) {
+            _dark = dark;
+            redraw();
+        } else {
+            this.dark.set(dark);
+        }
+    }
+    @Override public final BooleanProperty darkProperty() {
+        if (null == dark) {
+            dark = new BooleanPropertyBase(_dark) {
+                @Override protected void invalidated() { redraw(); }
+                @Override public Object getBean() { return MacosSwitchLite.this; }
+                @Override public String getName() { return "dark"; }
+            };
+        }
+        return dark;
+    }
+
+    public final boolean isIos() { return null == ios ? _ios : ios.get(); }
+    @Override public final void setIos(final boolean ios) {
+        if (null == this.ios) {
+            _ios = ios;
+            onIosChanged();
+        } else {
+            this.ios.set(ios);
+        }
+    }
+    public final BooleanProperty iosProperty() {
+        if (null == ios) {
+            ios = new BooleanPropertyBase(_ios) {
+                @Override protected void invalidated() { onIosChanged(); }
+                @Override public Object getBean() { return MacosSwitchLite.this; }
+                @Override public String getName() { return "ios"; }
+            };
+        }
+        return ios;
+    }
+
+    public boolean isWindowFocusLost() { return null == windowFocusLost ? _windowFocusLost : windowFocusLost.get(); }
+    public void setWindowFocusLost(final boolean windowFocusLost) {
+        if (null == this.windowFocusLost) {
+            _windowFocusLost = windowFocusLost;
+            redraw();
+        } else {
+            this.windowFocusLost.set(windowFocusLost);
+        }
+    }
+    public BooleanProperty windowFocusLostProperty() {
+        if (null == windowFocusLost) {
+            windowFocusLost = new BooleanPropertyBase(_windowFocusLost) {
+                @Override protected void invalidated() { redraw(); }
+                @Override public Object getBean() { return MacosSwitchLite.this; }
+                @Override public String getName() { return "windowFocusLost"; }
+            };
+        }
+        return windowFocusLost;
+    }
+
+    public boolean getShowOnOffText() { return null == showOnOffText ? _showOnOffText : showOnOffText.get(); }
+    @Override public void setShowOnOffText(final boolean show) {
+        if (null == showOnOffText) {
+            _showOnOffText = show;
+            redraw();
+        } else {
+            showOnOffText.set(show);
+        }
+    }
+    public BooleanProperty showOnOffTextProperty() {
+        if (null == showOnOffText) {
+            showOnOffText = new BooleanPropertyBase(_showOnOffText) {
+                @Override protected void invalidated() { redraw(); }
+                @Override public Object getBean() { return MacosSwitchLite.this; }
+                @Override public String getName() { return "showOnOffText"; }
+            };
+        }
+        return showOnOffText;
+    }
+
+    public double getDuration() { return null == duration ? _duration : duration.get(); }
+    @Override public void setDuration(final double duration) {
+        if (null == this.duration) {
+            _duration = Helper.clamp(MIN_DURATION, MAX_DURATION, duration);
+        } else {
+            this.duration.set(duration);
+        }
+    }
+    public DoubleProperty durationProperty() {
+        if (null == duration) {
+            duration = new DoublePropertyBase(_duration) {
+                @Override protected void invalidated() { set(Helper.clamp(MIN_DURATION, MAX_DURATION, get())); }
+                @Override public Object getBean() { return MacosSwitchLite.this; }
+                @Override public String getName() { return "duration"; }
+            };
+        }
+        return duration;
+    }
+
+    public Color getAccentColor() { return null == accentColor ? _accentColor : accentColor.get(); }
+    @Override public void setAccentColor(final Color color) {
+        macosAccentColor = null;
+        if (null == accentColor) {
+            _accentColor = null == color ? DEFAULT_ACCENT_COLOR : color;
+            redraw();
+        } else {
+            accentColor.set(color);
+        }
+    }
+    /**
+     * The color of the given accent color is resolved for the current
+     * appearance and will follow later changes of dark mode.
+     * @param accentColor the macOS accent color
+     */
+    @Override public void setAccentColor(final MacosAccentColor accentColor) {
+        setAccentColor(null == accentColor ? null : resolve(accentColor));
+        macosAccentColor = accentColor;
+    }
+    public ObjectProperty<Color> accentColorProperty() {
+        if (null == accentColor) {
+            accentColor = new ObjectPropertyBase<>(_accentColor) {
+                @Override protected void invalidated() {
+                    if (!resolvingAccentColor) { macosAccentColor = null; }
+                    if (null == get()) { set(DEFAULT_ACCENT_COLOR); }
+                    redraw();
+                }
+                @Override public Object getBean() { return MacosSwitchLite.this; }
+                @Override public String getName() { return "accentColor"; }
+            };
+        }
+        return accentColor;
+    }
+
+    public void dispose() {
+        removeEventHandler(MouseEvent.MOUSE_CLICKED, CLICKED_HANDLER);
+        sceneProperty().removeListener(SCENE_LISTENER);
+        disabledProperty().removeListener(DISABLED_LISTENER);
+        observe(null);
+        if (null != animation) { SwitchAnimator.jump(animation, isSelected()); }
+    }
+
+    private void toggle() {
+        setSelected(!isSelected());
+        if (isWindowFocusLost()) { setWindowFocusLost(false); }
+    }
+
+    private void onSelectedChanged(final boolean selected) {
+        if (null != macEvtBus) { macEvtBus.fire(new MacEvt(MacosSwitchLite.this, selected ? MacEvt.SELECTED : MacEvt.DESELECTED)); }
+        if (VisibilityTracker.isTreeVisible(this)) {
+            SwitchAnimator.animate(getAnimation(), selected, getDuration());
+        } else if (null == animation) {
+            position = selected ? 1 : 0;
+            showFrame();
+        } else {
+            SwitchAnimator.jump(animation, selected);
+        }
+    }
+
+    private void onIosChanged() {
+        requestLayout();
+        redraw();
+    }
+
+    private SwitchAnimator.Animation getAnimation() {
+        if (null == animation) {
+            animation = new SwitchAnimator.Animation(isSelected()) {
+                @Override protected void apply(final double position, final boolean selecting) {
+                    MacosSwitchLite.this.position = position;
+                    showFrame();
+                }
+            };
+        }
+        return animation;
+    }
+
+    private double getSwitchWidth()  { return (isIos() ? SwitchSprites.IOS_WIDTH : SwitchSprites.MACOS_WIDTH) + snappedLeftInset() + snappedRightInset(); }
+    private double getSwitchHeight() { return (isIos() ? SwitchSprites.IOS_HEIGHT : SwitchSprites.MACOS_HEIGHT) + snappedTopInset() + snappedBottomInset(); }
+
+    /**
+     * Observes the window of the given scene and the render scale of the window,
+     * so the sprite sheet follows the window to a screen with another scale.
+     * The listener is only created when the switch is added to a scene.
+     * @param scene the scene of the switch or null to stop observing
+     */
+    private void observe(final Scene scene) {
+        final Window window = null == scene ? null : scene.getWindow();
+        if (null == windowListener) { windowListener = o -> observe(getScene()); }
+        if (scene != observedScene) {
+            if (null != observedScene) { observedScene.windowProperty().removeListener(windowListener); }
+            if (null != scene)         { scene.windowProperty().addListener(windowListener); }
+            observedScene = scene;
+        }
+        if (window != observedWindow) {
+            if (null != observedWindow) { observedWindow.renderScaleXProperty().removeListener(windowListener); }
+            if (null != window)         { window.renderScaleXProperty().addListener(windowListener); }
+            observedWindow = window;
+        }
+        redraw();
+    }
+
+    /**
+     * Without a window the output scale of the primary screen is used, it is
+     * updated when the switch is shown in a window and when the render scale
+     * of the window changes.
+     */
+    private double getRenderScale() {
+        final Scene  scene  = getScene();
+        final Window window = null == scene ? null : scene.getWindow();
+        if (null != window) { return window.getRenderScaleX(); }
+        final Screen screen = Screen.getPrimary();
+        return null == screen ? 1 : screen.getOutputScaleX();
+    }
+
+
+    // ******************** Drawing *******************************************
+    private void redraw() {
+        if (null != macosAccentColor && !resolve(macosAccentColor).equals(getAccentColor())) {
+            // dark mode changed since the accent color was set, the new color redraws the switch
+            resolvingAccentColor = true;
+            try {
+                if (null == accentColor) {
+                    _accentColor = resolve(macosAccentColor);
+                } else {
+                    accentColor.set(resolve(macosAccentColor));
+                    return;
+                }
+            } finally {
+                resolvingAccentColor = false;
+            }
+        }
+        final boolean ios = isIos();
+        sheet = SwitchSprites.get(getAccentColor(), isDark(), ios, isWindowFocusLost(), getShowOnOffText(), getRenderScale());
+        view.setImage(sheet.image());
+        view.setFitWidth(ios ? SwitchSprites.IOS_WIDTH : SwitchSprites.MACOS_WIDTH);
+        view.setFitHeight(ios ? SwitchSprites.IOS_HEIGHT : SwitchSprites.MACOS_HEIGHT);
+        showFrame();
+    }
+
+    private Color resolve(final MacosAccentColor accentColor) { return isDark() ? accentColor.getColorDark() : accentColor.getColorAqua(); }
+
+    private void showFrame() {
+        view.setViewport(sheet.viewports()[SwitchSprites.frame(position)]);
+    }
+
+
+    // ******************** Event handling ************************************
+    public void addMacEvtObserver(final EvtType type, final EvtObserver<MacEvt> observer) {
+        if (null == macEvtBus) { macEvtBus = new MacEvtBus(); }
+        macEvtBus.addObserver(type, observer);
+    }
+    public void removeMacEvtObserver(final EvtType type, final EvtObserver<MacEvt> observer) { if (null != macEvtBus) { macEvtBus.removeObserver(type, observer); } }
+    public void removeAllMacEvtObservers() { if (null != macEvtBus) { macEvtBus.removeAllObservers(); } }
+
+    public void fireMacEvt(final MacEvt evt) { if (null != macEvtBus) { macEvtBus.fire(evt); } }
+}
@@ -0,0 +1,37 @@
+package eu.hansolo.applefx;
+
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+
+
+/**
+ * Compiled settings of a MacosSwitchBuilder, the switch specific values are
+ * only applied if their flag is contained in {@code set}. The settings can be
+ * applied to the MacosSwitch and to the MacosSwitchLite.
+ */
+public record MacosSwitchSettings(MacosControlSettings control, int set, boolean selected, Color selectedColor, boolean ios, boolean showOnOffText, double duration) {
+    static final        int                 SELECTED        = 1;
+    static final        int                 SELECTED_COLOR  = 1 << 1;
+    static final        int                 IOS             = 1 << 2;
+    static final        int                 SHOW_ON_OFF     = 1 << 3;
+    static final        int                 DURATION        = 1 << 4;
+    public static final MacosSwitchSettings EMPTY           = new MacosSwitchSettings(MacosControlSettings.EMPTY, 0, false, null, false, false, 0);
+
+
+    // ******************** Methods *******************************************
+    boolean isSet(final int flag) { return (set & flag) != 0; }
+
+    public void applyTo(final MacosSwitch control)     { apply(control); }
+
+    public void applyTo(final MacosSwitchLite control) { apply(control); }
+
+    private <C extends Region & MacosSwitchControl> void apply(final C control) {
+        this.control.applyTo(control);
+        if (this.control.isSet(MacosControlSettings.ACCENT_COLOR) && !isSet(SELECTED_COLOR)) { control.setAccentColor(this.control.accentColor()); }
+        if (isSet(SELECTED_COLOR)) { control.setAccentColor(selectedColor); }
+        if (isSet(IOS))            { control.setIos(ios); }
+        if (isSet(SHOW_ON_OFF))    { control.setShowOnOffText(showOnOffText); }
+        if (isSet(DURATION))       { control.setDuration(duration); }
+        if (isSet(SELECTED))       { control.setSelected(selected); }
+    }
+}
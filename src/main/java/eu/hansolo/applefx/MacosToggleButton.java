@@ -1,8 +1,6 @@
 package eu.hansolo.applefx;
 
 import eu.hansolo.applefx.tools.Helper;
-import javafx.beans.binding.Bindings;
-import javafx.beans.binding.BooleanBinding;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.BooleanPropertyBase;
 import javafx.css.PseudoClass;
@@ -17,7 +15,6 @@ public class MacosToggleButton extends ToggleButton implements MacosControl {
     private static final PseudoClass     DARK_PSEUDO_CLASS = PseudoClass.getPseudoClass("dark");
     private              boolean         _dark;
     private              BooleanProperty dark;
-    private              BooleanBinding  showing;
 
 
     // ******************** Constructors **************************************
@@ -44,37 +41,8 @@ public class MacosToggleButton extends ToggleButton implements MacosControl {
 
     private void registerListener() {
         addEventFilter(MouseEvent.MOUSE_PRESSED, e -> { if (isSelected()) { e.consume(); }});
-
-        if (null != getScene()) {
-            setupBinding();
-        } else {
-            sceneProperty().addListener((o1, ov1, nv1) -> {
-                if (null == nv1) { return; }
-                if (null != getScene().getWindow()) {
-                    setupBinding();
-                } else {
-                    sceneProperty().get().windowProperty().addListener((o2, ov2, nv2) -> {
-                        if (null == nv2) { return; }
-                        setupBinding();
-                    });
-                }
-            });
-        }
-    }
-
-    private void setupBinding() {
-        showing = Bindings.createBooleanBinding(() -> {
-            if (getScene() != null && getScene().getWindow() != null) {
-                return getScene().getWindow().isShowing();
-            } else {
-                return false;
-            }
-        }, sceneProperty(), getScene().windowProperty(), getScene().getWindow().showingProperty());
-        showing.addListener(o -> {
-            if (showing.get()) {
-                getScene().getWindow().addEventFilter(KeyEvent.KEY_PRESSED, e -> { if (e.getCode().equals(KeyCode.SPACE) && isSelected()) { e.consume(); }});
-            }
-        });
+        // a selected toggle button in a bar can't be deselected with the space key
+        addEventFilter(KeyEvent.KEY_PRESSED, e -> { if (e.getCode().equals(KeyCode.SPACE) && isSelected()) { e.consume(); }});
     }
 
 
@@ -4,22 +4,37 @@ import eu.hansolo.applefx.tools.Helper;
 import javafx.beans.InvalidationListener;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.BooleanPropertyBase;
+import javafx.beans.property.ReadOnlyProperty;
 import javafx.collections.ListChangeListener;
 import javafx.css.PseudoClass;
 import javafx.scene.Node;
 import javafx.scene.layout.HBox;
 
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
 
+/**
+ * A bar of MacosToggleButtons that are divided by MacosToggleButtonBarSeparators.
+ * A separator is hidden when one of its neighbours is selected. The index of each
+ * toggle button is cached, so a change of the selection only updates the two
+ * separators next to the button whose selection changed. All bars share one
+ * selection listener.
+ * For bars with a very large number of segments see MacosSegmentedBar.
+ */
 public class MacosToggleButtonBar extends HBox implements MacosControl {
-    private static final PseudoClass          DARK_PSEUDO_CLASS = PseudoClass.getPseudoClass("dark");
-    private              boolean              _dark;
-    private              BooleanProperty      dark;
-    private              InvalidationListener selectionListener;
+    private static final PseudoClass              DARK_PSEUDO_CLASS  = PseudoClass.getPseudoClass("dark");
+    private static final InvalidationListener     SELECTION_LISTENER = o -> {
+        final MacosToggleButton toggleButton = (MacosToggleButton) ((ReadOnlyProperty<?>) o).getBean();
+        if (toggleButton.getParent() instanceof MacosToggleButtonBar) {
+            ((MacosToggleButtonBar) toggleButton.getParent()).selectionChanged(toggleButton);
+        }
+    };
+    private              boolean                  _dark;
+    private              BooleanProperty          dark;
+    private        final Map<Node, Integer>       indices;
+    private              boolean                  indicesValid;
 
 
     // ******************** Constructors **************************************
@@ -34,6 +49,7 @@ public class MacosToggleButtonBar extends HBox implements MacosControl {
     }
     public MacosToggleButtonBar(final double spacing, final Node... toggleButtons) {
         super(spacing, toggleButtons);
+        indices = new IdentityHashMap<>();
         init();
     }
 
@@ -42,85 +58,74 @@ public class MacosToggleButtonBar extends HBox implements MacosControl {
     private void init() {
         setSpacing(1);
         getStyleClass().add("macos-toggle-button-bar");
-        _dark             = Helper.isDarkMode();
-        selectionListener = e -> setSeparatorVisibilities();
+        _dark = Helper.isDarkMode();
         registerListeners();
         setSeparatorVisibilities();
     }
 
     private void registerListeners() {
         getChildren().forEach(n -> {
-            if (n instanceof MacosToggleButton) {
-                MacosToggleButton macosToggleButton = (MacosToggleButton) n;
-                macosToggleButton.selectedProperty().addListener(selectionListener);
-            }
+            if (n instanceof MacosToggleButton) { ((MacosToggleButton) n).selectedProperty().addListener(SELECTION_LISTENER); }
         });
 
         getChildren().addListener((ListChangeListener<Node>) c -> {
             while (c.next()) {
+                if (c.wasRemoved()) {
+                    c.getRemoved().forEach(n -> {
+                        if (n instanceof MacosToggleButton) { ((MacosToggleButton) n).selectedProperty().removeListener(SELECTION_LISTENER); }
+                    });
+                }
                 if (c.wasAdded()) {
                     c.getAddedSubList().forEach(n -> {
-                        if (n instanceof MacosToggleButton) {
-                            MacosToggleButton macosToggleButton = (MacosToggleButton) n;
-                            macosToggleButton.selectedProperty().addListener(selectionListener);
-                        }
-                    });
-                } else if (c.wasRemoved()) {
-                    c.getRemoved().forEach(n -> {
-                        if (n instanceof MacosToggleButton) {
-                            MacosToggleButton macosToggleButton = (MacosToggleButton) n;
-                            macosToggleButton.selectedProperty().removeListener(selectionListener);
-                        }
+                        if (n instanceof MacosToggleButton) { ((MacosToggleButton) n).selectedProperty().addListener(SELECTION_LISTENER); }
                     });
                 }
             }
+            // the indices only change with the children, a selection change never needs a full pass
+            indicesValid = false;
+            setSeparatorVisibilities();
         });
     }
 
+
+    // ******************** Methods *******************************************
+    private void selectionChanged(final MacosToggleButton toggleButton) {
+        if (!indicesValid) { updateIndices(); }
+        final Integer index = indices.get(toggleButton);
+        if (null == index) { return; }
+        final List<Node> children = getChildren();
+        updateSeparator(children, index - 1);
+        updateSeparator(children, index + 1);
+    }
+
+    private void updateIndices() {
+        indices.clear();
+        final List<Node> children = getChildren();
+        for (int i = 0 ; i < children.size() ; i++) {
+            if (children.get(i) instanceof MacosToggleButton) { indices.put(children.get(i), i); }
+        }
+        indicesValid = true;
+    }
+
     private void setSeparatorVisibilities() {
-        final int size = getChildren().size();
-        boolean wasSelected = false;
-        for (int i = 0 ; i < getChildren().size() ; i++) {
-            Node node = getChildren().get(i);
-            boolean isMacosToggleButton = node instanceof MacosToggleButton;
-            if (isMacosToggleButton && size > 0) {
-                MacosToggleButton toggleButton = (MacosToggleButton) node;
-                boolean           isSelected   = toggleButton.isSelected();
-                if (0 == i) {
-                    Node nextNode = getChildren().get(i + 1);
-                    if (nextNode instanceof MacosToggleButtonBarSeparator) {
-                        nextNode.setVisible(!isSelected);
-                    }
-                } else if (i < size - 1) {
-                    Node lastNode = getChildren().get(i - 1);
-                    if (lastNode instanceof MacosToggleButtonBarSeparator) {
-                        if (isSelected) {
-                            lastNode.setVisible(false);
-                        } else {
-                            lastNode.setVisible(!wasSelected);
-                        }
-                    }
-                    Node nextNode = getChildren().get(i + 1);
-                    if (nextNode instanceof MacosToggleButtonBarSeparator) {
-                        nextNode.setVisible(!isSelected);
-                    }
-                } else if (size - 1 == i) {
-                    Node lastNode = getChildren().get(i - 1);
-                    if (lastNode instanceof MacosToggleButtonBarSeparator) {
-                        if (isSelected) {
-                            lastNode.setVisible(false);
-                        } else {
-                            lastNode.setVisible(!wasSelected);
-                        }
-                    }
-                }
-                wasSelected = isSelected;
-            }
+        final List<Node> children = getChildren();
+        for (int i = 0 ; i < children.size() ; i++) { updateSeparator(children, i); }
+    }
+
+    private static void updateSeparator(final List<Node> children, final int index) {
+        if (index < 0 || index >= children.size()) { return; }
+        final Node node = children.get(index);
+        if (node instanceof MacosToggleButtonBarSeparator) {
+            node.setVisible(!isSelected(children, index - 1) && !isSelected(children, index + 1));
         }
     }
 
+    private static boolean isSelected(final List<Node> children, final int index) {
+        if (index < 0 || index >= children.size()) { return false; }
+        final Node node = children.get(index);
+        return node instanceof MacosToggleButton && ((MacosToggleButton) node).isSelected();
+    }
 
-    // ******************** Methods *******************************************
     @Override public final boolean isDark() {
         return null == dark ? _dark : dark.get();
     }
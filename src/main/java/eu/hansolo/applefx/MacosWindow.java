@@ -1,17 +1,22 @@
 package eu.hansolo.applefx;
 
+import eu.hansolo.applefx.tools.Appearance;
+import eu.hansolo.applefx.tools.AppearanceService;
+import eu.hansolo.applefx.tools.AppearanceWatcher;
 import eu.hansolo.applefx.tools.Helper;
 import eu.hansolo.applefx.tools.MacosAccentColor;
 import eu.hansolo.applefx.tools.ResizeHelper;
-import eu.hansolo.jdktools.OperatingSystem;
+import eu.hansolo.applefx.tools.ShowingTracker;
 import javafx.application.Platform;
-import javafx.beans.binding.Bindings;
-import javafx.beans.binding.BooleanBinding;
+import javafx.beans.InvalidationListener;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.BooleanPropertyBase;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ObjectPropertyBase;
 import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.WeakChangeListener;
+import javafx.collections.ListChangeListener;
 import javafx.css.CssMetaData;
 import javafx.css.PseudoClass;
 import javafx.css.Styleable;
@@ -38,19 +43,8 @@ import javafx.scene.paint.Color;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 
-import java.io.IOException;
-import java.nio.file.FileSystems;
-import java.nio.file.Path;
-import java.nio.file.StandardWatchEventKinds;
-import java.nio.file.WatchEvent;
-import java.nio.file.WatchKey;
-import java.nio.file.WatchService;
-import java.util.Comparator;
-import java.util.List;
 import java.util.function.Consumer;
 
-import static eu.hansolo.jdktools.util.Helper.getOperatingSystem;
-
 
 public class MacosWindow extends Region implements MacosControlWithAccentColor {
     public enum Style { DEFAULT, DECORATED }
@@ -80,8 +74,9 @@ public class MacosWindow extends Region implements MacosControlWithAccentColor {
     private static final CssMetaData                           HEADER_HEIGHT                  = FACTORY.createSizeCssMetaData("-header-height", s -> s.headerHeight, HeaderHeight.STANDARD.getHeight(), false);
     private        final boolean                               decorated;
     private        final boolean                               shadowEnabled;
-    private              BooleanBinding                        showing;
-    private              WatchService                          watchService;
+    private              ChangeListener<Appearance>            appearanceListener;
+    private              WeakChangeListener<Appearance>        weakAppearanceListener;
+    private              boolean                               watchingAppearance;
     private              BooleanProperty                       dark;
     private              BooleanProperty                       windowFocusLost;
     private              ObjectProperty<MacosAccentColor>      accentColor;
@@ -99,6 +94,16 @@ public class MacosWindow extends Region implements MacosControlWithAccentColor {
     private              AnchorPane                            contentPane;
     private              BorderPane                            mainPane;
     private              Parent                                content;
+    private              MacosControlRegistry                  contentControls;
+    private              MacosControlRegistry                  toolbarControls;
+    private              Runnable                              resizePulseListener;
+    private              boolean                               resizeRequested;
+    private              InvalidationListener                  contentMinSizeListener;
+    private              boolean                               contentMinSizeValid;
+    private              double                                contentMinWidth;
+    private              double                                contentMinHeight;
+    private              double                                contentMaxRegionWidth;
+    private              double                                contentMaxRegionHeight;
 
 
     // ******************** Constructors **************************************
@@ -234,11 +239,36 @@ public class MacosWindow extends Region implements MacosControlWithAccentColor {
             contentPane.pseudoClassStateChanged(DARK_PSEUDO_CLASS, isDark());
             getChildren().add(contentPane);
         }
+        contentControls = new MacosControlRegistry(contentPane);
+        toolbarControls = decorated ? new MacosControlRegistry(headerPaneLeftToolBar, headerPaneRightToolBar) : new MacosControlRegistry();
     }
 
     private void registerListeners() {
-        widthProperty().addListener(o -> resize());
-        heightProperty().addListener(o -> resize());
+        resizePulseListener    = () -> {
+            if (!resizeRequested) { return; }
+            resizeRequested = false;
+            resize();
+        };
+        contentMinSizeListener = o -> contentMinSizeValid = false;
+        for (Node child : content.getChildrenUnmodifiable()) { child.layoutBoundsProperty().addListener(contentMinSizeListener); }
+        content.getChildrenUnmodifiable().addListener((ListChangeListener<Node>) c -> {
+            while (c.next()) {
+                for (Node child : c.getRemoved())      { child.layoutBoundsProperty().removeListener(contentMinSizeListener); }
+                for (Node child : c.getAddedSubList()) { child.layoutBoundsProperty().addListener(contentMinSizeListener); }
+            }
+            contentMinSizeValid = false;
+        });
+        sceneProperty().addListener((o, ov, nv) -> {
+            if (null != ov) { ov.removePreLayoutPulseListener(resizePulseListener); }
+            if (null != nv) {
+                nv.addPreLayoutPulseListener(resizePulseListener);
+                if (resizeRequested) { Platform.requestNextPulse(); }
+            }
+        });
+        if (null != getScene()) { getScene().addPreLayoutPulseListener(resizePulseListener); }
+        stage.widthProperty().addListener(o -> requestResize());
+        stage.heightProperty().addListener(o -> requestResize());
+        requestResize();
         darkProperty().addListener((o, ov, nv) -> enableDarkMode(nv));
         if (decorated) {
             headerPane.setOnMousePressed(press -> headerPane.setOnMouseDragged(drag -> {
@@ -282,8 +312,6 @@ public class MacosWindow extends Region implements MacosControlWithAccentColor {
             stage.sceneProperty().addListener((o, ov, nv) -> {
                 if (nv != null) {
                     nv.setFill(Color.TRANSPARENT);
-                    nv.widthProperty().addListener(o1 -> resize());
-                    nv.heightProperty().addListener(o1 -> resize());
                     Platform.runLater(() -> ResizeHelper.addResizeListener(stage, shadowEnabled ? OFFSET : 0));
                 }
             });
@@ -303,46 +331,20 @@ public class MacosWindow extends Region implements MacosControlWithAccentColor {
                 setAllWindowFocusLost(!nv);
             });
         }
-        if (null != getScene()) {
-            setupBinding();
-        } else {
-            sceneProperty().addListener((o1, ov1, nv1) -> {
-                if (null == nv1) { return; }
-                if (null != getScene().getWindow()) {
-                    setupBinding();
-                } else {
-                    sceneProperty().get().windowProperty().addListener((o2, ov2, nv2) -> {
-                        if (null == nv2) { return; }
-                        setupBinding();
-                    });
-                }
-            });
-        }
+        ShowingTracker.whenFirstShown(this, MacosWindow::onFirstShown);
     }
 
-    private void setupBinding() {
-        showing = Bindings.createBooleanBinding(() -> {
-            if (getScene() != null && getScene().getWindow() != null) {
-                return getScene().getWindow().isShowing();
-            } else {
-                return false;
-            }
-        }, sceneProperty(), getScene().windowProperty(), getScene().getWindow().showingProperty());
-        showing.addListener(o -> {
-            if (showing.get()) {
-                watchForAppearanceChanged();
-                if (decorated) {
-                    calculateMinSize();
-                    if (content instanceof Pane) {
-                        Pane   p         = (Pane) content;
-                        double minWidth  = p.getChildren().stream().filter(node -> node instanceof Region).map(node -> (Region) node).map(region -> region.getWidth()).max(Comparator.naturalOrder()).get();
-                        double minHeight = p.getChildren().stream().filter(node -> node instanceof Region).map(node -> (Region) node).map(region -> region.getHeight()).max(Comparator.naturalOrder()).get();
-                        mainPane.setMinWidth(minWidth);
-                        mainPane.setMinHeight(minHeight + getHeaderHeight());
-                    }
-                }
+    private void onFirstShown() {
+        watchForAppearanceChanged();
+        if (decorated) {
+            calculateMinSize();
+            contentPane.setMinSize(contentMinWidth, contentMinHeight);
+            if (content instanceof Pane) {
+                mainPane.setMinWidth(contentMaxRegionWidth);
+                mainPane.setMinHeight(contentMaxRegionHeight + getHeaderHeight());
             }
-        });
+            requestResize();
+        }
     }
 
 
@@ -385,12 +387,13 @@ public class MacosWindow extends Region implements MacosControlWithAccentColor {
     }
 
     public void dispose() {
-        if (null != watchService) {
-            try {
-                watchService.close();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+        ShowingTracker.cancel(this);
+        contentControls.dispose();
+        toolbarControls.dispose();
+        if (watchingAppearance) {
+            watchingAppearance = false;
+            AppearanceService.INSTANCE.appearanceProperty().removeListener(weakAppearanceListener);
+            AppearanceWatcher.INSTANCE.release();
         }
     }
 
@@ -398,90 +401,96 @@ public class MacosWindow extends Region implements MacosControlWithAccentColor {
         if (decorated) {
             headerPane.pseudoClassStateChanged(DARK_PSEUDO_CLASS, enable);
             headerText.pseudoClassStateChanged(DARK_PSEUDO_CLASS, enable);
-            contentPane.pseudoClassStateChanged(DARK_PSEUDO_CLASS, enable);
             closeButton.pseudoClassStateChanged(DARK_PSEUDO_CLASS, enable);
             minimizeButton.pseudoClassStateChanged(DARK_PSEUDO_CLASS, enable);
             maximizeButton.pseudoClassStateChanged(DARK_PSEUDO_CLASS, enable);
-            Helper.getAllNodes(contentPane).stream().filter(node -> node instanceof MacosControl).forEach(node -> ((MacosControl) node).setDark(enable));
-            Helper.getAllNodes(headerPaneLeftToolBar).stream().filter(node -> node instanceof MacosControl).forEach(node -> ((MacosControl) node).setDark(enable));
-            Helper.getAllNodes(headerPaneRightToolBar).stream().filter(node -> node instanceof MacosControl).forEach(node -> ((MacosControl) node).setDark(enable));
-        } else {
-            contentPane.pseudoClassStateChanged(DARK_PSEUDO_CLASS, enable);
-            Helper.getAllNodes(content).stream().filter(node -> node instanceof MacosControl).forEach(node -> ((MacosControl) node).setDark(enable));
+            toolbarControls.forEach((control, kind) -> control.setDark(enable));
         }
+        contentPane.pseudoClassStateChanged(DARK_PSEUDO_CLASS, enable);
+        contentControls.forEach((control, kind) -> control.setDark(enable));
     }
 
     private void setAllAccentColors(final MacosAccentColor accentColor) {
-        List<Node> allNodes = Helper.getAllNodes(contentPane);
         if (Platform.isFxApplicationThread()) {
-            allNodes.stream().filter(node -> node instanceof MacosControl).forEach(node -> node.setStyle(isDark() ? new StringBuilder("-accent-color-dark: ").append(accentColor.getDarkStyleClass()).append(";").toString() : new StringBuilder("-accent-color: ").append(accentColor.getAquaStyleClass()).append(";").toString()));
-            //allNodes.stream().filter(node -> node instanceof MacosControlWithAccentColor).map(node -> ((MacosControlWithAccentColor) node)).forEach(macosControlWithAccentColor -> macosControlWithAccentColor.setAccentColor(accentColor));
-            allNodes.stream().filter(node -> node instanceof MacosSwitch).map(node -> (MacosSwitch) node).forEach(macosSwitch -> macosSwitch.setAccentColor(isDark() ? accentColor.getColorDark() : accentColor.getColorAqua()));
-            allNodes.stream().filter(node -> node instanceof MacosCheckBoxSwitch).map(node -> (MacosCheckBoxSwitch) node).forEach(macosSwitch -> macosSwitch.setAccentColor(accentColor));
-            allNodes.stream().filter(node -> node instanceof MacosCheckBox).map(node -> (MacosCheckBox) node).forEach(macosCheckBox -> macosCheckBox.setAccentColor(accentColor));
-            allNodes.stream().filter(node -> node instanceof MacosRadioButton).map(node -> (MacosRadioButton) node).forEach(macosRadioButton -> macosRadioButton.setAccentColor(accentColor));
-            allNodes.stream().filter(node -> node instanceof MacosComboBox).map(node -> (MacosComboBox) node).forEach(macosComboBox -> macosComboBox.setAccentColor(accentColor));
-            allNodes.stream().filter(node -> node instanceof MacosSlider).map(node -> (MacosSlider) node).forEach(macosSlider -> macosSlider.setAccentColor(accentColor));
-            allNodes.stream().filter(node -> node instanceof MacosTextField).map(node -> (MacosTextField) node).forEach(macosTextField -> macosTextField.setAccentColor(accentColor));
-            allNodes.stream().filter(node -> node instanceof MacosButton).map(node -> (MacosButton) node).forEach(macosButton -> macosButton.setAccentColor(accentColor));
+            applyAccentColor(accentColor);
         } else {
-            Platform.runLater(() -> {
-                allNodes.stream().filter(node -> node instanceof MacosControl).forEach(node -> node.setStyle(isDark() ? new StringBuilder("-accent-color-dark: ").append(accentColor.getDarkStyleClass()).append(";").toString() : new StringBuilder("-accent-color: ").append(accentColor.getAquaStyleClass()).append(";").toString()));
-                //allNodes.stream().filter(node -> node instanceof MacosControlWithAccentColor).map(node -> ((MacosControlWithAccentColor) node)).forEach(macosControlWithAccentColor -> macosControlWithAccentColor.setAccentColor(accentColor));
-                allNodes.stream().filter(node -> node instanceof MacosSwitch).map(node -> (MacosSwitch) node).forEach(macosSwitch -> macosSwitch.setAccentColor(isDark() ? accentColor.getColorDark() : accentColor.getColorAqua()));
-                allNodes.stream().filter(node -> node instanceof MacosCheckBoxSwitch).map(node -> (MacosCheckBoxSwitch) node).forEach(macosSwitch -> macosSwitch.setAccentColor(accentColor));
-                allNodes.stream().filter(node -> node instanceof MacosCheckBox).map(node -> (MacosCheckBox) node).forEach(macosCheckBox -> macosCheckBox.setAccentColor(accentColor));
-                allNodes.stream().filter(node -> node instanceof MacosRadioButton).map(node -> (MacosRadioButton) node).forEach(macosRadioButton -> macosRadioButton.setAccentColor(accentColor));
-                allNodes.stream().filter(node -> node instanceof MacosComboBox).map(node -> (MacosComboBox) node).forEach(macosComboBox -> macosComboBox.setAccentColor(accentColor));
-                allNodes.stream().filter(node -> node instanceof MacosSlider).map(node -> (MacosSlider) node).forEach(macosSlider -> macosSlider.setAccentColor(accentColor));
-                allNodes.stream().filter(node -> node instanceof MacosTextField).map(node -> (MacosTextField) node).forEach(macosTextField -> macosTextField.setAccentColor(accentColor));
-                allNodes.stream().filter(node -> node instanceof MacosButton).map(node -> (MacosButton) node).forEach(macosButton -> macosButton.setAccentColor(accentColor));
-            });
+            Platform.runLater(() -> applyAccentColor(accentColor));
         }
     }
+    private void applyAccentColor(final MacosAccentColor accentColor) {
+        final Color switchColor = isDark() ? accentColor.getColorDark() : accentColor.getColorAqua();
+        contentControls.forEach((control, kind) -> {
+            switch (kind) {
+                case SWITCH           -> {
+                    Helper.setAccentColorPseudoClass((Node) control, accentColor);
+                    ((MacosSwitch) control).setAccentColor(switchColor);
+                }
+                case SWITCH_LITE      -> {
+                    Helper.setAccentColorPseudoClass((Node) control, accentColor);
+                    ((MacosSwitchLite) control).setAccentColor(accentColor);
+                }
+                case CHECK_BOX_SWITCH -> ((MacosCheckBoxSwitch) control).setAccentColor(accentColor);
+                case CHECK_BOX        -> ((MacosCheckBox) control).setAccentColor(accentColor);
+                case RADIO_BUTTON     -> ((MacosRadioButton) control).setAccentColor(accentColor);
+                case COMBO_BOX        -> ((MacosComboBox<?>) control).setAccentColor(accentColor);
+                case SLIDER           -> ((MacosSlider) control).setAccentColor(accentColor);
+                case TEXT_FIELD       -> ((MacosTextField) control).setAccentColor(accentColor);
+                case BUTTON           -> ((MacosButton) control).setAccentColor(accentColor);
+                case ACCENT_COLOR     -> ((MacosControlWithAccentColor) control).setAccentColor(accentColor);
+                default               -> Helper.setAccentColorPseudoClass((Node) control, accentColor);
+            }
+        });
+    }
 
     private void setAllWindowFocusLost(final boolean windowFocusLost) {
-        List<Node> allNodes = Helper.getAllNodes(contentPane);
-        allNodes.stream().filter(node -> node instanceof MacosControl).forEach(node -> node.pseudoClassStateChanged(WINDOW_FOCUS_LOST_PSEUDO_CLASS, windowFocusLost));
-        allNodes.stream().filter(node -> node instanceof MacosSwitch).map(node -> (MacosSwitch) node).forEach(macosSwitch -> macosSwitch.setWindowFocusLost(windowFocusLost));
-        allNodes.stream().filter(node -> node instanceof MacosSlider).map(node -> (MacosSlider) node).forEach(macosSlider -> macosSlider.setWindowFocusLost(windowFocusLost));
-        allNodes.stream().filter(node -> node instanceof MacosCheckBoxSwitch).map(node -> (MacosCheckBoxSwitch) node).forEach(macosSwitch -> macosSwitch.setWindowFocusLost(windowFocusLost));
+        contentControls.forEach((control, kind) -> {
+            ((Node) control).pseudoClassStateChanged(WINDOW_FOCUS_LOST_PSEUDO_CLASS, windowFocusLost);
+            switch (kind) {
+                case SWITCH           -> ((MacosSwitch) control).setWindowFocusLost(windowFocusLost);
+                case SWITCH_LITE      -> ((MacosSwitchLite) control).setWindowFocusLost(windowFocusLost);
+                case SLIDER           -> ((MacosSlider) control).setWindowFocusLost(windowFocusLost);
+                case CHECK_BOX_SWITCH -> ((MacosCheckBoxSwitch) control).setWindowFocusLost(windowFocusLost);
+                default               -> { }
+            }
+        });
     }
 
+    /**
+     * Computes the min size of the content in one pass over its children, the
+     * result is cached until the children or their layout bounds change.
+     */
     private void calculateMinSize() {
-        double width  = content.getChildrenUnmodifiable().stream().map(node -> node.getLayoutBounds().getWidth()).reduce(0.0, Double::sum);
-        double height = content.getChildrenUnmodifiable().stream().map(node -> node.getLayoutBounds().getHeight()).reduce(0.0, Double::sum);
-        contentPane.setMinSize(width, height);
+        if (contentMinSizeValid) { return; }
+        double width           = 0;
+        double height          = 0;
+        double maxRegionWidth  = 0;
+        double maxRegionHeight = 0;
+        for (Node node : content.getChildrenUnmodifiable()) {
+            width  += node.getLayoutBounds().getWidth();
+            height += node.getLayoutBounds().getHeight();
+            if (node instanceof Region) {
+                maxRegionWidth  = Math.max(maxRegionWidth, ((Region) node).getWidth());
+                maxRegionHeight = Math.max(maxRegionHeight, ((Region) node).getHeight());
+            }
+        }
+        contentMinWidth        = width;
+        contentMinHeight       = height;
+        contentMaxRegionWidth  = maxRegionWidth;
+        contentMaxRegionHeight = maxRegionHeight;
+        contentMinSizeValid    = true;
     }
 
     private void watchForAppearanceChanged() {
-        if (OperatingSystem.MACOS != getOperatingSystem()) { return; }
-        final Path   path = FileSystems.getDefault().getPath(System.getProperty("user.home"), "/Library/Preferences/");
-        final Thread t    = new Thread(() -> {
-            try {
-                watchService = FileSystems.getDefault().newWatchService();
-                try {
-                    path.register(watchService, StandardWatchEventKinds.ENTRY_MODIFY);
-                    WatchKey key;
-                    while ((key = watchService.take()) != null) {
-                        for (WatchEvent<?> event : key.pollEvents()) {
-                            final Path changed = (Path) event.context();
-                            if (changed.endsWith(".GlobalPreferences.plist")) {
-                                setDark(Helper.isDarkMode());
-                                setAccentColor(Helper.getMacosAccentColor());
-                            }
-                        }
-                        key.reset();
-                    }
-                } finally {
-                    watchService.close();
-                }
-            } catch (IOException | InterruptedException e) {
-                e.printStackTrace();
-            }
-        });
-        t.setDaemon(true);
-        t.start();
+        if (watchingAppearance) { return; }
+        watchingAppearance = true;
+        appearanceListener     = (o, ov, nv) -> {
+            setDark(nv.dark());
+            setAccentColor(nv.accentColor());
+        };
+        // the service outlives the window, so it only keeps a weak reference to the listener
+        weakAppearanceListener = new WeakChangeListener<>(appearanceListener);
+        AppearanceService.INSTANCE.appearanceProperty().addListener(weakAppearanceListener);
+        AppearanceWatcher.INSTANCE.acquire();
     }
 
 
@@ -490,6 +499,17 @@ public class MacosWindow extends Region implements MacosControlWithAccentColor {
 
 
     // ******************** Layout ********************************************
+    /**
+     * Size changes of the stage and the scene are collected and applied once
+     * in the next pulse before the layout pass, the inner panes follow the
+     * size of this window in layoutChildren().
+     */
+    private void requestResize() {
+        if (resizeRequested) { return; }
+        resizeRequested = true;
+        if (null != getScene()) { Platform.requestNextPulse(); }
+    }
+
     private void resize() {
         if (null != stage) {
             if (shadowEnabled) {
@@ -506,6 +526,9 @@ public class MacosWindow extends Region implements MacosControlWithAccentColor {
             setPrefWidth(stage.getWidth());
             setPrefHeight(stage.getHeight());
         }
+    }
+
+    @Override protected void layoutChildren() {
         double width  = getWidth() - getInsets().getLeft() - getInsets().getRight();
         double height = getHeight() - getInsets().getTop() - getInsets().getBottom();
 
@@ -516,5 +539,6 @@ public class MacosWindow extends Region implements MacosControlWithAccentColor {
                 contentPane.setPrefSize(width, height);
             }
         }
+        super.layoutChildren();
     }
 }
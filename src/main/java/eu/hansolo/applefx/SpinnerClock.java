@@ -0,0 +1,115 @@
+package eu.hansolo.applefx;
+
+import eu.hansolo.applefx.tools.VisibilityTracker;
+import javafx.animation.AnimationTimer;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Shared clock and sprite cache for the indeterminate spinner of MacosProgress.
+ * The 12 frames of the spinner are rendered once per size, render scale and
+ * dark/light mode into a sprite sheet, every spinning MacosProgress only blits
+ * the current frame. The clock runs only while at least one spinner is
+ * registered (indeterminate and visible on screen).
+ * All methods have to be called on the FX application thread.
+ */
+final class SpinnerClock {
+    static final         int                         FRAMES           = 12;
+    private static final long                        FRAME_INTERVAL   = 66_660_000L;
+    private static final int                         MAX_SPRITES      = 32;
+    private static final Color[]                     PILL_COLORS      = { Color.rgb(0, 0, 0), Color.rgb(21, 21, 21), Color.rgb(42, 42, 42), Color.rgb(63, 63, 63),
+                                                                         Color.rgb(84, 84, 84), Color.rgb(105, 105, 105), Color.rgb(126, 126, 126), Color.rgb(147, 147, 147),
+                                                                         Color.rgb(168, 168, 168), Color.rgb(189, 189, 189), Color.rgb(210, 210, 210), Color.rgb(231, 231, 231), Color.rgb(252, 252, 252) };
+    private static final Color[]                     PILL_COLORS_DARK = { Color.rgb(252, 252, 252), Color.rgb(231, 231, 231), Color.rgb(210, 210, 210), Color.rgb(189, 189, 189), Color.rgb(168, 168, 168),
+                                                                         Color.rgb(147, 147, 147), Color.rgb(126, 126, 126), Color.rgb(105, 105, 105), Color.rgb(84, 84, 84),
+                                                                         Color.rgb(63, 63, 63), Color.rgb(42, 42, 42), Color.rgb(21, 21, 21), Color.rgb(0, 0, 0) };
+    private static final List<MacosProgress>         SPINNERS         = new ArrayList<>();
+    private static final Map<Long, WritableImage>    SPRITES          = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(final Map.Entry<Long, WritableImage> eldest) { return size() > MAX_SPRITES; }
+    };
+    private static       int                         frame            = 0;
+    private static       long                        lastTimerCall    = 0;
+    private static final AnimationTimer              TIMER            = new AnimationTimer() {
+        @Override public void handle(final long now) {
+            if (now < lastTimerCall + FRAME_INTERVAL) { return; }
+            lastTimerCall = now;
+            frame         = (frame + 1) % FRAMES;
+            for (int i = 0, n = SPINNERS.size() ; i < n ; i++) { SPINNERS.get(i).drawFrame(frame); }
+        }
+    };
+
+
+    // ******************** Constructors **************************************
+    private SpinnerClock() {}
+
+
+    // ******************** Methods *******************************************
+    static int getFrame() { return frame; }
+
+    static int getActiveSpinners() { return SPINNERS.size(); }
+
+    static void register(final MacosProgress progress) {
+        if (SPINNERS.contains(progress)) { return; }
+        SPINNERS.add(progress);
+        VisibilityTracker.animationStarted();
+        if (1 == SPINNERS.size()) { TIMER.start(); }
+    }
+
+    static void unregister(final MacosProgress progress) {
+        if (!SPINNERS.remove(progress)) { return; }
+        VisibilityTracker.animationStopped();
+        if (SPINNERS.isEmpty()) { TIMER.stop(); }
+    }
+
+    /**
+     * Returns the sprite sheet with all 12 frames side by side for the given size.
+     * @param size  the size of one frame in logical pixels
+     * @param scale the render scale of the window (e.g. 2 on retina displays)
+     * @param dark  true for the dark mode colors
+     * @return a sprite sheet with the size (12 * size * scale) x (size * scale)
+     */
+    static WritableImage getSprite(final double size, final double scale, final boolean dark) {
+        final int  pixelSize = Math.max(1, (int) Math.ceil(size * scale));
+        final long key       = ((long) pixelSize << 1) | (dark ? 1 : 0);
+        WritableImage sprite = SPRITES.get(key);
+        if (null == sprite) {
+            sprite = renderSprite(pixelSize, dark);
+            SPRITES.put(key, sprite);
+        }
+        return sprite;
+    }
+
+    private static WritableImage renderSprite(final int size, final boolean dark) {
+        final Canvas          canvas     = new Canvas(size * FRAMES, size);
+        final GraphicsContext ctx        = canvas.getGraphicsContext2D();
+        final Color[]         colors     = dark ? PILL_COLORS_DARK : PILL_COLORS;
+        final double          pillWidth  = size * 0.125;
+        final double          pillHeight = size * 0.28125;
+        for (int f = 0 ; f < FRAMES ; f++) {
+            ctx.save();
+            ctx.translate(f * size, 0);
+            for (int i = 0 ; i < 12 ; i++) {
+                int pillFillIndex = f + i;
+                if (pillFillIndex > 11) { pillFillIndex -= 11; }
+                ctx.setFill(colors[pillFillIndex]);
+                ctx.fillRoundRect((size - pillWidth) * 0.5, 0, pillWidth, pillHeight, pillWidth, pillWidth);
+                ctx.translate(size * 0.5, size * 0.5);
+                ctx.rotate(-30);
+                ctx.translate(-size * 0.5, -size * 0.5);
+            }
+            ctx.restore();
+        }
+        final SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        return canvas.snapshot(parameters, null);
+    }
+}
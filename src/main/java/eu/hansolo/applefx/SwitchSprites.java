@@ -0,0 +1,118 @@
+package eu.hansolo.applefx;
+
+import eu.hansolo.applefx.tools.MacosSystemColor;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * Shared canvas skin of the MacosSwitchLite.
+ * All states of the switch between deselected (frame 0) and selected (last frame)
+ * are drawn once per look (accent color, dark, ios, window focus, on/off text and
+ * render scale) into a sprite sheet, every switch only shows one frame of it in
+ * its ImageView.
+ * All methods have to be called on the FX application thread.
+ */
+final class SwitchSprites {
+    static final         int                   FRAMES               = 17;
+    static final         double                MACOS_WIDTH          = 38;
+    static final         double                MACOS_HEIGHT         = 22;
+    static final         double                IOS_WIDTH            = 38;
+    static final         double                IOS_HEIGHT           = 25.5;
+    private static final int                   MAX_SHEETS           = 32;
+    private static final Color                 FOCUS_LOST           = Color.rgb(179, 179, 179);
+    private static final Color                 FOCUS_LOST_DARK      = Color.rgb(106, 105, 104);
+    private static final Color                 KNOB_SHADOW          = Color.rgb(0, 0, 0, 0.3);
+    private static final Color                 ZERO                 = Color.rgb(140, 140, 140);
+    private static final Color                 ZERO_DARK            = Color.rgb(175, 175, 175);
+    private static final Color                 KNOB_DARK            = Color.rgb(208, 207, 206);
+    private static final Map<Key, Sheet>       SHEETS               = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(final Map.Entry<Key, Sheet> eldest) { return size() > MAX_SHEETS; }
+    };
+    private static final SnapshotParameters    PARAMETERS           = new SnapshotParameters();
+    static {
+        PARAMETERS.setFill(Color.TRANSPARENT);
+    }
+
+
+    private record Key(Color accentColor, boolean dark, boolean ios, boolean windowFocusLost, boolean onOffText, int pixelWidth) {}
+
+    /**
+     * A sprite sheet with all frames side by side and the viewport of each frame.
+     */
+    record Sheet(Image image, Rectangle2D[] viewports) {}
+
+
+    // ******************** Constructors **************************************
+    private SwitchSprites() {}
+
+
+    // ******************** Methods *******************************************
+    static Sheet get(final Color accentColor, final boolean dark, final boolean ios, final boolean windowFocusLost, final boolean onOffText, final double scale) {
+        final double width      = ios ? IOS_WIDTH : MACOS_WIDTH;
+        final int    pixelWidth = Math.max(1, (int) Math.ceil(width * scale));
+        final Key    key        = new Key(accentColor, dark, ios, windowFocusLost, onOffText, pixelWidth);
+        Sheet sheet = SHEETS.get(key);
+        if (null == sheet) {
+            sheet = render(key, pixelWidth / width);
+            SHEETS.put(key, sheet);
+        }
+        return sheet;
+    }
+
+    static int frame(final double position) {
+        return (int) Math.round(Math.max(0, Math.min(1, position)) * (FRAMES - 1));
+    }
+
+    private static Sheet render(final Key key, final double scale) {
+        final double          width       = key.ios() ? IOS_WIDTH : MACOS_WIDTH;
+        final double          height      = key.ios() ? IOS_HEIGHT : MACOS_HEIGHT;
+        final double          knobRadius  = key.ios() ? 11 : 10;
+        final double          knobInset   = key.ios() ? 1.5 : 1;
+        final double          knobStartX  = knobRadius + knobInset;
+        final int             frameWidth  = (int) Math.ceil(width * scale);
+        final int             frameHeight = (int) Math.ceil(height * scale);
+        final Canvas          canvas      = new Canvas(frameWidth * FRAMES, frameHeight);
+        final GraphicsContext ctx         = canvas.getGraphicsContext2D();
+        final Color           background  = key.dark() ? MacosSystemColor.CTRL_BACKGROUND.dark() : MacosSystemColor.CTRL_BACKGROUND.aqua();
+        final Color           selected    = key.windowFocusLost() ? (key.dark() ? FOCUS_LOST_DARK : FOCUS_LOST) : key.accentColor();
+        final Color           knob        = key.dark() && !key.ios() ? KNOB_DARK : Color.WHITE;
+        final Rectangle2D[]   viewports   = new Rectangle2D[FRAMES];
+        for (int f = 0 ; f < FRAMES ; f++) {
+            final double position = f / (double) (FRAMES - 1);
+            viewports[f] = new Rectangle2D(f * frameWidth, 0, frameWidth, frameHeight);
+            ctx.save();
+            ctx.translate(f * frameWidth, 0);
+            ctx.scale(scale, scale);
+            ctx.setFill(background.interpolate(selected, position));
+            ctx.fillRoundRect(0, 0, width, height, height, height);
+            if (key.onOffText()) {
+                ctx.setGlobalAlpha(position);
+                ctx.setFill(Color.WHITE);
+                if (key.ios()) { ctx.fillRect(7, 9, 0.7, 7.5); } else { ctx.fillRect(8, 8, 0.7, 6); }
+                ctx.setGlobalAlpha(1 - position);
+                ctx.setStroke(key.dark() ? ZERO_DARK : ZERO);
+                ctx.setLineWidth(1);
+                if (key.ios()) { ctx.strokeOval(31 - 3.75, 12.75 - 3.75, 7.5, 7.5); } else { ctx.strokeOval(27, 8, 6, 6); }
+                ctx.setGlobalAlpha(1);
+            }
+            final double knobX = knobStartX + (width - 2 * knobStartX) * position;
+            final double knobY = height * 0.5;
+            if (!key.ios()) {
+                ctx.setFill(KNOB_SHADOW);
+                ctx.fillOval(knobX - knobRadius - 0.5, knobY - knobRadius - 0.5, 2 * knobRadius + 1, 2 * knobRadius + 1);
+            }
+            ctx.setFill(knob);
+            ctx.fillOval(knobX - knobRadius, knobY - knobRadius, 2 * knobRadius, 2 * knobRadius);
+            ctx.restore();
+        }
+        return new Sheet(canvas.snapshot(PARAMETERS, null), viewports);
+    }
+}
@@ -0,0 +1,115 @@
+package eu.hansolo.applefx.event;
+
+import eu.hansolo.toolbox.evt.EvtObserver;
+import eu.hansolo.toolbox.evt.EvtType;
+
+
+/**
+ * Observer registry for MacEvt's that can be shared by all controls firing them.
+ * Observers are stored in arrays indexed by the EvtType, registering and removing
+ * observers replaces the array (copy on write) so that firing an event neither
+ * locks nor allocates. Observers of the super types of an event (up to MacEvt.ANY)
+ * will be notified before the observers of the event type itself.
+ */
+public final class MacEvtBus {
+    private static final EvtObserver<MacEvt>[]   NO_OBSERVERS = newObservers(0);
+    @SuppressWarnings("unchecked")
+    private static final EvtObserver<MacEvt>[][] NO_TABLE     = new EvtObserver[0][];
+    private static final Object                  TYPE_LOCK    = new Object();
+    private static volatile EvtType<?>[]         types        = { MacEvt.ANY, MacEvt.SELECTED, MacEvt.DESELECTED, MacEvt.DELETE_ENTRY, MacEvt.ADD_ENTRY,
+                                                                  MacEvt.PRESSED, MacEvt.RELEASED, MacEvt.INCREASE, MacEvt.DECREASE,
+                                                                  MacEvt.APPEARANCE_CHANGED, MacEvt.ADD, MacEvt.REMOVE };
+    private volatile     EvtObserver<MacEvt>[][] observers;
+
+
+    // ******************** Constructors **************************************
+    public MacEvtBus() {
+        observers = NO_TABLE;
+    }
+
+
+    // ******************** Methods *******************************************
+    public synchronized void addObserver(final EvtType<?> type, final EvtObserver<MacEvt> observer) {
+        if (null == type || null == observer) { return; }
+        final int                     index = indexOf(type);
+        final EvtObserver<MacEvt>[][] table = index < observers.length ? observers.clone() : copyOf(observers, types.length);
+        final EvtObserver<MacEvt>[]   list  = null == table[index] ? NO_OBSERVERS : table[index];
+        for (EvtObserver<MacEvt> o : list) {
+            if (o.equals(observer)) { return; }
+        }
+        final EvtObserver<MacEvt>[] newList = newObservers(list.length + 1);
+        System.arraycopy(list, 0, newList, 0, list.length);
+        newList[list.length] = observer;
+        table[index]         = newList;
+        observers            = table;
+    }
+
+    public synchronized void removeObserver(final EvtType<?> type, final EvtObserver<MacEvt> observer) {
+        if (null == type || null == observer) { return; }
+        final int index = indexOf(type);
+        if (index >= observers.length || null == observers[index]) { return; }
+        final EvtObserver<MacEvt>[] list = observers[index];
+        for (int i = 0 ; i < list.length ; i++) {
+            if (list[i].equals(observer)) {
+                final EvtObserver<MacEvt>[] newList = newObservers(list.length - 1);
+                System.arraycopy(list, 0, newList, 0, i);
+                System.arraycopy(list, i + 1, newList, i, list.length - i - 1);
+                final EvtObserver<MacEvt>[][] table = observers.clone();
+                table[index] = newList.length == 0 ? null : newList;
+                observers    = table;
+                return;
+            }
+        }
+    }
+
+    public synchronized void removeAllObservers() { observers = NO_TABLE; }
+
+    public boolean hasObservers() {
+        for (EvtObserver<MacEvt>[] list : observers) {
+            if (null != list) { return true; }
+        }
+        return false;
+    }
+
+    public void fire(final MacEvt evt) {
+        final EvtObserver<MacEvt>[][] table = observers;
+        if (table.length == 0) { return; }
+        notify(table, evt.getEvtType(), evt);
+    }
+
+    private static void notify(final EvtObserver<MacEvt>[][] table, final EvtType<?> type, final MacEvt evt) {
+        if (null == type) { return; }
+        if (MacEvt.ANY != type) { notify(table, type.getSuperType(), evt); }
+        final int index = indexOf(type);
+        if (index >= table.length || null == table[index]) { return; }
+        for (EvtObserver<MacEvt> observer : table[index]) { observer.handle(evt); }
+    }
+
+    private static int indexOf(final EvtType<?> type) {
+        final EvtType<?>[] knownTypes = types;
+        for (int i = 0 ; i < knownTypes.length ; i++) {
+            if (knownTypes[i] == type) { return i; }
+        }
+        synchronized (TYPE_LOCK) {
+            final EvtType<?>[] current = types;
+            for (int i = knownTypes.length ; i < current.length ; i++) {
+                if (current[i] == type) { return i; }
+            }
+            final EvtType<?>[] grown = new EvtType<?>[current.length + 1];
+            System.arraycopy(current, 0, grown, 0, current.length);
+            grown[current.length] = type;
+            types = grown;
+            return current.length;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EvtObserver<MacEvt>[][] copyOf(final EvtObserver<MacEvt>[][] table, final int length) {
+        final EvtObserver<MacEvt>[][] copy = new EvtObserver[length][];
+        System.arraycopy(table, 0, copy, 0, table.length);
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EvtObserver<MacEvt>[] newObservers(final int length) { return new EvtObserver[length]; }
+}
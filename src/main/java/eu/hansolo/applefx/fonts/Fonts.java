@@ -18,47 +18,100 @@ package eu.hansolo.applefx.fonts;
 
 import javafx.scene.text.Font;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+
+/**
+ * The fonts will be loaded lazily per family on first use, Font instances are
+ * cached per family and size in a bounded LRU cache.
+ */
 public class Fonts {
-    private static final String SF_PRO_THIN_NAME;
-    private static final String SF_PRO_LIGHT_NAME;
-    private static final String SF_PRO_REGULAR_NAME;
-    private static final String SF_PRO_MEDIUM_NAME;
-    private static final String SF_PRO_BOLD_NAME;
-    private static final String SF_ICON_SETS;
-
-    private static String sfProThinName;
-    private static String sfProLightName;
-    private static String sfProRegularName;
-    private static String sfProMediumName;
-    private static String sfProBoldName;
-    private static String sfIconSetsName;
-
-
-    static {
-        try {
-            sfProThinName    = Font.loadFont(Fonts.class.getResourceAsStream("/eu/hansolo/applefx/fonts/SF-Pro-Display-Thin.ttf"), 10).getName();
-            sfProLightName   = Font.loadFont(Fonts.class.getResourceAsStream("/eu/hansolo/applefx/fonts/SF-Pro-Display-Light.ttf"), 10).getName();
-            sfProRegularName = Font.loadFont(Fonts.class.getResourceAsStream("/eu/hansolo/applefx/fonts/SF-Pro-Display-Regular.ttf"), 10).getName();
-            sfProMediumName  = Font.loadFont(Fonts.class.getResourceAsStream("/eu/hansolo/applefx/fonts/SF-Pro-Display-Medium.ttf"), 10).getName();
-            sfProBoldName    = Font.loadFont(Fonts.class.getResourceAsStream("/eu/hansolo/applefx/fonts/SF-Pro-Display-Bold.ttf"), 10).getName();
-            sfIconSetsName   = Font.loadFont(Fonts.class.getResourceAsStream("/eu/hansolo/applefx/fonts/sficonsets.ttf"), 10).getName();
-        } catch (Exception exception) { }
-        SF_PRO_THIN_NAME    = sfProThinName;
-        SF_PRO_LIGHT_NAME   = sfProLightName;
-        SF_PRO_REGULAR_NAME = sfProRegularName;
-        SF_PRO_MEDIUM_NAME  = sfProMediumName;
-        SF_PRO_BOLD_NAME    = sfProBoldName;
-        SF_ICON_SETS        = sfIconSetsName;
+    public static final int MAX_CACHED_FONTS = 256;
+
+    public enum Family {
+        SF_PRO_THIN("SF-Pro-Display-Thin.ttf"),
+        SF_PRO_LIGHT("SF-Pro-Display-Light.ttf"),
+        SF_PRO_REGULAR("SF-Pro-Display-Regular.ttf"),
+        SF_PRO_MEDIUM("SF-Pro-Display-Medium.ttf"),
+        SF_PRO_BOLD("SF-Pro-Display-Bold.ttf"),
+        SF_ICON_SETS("sficonsets.ttf");
+
+        private final    String fileName;
+        private volatile String name;
+
+
+        Family(final String fileName) {
+            this.fileName = fileName;
+        }
+
+
+        /**
+         * Returns the font name of this family, the font file will be loaded on first call.
+         * @return the name of the font or null if the font could not be loaded
+         */
+        public String getName() {
+            String result = name;
+            if (null == result) {
+                synchronized (this) {
+                    if (null == name) {
+                        try {
+                            final Font font = Font.loadFont(Fonts.class.getResourceAsStream("/eu/hansolo/applefx/fonts/" + fileName), 10);
+                            name = null == font ? "System" : font.getName();
+                        } catch (Exception exception) {
+                            name = "System";
+                        }
+                    }
+                    result = name;
+                }
+            }
+            return result;
+        }
+
+        public boolean isLoaded() { return null != name; }
     }
 
+    private record Key(Family family, double size) {}
+
+    private static final Map<Key, Font> CACHE = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(final Map.Entry<Key, Font> eldest) { return size() > MAX_CACHED_FONTS; }
+    };
+
 
     // ******************** Methods *******************************************
-    public static Font sfProThin(final double size) { return new Font(SF_PRO_THIN_NAME, size); }
-    public static Font sfProLight(final double size) { return new Font(SF_PRO_LIGHT_NAME, size); }
-    public static Font sfProRegular(final double size) { return new Font(SF_PRO_REGULAR_NAME, size); }
-    public static Font sfProMedium(final double size) { return new Font(SF_PRO_MEDIUM_NAME, size); }
-    public static Font sfProBold(final double size) { return new Font(SF_PRO_BOLD_NAME, size); }
+    public static Font sfProThin(final double size) { return font(Family.SF_PRO_THIN, size); }
+    public static Font sfProLight(final double size) { return font(Family.SF_PRO_LIGHT, size); }
+    public static Font sfProRegular(final double size) { return font(Family.SF_PRO_REGULAR, size); }
+    public static Font sfProMedium(final double size) { return font(Family.SF_PRO_MEDIUM, size); }
+    public static Font sfProBold(final double size) { return font(Family.SF_PRO_BOLD, size); }
+
+    public static Font sfIconSets(final double size) { return font(Family.SF_ICON_SETS, size); }
 
-    public static Font sfIconSets(final double size) { return new Font(SF_ICON_SETS, size); }
+    public static Font font(final Family family, final double size) {
+        final Key key = new Key(family, size);
+        synchronized (CACHE) {
+            final Font font = CACHE.get(key);
+            if (null != font) { return font; }
+        }
+        final Font font = new Font(family.getName(), size);
+        synchronized (CACHE) {
+            CACHE.put(key, font);
+        }
+        return font;
+    }
+
+    /**
+     * Loads the given font families (all if none are given) on a background thread
+     * so that the first call that needs them doesn't have to wait for decoding.
+     * @param families the families to load
+     */
+    public static void preloadInBackground(final Family... families) {
+        final Family[] toLoad = null == families || families.length == 0 ? Family.values() : families.clone();
+        final Thread   thread = new Thread(() -> {
+            for (Family family : toLoad) { family.getName(); }
+        }, "applefx-font-preload");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
 }
@@ -0,0 +1,19 @@
+package eu.hansolo.applefx.tools;
+
+import javafx.scene.paint.Color;
+
+
+/**
+ * Immutable snapshot of the system appearance (dark mode and accent color)
+ */
+public record Appearance(boolean dark, MacosAccentColor accentColor) {
+    public static final Appearance DEFAULT = new Appearance(false, MacosAccentColor.MULTI_COLOR);
+
+
+    public Appearance {
+        if (null == accentColor) { accentColor = MacosAccentColor.MULTI_COLOR; }
+    }
+
+
+    public Color getAccentColorAsColor() { return dark ? accentColor.getColorDark() : accentColor.getColorAqua(); }
+}
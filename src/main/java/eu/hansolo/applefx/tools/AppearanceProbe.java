@@ -0,0 +1,49 @@
+package eu.hansolo.applefx.tools;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Properties;
+
+
+/**
+ * Backend used by the AppearanceService to read the current system appearance.
+ * The SYSTEM probe queries the operating system (defaults on macOS, reg on Windows),
+ * other implementations (e.g. fakes in tests or fromFile()) can be set via AppearanceService.setProbe().
+ */
+@FunctionalInterface
+public interface AppearanceProbe {
+    AppearanceProbe SYSTEM = () -> new Appearance(Helper.queryDarkMode(), Helper.queryMacosAccentColor());
+
+
+    Appearance probe();
+
+    /**
+     * Creates a probe that reads the appearance from a properties file with the
+     * keys "dark" (true/false) and "accentColor" (name of a MacosAccentColor).
+     * Can be used as stand-in for the system settings, e.g. on Linux.
+     * @param file the properties file
+     * @return a probe that reads the given file
+     */
+    static AppearanceProbe fromFile(final Path file) {
+        return () -> {
+            final Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(file)) {
+                properties.load(reader);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            final boolean dark = Boolean.parseBoolean(properties.getProperty("dark", "false").trim());
+            MacosAccentColor accentColor;
+            try {
+                accentColor = MacosAccentColor.valueOf(properties.getProperty("accentColor", MacosAccentColor.MULTI_COLOR.name()).trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                accentColor = MacosAccentColor.MULTI_COLOR;
+            }
+            return new Appearance(dark, accentColor);
+        };
+    }
+}
@@ -0,0 +1,152 @@
+package eu.hansolo.applefx.tools;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+
+/**
+ * Process wide cache of the system appearance.
+ * The appearance will be read once on first access, all controls will be served
+ * from the cached snapshot. Calls to refresh() will re-read the appearance on a
+ * background thread and publish the result via the observable properties.
+ */
+public enum AppearanceService {
+    INSTANCE;
+
+    private final    ScheduledExecutorService                executor;
+    private final    AtomicBoolean                           refreshPending;
+    private final    ReadOnlyObjectWrapper<Appearance>       appearance;
+    private final    ReadOnlyBooleanWrapper                  dark;
+    private final    ReadOnlyObjectWrapper<MacosAccentColor> accentColor;
+    private volatile AppearanceProbe                         probe;
+    private volatile Appearance                              current;
+    private          ScheduledFuture<?>                      pollTask;
+
+
+    // ******************** Constructors **************************************
+    AppearanceService() {
+        executor       = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "applefx-appearance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refreshPending = new AtomicBoolean(false);
+        appearance     = new ReadOnlyObjectWrapper<>(AppearanceService.this, "appearance", Appearance.DEFAULT);
+        dark           = new ReadOnlyBooleanWrapper(AppearanceService.this, "dark", Appearance.DEFAULT.dark());
+        accentColor    = new ReadOnlyObjectWrapper<>(AppearanceService.this, "accentColor", Appearance.DEFAULT.accentColor());
+        probe          = AppearanceProbe.SYSTEM;
+    }
+
+
+    // ******************** Methods *******************************************
+    public Appearance getAppearance() {
+        final Appearance snapshot = current;
+        if (null != snapshot) { return snapshot; }
+        synchronized (this) {
+            if (null == current) { publish(probeSafely()); }
+            return current;
+        }
+    }
+    public ReadOnlyObjectProperty<Appearance> appearanceProperty() {
+        getAppearance();
+        return appearance.getReadOnlyProperty();
+    }
+
+    public boolean isDark() { return getAppearance().dark(); }
+    public ReadOnlyBooleanProperty darkProperty() {
+        getAppearance();
+        return dark.getReadOnlyProperty();
+    }
+
+    public MacosAccentColor getAccentColor() { return getAppearance().accentColor(); }
+    public ReadOnlyObjectProperty<MacosAccentColor> accentColorProperty() {
+        getAppearance();
+        return accentColor.getReadOnlyProperty();
+    }
+
+    public AppearanceProbe getProbe() { return probe; }
+    /**
+     * Replaces the backend that will be used to read the appearance and re-reads
+     * the appearance synchronously with the new probe.
+     * @param probe the probe to use, null resets to AppearanceProbe.SYSTEM
+     */
+    public void setProbe(final AppearanceProbe probe) {
+        this.probe = null == probe ? AppearanceProbe.SYSTEM : probe;
+        refreshNow();
+    }
+
+    /**
+     * Re-reads the appearance on the background thread. Multiple calls that
+     * come in before the pending refresh was executed will be coalesced.
+     */
+    public void refresh() {
+        if (refreshPending.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                refreshPending.set(false);
+                publish(probeSafely());
+            });
+        }
+    }
+
+    /**
+     * Re-reads the appearance on the calling thread.
+     * @return the new appearance snapshot
+     */
+    public synchronized Appearance refreshNow() {
+        publish(probeSafely());
+        return current;
+    }
+
+    /**
+     * Periodically refreshes the appearance in the background.
+     * @param interval the interval in milliseconds, values <= 0 will stop polling
+     */
+    public synchronized void setPollInterval(final long interval) {
+        if (null != pollTask) {
+            pollTask.cancel(false);
+            pollTask = null;
+        }
+        if (interval > 0) {
+            pollTask = executor.scheduleWithFixedDelay(this::refresh, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private Appearance probeSafely() {
+        try {
+            final Appearance result = probe.probe();
+            return null == result ? Appearance.DEFAULT : result;
+        } catch (Exception e) {
+            return null == current ? Appearance.DEFAULT : current;
+        }
+    }
+
+    private void publish(final Appearance snapshot) {
+        current = snapshot;
+        if (Platform.isFxApplicationThread()) {
+            updateProperties();
+        } else {
+            try {
+                Platform.runLater(this::updateProperties);
+            } catch (IllegalStateException e) {
+                // FX toolkit not running (e.g. in tests)
+                updateProperties();
+            }
+        }
+    }
+
+    private void updateProperties() {
+        final Appearance snapshot = current;
+        appearance.set(snapshot);
+        dark.set(snapshot.dark());
+        accentColor.set(snapshot.accentColor());
+    }
+}
@@ -0,0 +1,178 @@
+package eu.hansolo.applefx.tools;
+
+import eu.hansolo.jdktools.OperatingSystem;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+import static eu.hansolo.jdktools.util.Helper.getOperatingSystem;
+
+
+/**
+ * Process wide watcher for changes of the system appearance.
+ * One background thread watches the file that holds the appearance settings
+ * (~/Library/Preferences/.GlobalPreferences.plist on macOS). Bursts of modify
+ * events are debounced into one AppearanceService.refresh(), so all windows
+ * that listen to AppearanceService.appearanceProperty() get one new snapshot.
+ * The watcher runs while at least one subscriber acquired it.
+ * On other systems a plain properties file can be used as stand-in, either by
+ * calling useFile() or by setting the system property "applefx.appearance.file".
+ * The file contains the keys "dark" (true/false) and "accentColor" (e.g. BLUE).
+ */
+public enum AppearanceWatcher {
+    INSTANCE;
+
+    public static final long         DEFAULT_DEBOUNCE = 250;
+    public static final String       FILE_PROPERTY    = "applefx.appearance.file";
+    private             Path         file;
+    private             long         debounce;
+    private             int          subscribers;
+    private             Thread       thread;
+    private             WatchService watchService;
+
+
+    // ******************** Constructors **************************************
+    AppearanceWatcher() {
+        debounce = DEFAULT_DEBOUNCE;
+        final String fileName = System.getProperty(FILE_PROPERTY);
+        if (null != fileName && !fileName.isBlank()) {
+            file = Paths.get(fileName);
+            AppearanceService.INSTANCE.setProbe(AppearanceProbe.fromFile(file));
+        } else if (OperatingSystem.MACOS == getOperatingSystem()) {
+            file = Paths.get(System.getProperty("user.home"), "Library", "Preferences", ".GlobalPreferences.plist");
+        }
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Starts watching if this is the first subscriber.
+     */
+    public synchronized void acquire() {
+        subscribers++;
+        if (1 == subscribers) { start(); }
+    }
+
+    /**
+     * Stops watching if this was the last subscriber.
+     */
+    public synchronized void release() {
+        if (0 == subscribers) { return; }
+        subscribers--;
+        if (0 == subscribers) { stop(); }
+    }
+
+    public synchronized int getSubscribers() { return subscribers; }
+
+    public synchronized boolean isRunning() { return null != thread; }
+
+    public synchronized Path getFile() { return file; }
+    /**
+     * Watches the given file instead of the system settings.
+     * @param file the file to watch, null disables watching
+     */
+    public synchronized void setFile(final Path file) {
+        this.file = null == file ? null : file.toAbsolutePath();
+        restart();
+    }
+
+    /**
+     * Uses the given properties file as stand-in for the system appearance, i.e.
+     * the AppearanceService will read the appearance from it and every change of
+     * the file will be published.
+     * @param file the properties file with the keys "dark" and "accentColor"
+     */
+    public void useFile(final Path file) {
+        if (null == file) { throw new IllegalArgumentException("file cannot be null"); }
+        AppearanceService.INSTANCE.setProbe(AppearanceProbe.fromFile(file));
+        setFile(file);
+    }
+
+    public synchronized long getDebounce() { return debounce; }
+    /**
+     * Defines how long the file has to be quiet before the appearance will be re-read.
+     * @param debounce the quiet period in milliseconds
+     */
+    public synchronized void setDebounce(final long debounce) {
+        this.debounce = Math.max(0, debounce);
+        restart();
+    }
+
+    private void restart() {
+        if (0 == subscribers) { return; }
+        stop();
+        start();
+    }
+
+    private void start() {
+        if (null == file || null != thread) { return; }
+        final Path directory = file.toAbsolutePath().getParent();
+        if (null == directory) { return; }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+        } catch (IOException e) {
+            e.printStackTrace();
+            closeWatchService();
+            return;
+        }
+        final WatchService service  = watchService;
+        final Path         fileName = file.getFileName();
+        final long         quiet    = debounce;
+        thread = new Thread(() -> watch(service, fileName, quiet), "applefx-appearance-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void stop() {
+        if (null == thread) { return; }
+        thread.interrupt();
+        thread = null;
+        closeWatchService();
+    }
+
+    private void closeWatchService() {
+        if (null == watchService) { return; }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        watchService = null;
+    }
+
+    private static void watch(final WatchService service, final Path fileName, final long debounce) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                if (!isFileChanged(service.take(), fileName)) { continue; }
+                // wait until the file was quiet for the debounce period, changes of other files in the directory don't count
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(debounce);
+                long remaining;
+                while ((remaining = deadline - System.nanoTime()) > 0) {
+                    final WatchKey key = service.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (null != key && isFileChanged(key, fileName)) { deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(debounce); }
+                }
+                AppearanceService.INSTANCE.refresh();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // watcher was stopped
+        }
+    }
+
+    private static boolean isFileChanged(final WatchKey key, final Path fileName) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (fileName.equals(event.context())) { changed = true; }
+        }
+        key.reset();
+        return changed;
+    }
+}
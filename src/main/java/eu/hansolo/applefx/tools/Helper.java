@@ -39,6 +39,8 @@ public class Helper {
 
     private Helper() {}
 
+    private static final MacosAccentColor[] ACCENT_COLORS = MacosAccentColor.values();
+
     public static final Map<Integer, Color[]> MACOS_ACCENT_COLOR_MAP = Map.of(-1, new Color[] { MacosSystemColor.GRAPHITE.aqua, MacosSystemColor.GRAPHITE.dark },
                                                                               0, new Color[]  { MacosSystemColor.RED.aqua, MacosSystemColor.RED.dark },
                                                                               1, new Color[]  { MacosSystemColor.ORANGE.aqua, MacosSystemColor.ORANGE.dark },
@@ -71,6 +73,11 @@ public class Helper {
     }
 
     public static final boolean isDarkMode() {
+        if (jproMode) { return false; }
+        return AppearanceService.INSTANCE.isDark();
+    }
+
+    static final boolean queryDarkMode() {
         if (jproMode) { return false; }
         switch(getOperatingSystem()) {
             case WINDOWS -> { return isWindowsDarkMode(); }
@@ -121,8 +128,16 @@ public class Helper {
     }
 
     public static final MacosAccentColor getMacosAccentColor() {
+        if (jproMode) { return MacosAccentColor.MULTI_COLOR; }
+        return AppearanceService.INSTANCE.getAccentColor();
+    }
+    public static final Color getMacosAccentColorAsColor() {
+        if (OperatingSystem.MACOS != getOperatingSystem()) { return MacosAccentColor.MULTI_COLOR.getColorAqua(); }
+        return AppearanceService.INSTANCE.getAppearance().getAccentColorAsColor();
+    }
+
+    static final MacosAccentColor queryMacosAccentColor() {
         if (jproMode || OperatingSystem.MACOS != getOperatingSystem()) { return MacosAccentColor.MULTI_COLOR; }
-        final boolean isDarkMode = isMacOsDarkMode();
         try {
             Integer           colorKey    = null;
             Runtime           runtime    = Runtime.getRuntime();
@@ -140,31 +155,22 @@ public class Helper {
             } else {
                 return MacosAccentColor.MULTI_COLOR;
             }
-        } catch (IOException | InterruptedException e) {
+        } catch (IOException | InterruptedException | NumberFormatException e) {
             return MacosAccentColor.MULTI_COLOR;
         }
     }
-    public static final Color getMacosAccentColorAsColor() {
-        if (OperatingSystem.MACOS != getOperatingSystem()) { return MacosAccentColor.MULTI_COLOR.getColorAqua(); }
-        final boolean isDarkMode = isMacOsDarkMode();
-        try {
-            Integer           colorKey    = null;
-            Runtime           runtime    = Runtime.getRuntime();
-            Process           process    = runtime.exec("defaults read -g AppleAccentColor");
-            InputStreamReader isr        = new InputStreamReader(process.getInputStream());
-            BufferedReader    rdr        = new BufferedReader(isr);
-            String            line;
-            while((line = rdr.readLine()) != null) {
-                colorKey = Integer.valueOf(line);
-            }
-            int rc = process.waitFor();  // Wait for the process to complete
-            if (0 == rc) {
-                return isDarkMode ? MACOS_ACCENT_COLOR_MAP.get(colorKey)[1] : MACOS_ACCENT_COLOR_MAP.get(colorKey)[0];
-            } else {
-                return isDarkMode ? MACOS_ACCENT_COLOR_MAP.get(4)[1] : MACOS_ACCENT_COLOR_MAP.get(4)[0];
-            }
-        } catch (IOException | InterruptedException e) {
-            return isDarkMode ? MACOS_ACCENT_COLOR_MAP.get(4)[1] : MACOS_ACCENT_COLOR_MAP.get(4)[0];
+
+    /**
+     * Selects the given accent color on the node by toggling the accent pseudo classes
+     * that are defined in apple.css. In contrast to an inline style this won't trigger
+     * any css parsing.
+     * @param node the node to apply the accent color to
+     * @param accentColor the accent color, MULTI_COLOR will fall back to the default
+     */
+    public static final void setAccentColorPseudoClass(final Node node, final MacosAccentColor accentColor) {
+        for (MacosAccentColor color : ACCENT_COLORS) {
+            if (null == color.getPseudoClass()) { continue; }
+            node.pseudoClassStateChanged(color.getPseudoClass(), color == accentColor);
         }
     }
 
@@ -1,10 +1,12 @@
 package eu.hansolo.applefx.tools;
 
 import eu.hansolo.toolboxfx.HelperFX;
+import javafx.css.PseudoClass;
 import javafx.scene.paint.Color;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 
 
 public enum MacosAccentColor {
@@ -18,13 +20,14 @@ public enum MacosAccentColor {
     GREEN(3, MacosSystemColor.GREEN.aqua, Color.web("#d0eac7"), HelperFX.getColorWithOpacity(MacosSystemColor.GREEN.aqua, 0.25), MacosSystemColor.GREEN.dark, Color.web("#5c7653"), HelperFX.getColorWithOpacity(MacosSystemColor.GREEN.dark, 0.25)),
     GRAPHITE(-1, MacosSystemColor.GRAPHITE.aqua, Color.web("#e0e0e0"), HelperFX.getColorWithOpacity(MacosSystemColor.GRAPHITE.aqua, 0.25), MacosSystemColor.GRAPHITE.dark, Color.web("#696665"), HelperFX.getColorWithOpacity(MacosSystemColor.GRAPHITE.dark, 0.25));
 
-    final Integer key;
-    final Color   colorAqua;
-    final Color   colorAquaHighlight;
-    final Color   colorAquaFocus;
-    final Color   colorDark;
-    final Color   colorDarkHighlight;
-    final Color   colorDarkFocus;
+    final Integer     key;
+    final Color       colorAqua;
+    final Color       colorAquaHighlight;
+    final Color       colorAquaFocus;
+    final Color       colorDark;
+    final Color       colorDarkHighlight;
+    final Color       colorDarkFocus;
+    final PseudoClass pseudoClass;
 
 
     MacosAccentColor(final Integer key, final Color colorAqua, final Color colorAquaHighlight, final Color colorAquaFocus, final Color colorDark, final Color colorDarkHighlight, final Color colorDarkFocus) {
@@ -35,6 +38,7 @@ public enum MacosAccentColor {
         this.colorDark          = colorDark;
         this.colorDarkHighlight = colorDarkHighlight;
         this.colorDarkFocus     = colorDarkFocus;
+        this.pseudoClass        = null == key ? null : PseudoClass.getPseudoClass("accent-" + name().toLowerCase(Locale.ROOT));
     }
 
     public Integer getKey() { return key; }
@@ -51,6 +55,11 @@ public enum MacosAccentColor {
 
     public Color getColorDarkFocus() { return colorDarkFocus; }
 
+    /**
+     * @return the pseudo class that selects this accent color in apple.css or null for MULTI_COLOR (default)
+     */
+    public PseudoClass getPseudoClass() { return pseudoClass; }
+
     public String getAquaStyleClass() {
         switch(this) {
             case MULTI_COLOR -> { return "-BLUE-AQUA"; }
@@ -1,147 +1,217 @@
 package eu.hansolo.applefx.tools;
 
-import javafx.collections.ObservableList;
+import javafx.application.Platform;
 import javafx.event.EventHandler;
 import javafx.event.EventType;
 import javafx.scene.Cursor;
-import javafx.scene.Node;
-import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.input.MouseEvent;
 import javafx.stage.Stage;
 
 
+/**
+ * Makes undecorated stages resizable by dragging their edges.
+ * One event filter on the scene hit-tests the mouse position against the
+ * window edges, the cursor is only changed when the resize zone changes and
+ * the new bounds of the stage are applied once per pulse while dragging.
+ */
 public class ResizeHelper {
+    private static final String PROPERTY_KEY = "eu.hansolo.applefx.tools.ResizeHelper";
 
 
     // ******************** Methods *******************************************
-    public static void addResizeListener(final Stage stage, final double shadowOffset) {
-        ResizeListener resizeListener = new ResizeListener(stage, shadowOffset);
-        stage.getScene().addEventHandler(MouseEvent.MOUSE_MOVED, resizeListener);
-        stage.getScene().addEventHandler(MouseEvent.MOUSE_PRESSED, resizeListener);
-        stage.getScene().addEventHandler(MouseEvent.MOUSE_DRAGGED, resizeListener);
-        stage.getScene().addEventHandler(MouseEvent.MOUSE_EXITED, resizeListener);
-        stage.getScene().addEventHandler(MouseEvent.MOUSE_EXITED_TARGET, resizeListener);
-        ObservableList<Node> children = stage.getScene().getRoot().getChildrenUnmodifiable();
-        for (Node child : children) {
-            addListenerDeeply(child, resizeListener);
-        }
+    /**
+     * Adds a resize listener to the scene of the given stage, a listener that
+     * was added before to the same stage will be detached.
+     * @param stage        the stage that should be resizable
+     * @param shadowOffset the size of the drop shadow around the window content
+     * @return the listener, call detach() to remove it again
+     */
+    public static ResizeListener addResizeListener(final Stage stage, final double shadowOffset) {
+        if (null == stage.getScene()) { throw new IllegalArgumentException("stage has no scene"); }
+        removeResizeListener(stage);
+        final ResizeListener resizeListener = new ResizeListener(stage, shadowOffset);
+        stage.getProperties().put(PROPERTY_KEY, resizeListener);
+        return resizeListener;
     }
 
-    private static void addListenerDeeply(Node node, EventHandler<MouseEvent> listener) {
-        node.addEventHandler(MouseEvent.MOUSE_MOVED, listener);
-        node.addEventHandler(MouseEvent.MOUSE_PRESSED, listener);
-        node.addEventHandler(MouseEvent.MOUSE_DRAGGED, listener);
-        node.addEventHandler(MouseEvent.MOUSE_EXITED, listener);
-        node.addEventHandler(MouseEvent.MOUSE_EXITED_TARGET, listener);
-        if (node instanceof Parent) {
-            Parent parent = (Parent) node;
-            ObservableList<Node> children = parent.getChildrenUnmodifiable();
-            for (Node child : children) {
-                addListenerDeeply(child, listener);
-            }
-        }
+    public static void removeResizeListener(final Stage stage) {
+        final Object resizeListener = stage.getProperties().get(PROPERTY_KEY);
+        if (resizeListener instanceof ResizeListener) { ((ResizeListener) resizeListener).detach(); }
     }
 
 
     // ******************** Inner Classes *************************************
-    private static class ResizeListener implements EventHandler<MouseEvent> {
-        private Stage  stage;
-        private Cursor cursorEvent  = Cursor.DEFAULT;
-        private int    border       = 8;
-        private double startX       = 0;
-        private double startY       = 0;
-        private double startScreenX = 0;
-        private double startScreenY = 0;
-        private double shadowOffset;
+    private enum Zone {
+        NONE(Cursor.DEFAULT, false, false, false, false),
+        N(Cursor.N_RESIZE, true, false, false, false),
+        S(Cursor.S_RESIZE, false, true, false, false),
+        W(Cursor.W_RESIZE, false, false, true, false),
+        E(Cursor.E_RESIZE, false, false, false, true),
+        NW(Cursor.NW_RESIZE, true, false, true, false),
+        NE(Cursor.NE_RESIZE, true, false, false, true),
+        SW(Cursor.SW_RESIZE, false, true, true, false),
+        SE(Cursor.SE_RESIZE, false, true, false, true);
+
+        final Cursor  cursor;
+        final boolean north;
+        final boolean south;
+        final boolean west;
+        final boolean east;
+
+        Zone(final Cursor cursor, final boolean north, final boolean south, final boolean west, final boolean east) {
+            this.cursor = cursor;
+            this.north  = north;
+            this.south  = south;
+            this.west   = west;
+            this.east   = east;
+        }
+    }
+
+    public static final class ResizeListener implements EventHandler<MouseEvent> {
+        private static final int      BORDER = 8;
+        private        final Stage    stage;
+        private        final Scene    scene;
+        private        final double   shadowOffset;
+        private        final Runnable pulseListener;
+        private              Zone     zone;
+        private              boolean  resizing;
+        private              boolean  dirty;
+        private              boolean  attached;
+        private              double   startScreenX;
+        private              double   startScreenY;
+        private              double   startX;
+        private              double   startY;
+        private              double   startWidth;
+        private              double   startHeight;
+        private              double   x;
+        private              double   y;
+        private              double   width;
+        private              double   height;
 
 
         // ******************** Constructors **********************************
-        public ResizeListener(final Stage stage, final double shadowOffset) {
-            this.stage        = stage;
-            this.shadowOffset = shadowOffset;
+        private ResizeListener(final Stage stage, final double shadowOffset) {
+            this.stage         = stage;
+            this.scene         = stage.getScene();
+            this.shadowOffset  = shadowOffset;
+            this.pulseListener = this::applyBounds;
+            this.zone          = Zone.NONE;
+            this.attached      = true;
+            scene.addEventFilter(MouseEvent.ANY, this);
+            scene.addPreLayoutPulseListener(pulseListener);
         }
 
 
         // ******************** Methods ***************************************
-        @Override public void handle(MouseEvent e) {
-            EventType<? extends MouseEvent> type  = e.getEventType();
-            Scene                           scene = stage.getScene();
-
-            double mouseEventX = e.getSceneX();
-            double mouseEventY = e.getSceneY();
-            double sceneWidth  = scene.getWidth() - 2 * shadowOffset;
-            double sceneHeight = scene.getHeight() - 2 * shadowOffset;
-
-            if (MouseEvent.MOUSE_MOVED.equals(type)) {
-                if (mouseEventX < border && mouseEventY < border) {
-                    cursorEvent = Cursor.NW_RESIZE;
-                } else if (mouseEventX < border && mouseEventY > sceneHeight - border) {
-                    cursorEvent = Cursor.SW_RESIZE;
-                } else if (mouseEventX > sceneWidth - border && mouseEventY < border) {
-                    cursorEvent = Cursor.NE_RESIZE;
-                } else if (mouseEventX > sceneWidth - border && mouseEventY > sceneHeight - border) {
-                    cursorEvent = Cursor.SE_RESIZE;
-                } else if (mouseEventX < border) {
-                    cursorEvent = Cursor.W_RESIZE;
-                } else if (mouseEventX > sceneWidth - border) {
-                    cursorEvent = Cursor.E_RESIZE;
-                } else if (mouseEventY < border) {
-                    cursorEvent = Cursor.N_RESIZE;
-                } else if (mouseEventY > sceneHeight - border) {
-                    cursorEvent = Cursor.S_RESIZE;
-                } else {
-                    cursorEvent = Cursor.DEFAULT;
-                }
-                scene.setCursor(cursorEvent);
-            } else if (MouseEvent.MOUSE_EXITED.equals(type) || MouseEvent.MOUSE_EXITED_TARGET.equals(type)) {
-                scene.setCursor(Cursor.DEFAULT);
-            } else if (MouseEvent.MOUSE_PRESSED.equals(type)) {
-                startX = stage.getWidth() - mouseEventX;
-                startY = stage.getHeight() - mouseEventY;
-            } else if (MouseEvent.MOUSE_DRAGGED.equals(type)) {
-                if (!Cursor.DEFAULT.equals(cursorEvent)) {
-                    if (!Cursor.W_RESIZE.equals(cursorEvent) && !Cursor.E_RESIZE.equals(cursorEvent)) {
-                        final double minHeight = stage.getMinHeight() > (border * 2) ? stage.getMinHeight() : (border * 2);
-                        final double maxHeight = stage.getMaxHeight();
-                        if (Cursor.NW_RESIZE.equals(cursorEvent) || Cursor.N_RESIZE.equals(cursorEvent) || Cursor.NE_RESIZE.equals(cursorEvent)) {
-                            double newHeight = stage.getHeight() - (e.getScreenY() - stage.getY());
-                            if (newHeight >= minHeight && newHeight <= maxHeight) {
-                                stage.setHeight(newHeight);
-                                stage.setY(e.getScreenY());
-                            } else {
-                                newHeight = Math.min(Math.max(newHeight, minHeight), maxHeight);
-                                // y1 + h1 = y2 + h2
-                                // y1 = y2 + h2 - h1
-                                stage.setY(stage.getY() + stage.getHeight() - newHeight);
-                                stage.setHeight(newHeight);
-                            }
-                        } else {
-                            stage.setHeight(Math.min(Math.max(mouseEventY + startY, minHeight), maxHeight));
-                        }
-                    }
-
-                    if (!Cursor.N_RESIZE.equals(cursorEvent) && !Cursor.S_RESIZE.equals(cursorEvent)) {
-                        final double minWidth = stage.getMinWidth() > (border * 2) ? stage.getMinWidth() : (border * 2);
-                        final double maxWidth = stage.getMaxWidth();
-                        if (Cursor.NW_RESIZE.equals(cursorEvent) || Cursor.W_RESIZE.equals(cursorEvent) || Cursor.SW_RESIZE.equals(cursorEvent)) {
-                            double newWidth = stage.getWidth() - (e.getScreenX() - stage.getX());
-                            if (newWidth >= minWidth && newWidth <= maxWidth) {
-                                stage.setWidth(newWidth);
-                                stage.setX(e.getScreenX());
-                            } else {
-                                newWidth = Math.min(Math.max(newWidth, minWidth), maxWidth);
-                                // x1 + w1 = x2 + w2
-                                // x1 = x2 + w2 - w1
-                                stage.setX(stage.getX() + stage.getWidth() - newWidth);
-                                stage.setWidth(newWidth);
-                            }
-                        } else {
-                            stage.setWidth(Math.min(Math.max(mouseEventX + startX, minWidth), maxWidth));
-                        }
-                    }
-                }
+        public boolean isResizing() { return resizing; }
+
+        public boolean isAttached() { return attached; }
+
+        /**
+         * Removes the event filter from the scene and resets the cursor.
+         */
+        public void detach() {
+            if (!attached) { return; }
+            attached = false;
+            resizing = false;
+            dirty    = false;
+            scene.removeEventFilter(MouseEvent.ANY, this);
+            scene.removePreLayoutPulseListener(pulseListener);
+            if (Zone.NONE != zone) { scene.setCursor(Cursor.DEFAULT); }
+            zone = Zone.NONE;
+            if (stage.getProperties().get(PROPERTY_KEY) == this) { stage.getProperties().remove(PROPERTY_KEY); }
+        }
+
+        @Override public void handle(final MouseEvent e) {
+            final EventType<? extends MouseEvent> type = e.getEventType();
+            if (MouseEvent.MOUSE_MOVED == type) {
+                setZone(hitTest(e.getSceneX(), e.getSceneY()));
+            } else if (MouseEvent.MOUSE_EXITED == type) {
+                // only the scene itself receives MOUSE_EXITED in the filter, nodes send MOUSE_EXITED_TARGET
+                if (!resizing) { setZone(Zone.NONE); }
+            } else if (MouseEvent.MOUSE_PRESSED == type) {
+                if (Zone.NONE == zone || !e.isPrimaryButtonDown()) { return; }
+                resizing     = true;
+                startScreenX = e.getScreenX();
+                startScreenY = e.getScreenY();
+                startX       = stage.getX();
+                startY       = stage.getY();
+                startWidth   = stage.getWidth();
+                startHeight  = stage.getHeight();
+                e.consume();
+            } else if (MouseEvent.MOUSE_DRAGGED == type) {
+                if (!resizing) { return; }
+                updateBounds(e.getScreenX() - startScreenX, e.getScreenY() - startScreenY);
+                e.consume();
+            } else if (MouseEvent.MOUSE_RELEASED == type) {
+                if (!resizing) { return; }
+                resizing = false;
+                applyBounds();
+                setZone(hitTest(e.getSceneX(), e.getSceneY()));
+                e.consume();
+            } else if (resizing && (MouseEvent.MOUSE_CLICKED == type || MouseEvent.DRAG_DETECTED == type)) {
+                e.consume();
             }
         }
+
+        private Zone hitTest(final double mouseX, final double mouseY) {
+            if (!stage.isResizable() || stage.isFullScreen() || stage.isMaximized()) { return Zone.NONE; }
+            final double  sceneWidth  = scene.getWidth() - 2 * shadowOffset;
+            final double  sceneHeight = scene.getHeight() - 2 * shadowOffset;
+            final boolean north       = mouseY < BORDER;
+            final boolean south       = mouseY > sceneHeight - BORDER;
+            final boolean west        = mouseX < BORDER;
+            final boolean east        = mouseX > sceneWidth - BORDER;
+            if (north) { return west ? Zone.NW : east ? Zone.NE : Zone.N; }
+            if (south) { return west ? Zone.SW : east ? Zone.SE : Zone.S; }
+            if (west)  { return Zone.W; }
+            if (east)  { return Zone.E; }
+            return Zone.NONE;
+        }
+
+        private void setZone(final Zone zone) {
+            if (zone == this.zone) { return; }
+            this.zone = zone;
+            scene.setCursor(zone.cursor);
+        }
+
+        private void updateBounds(final double deltaX, final double deltaY) {
+            x      = startX;
+            y      = startY;
+            width  = startWidth;
+            height = startHeight;
+            if (zone.west || zone.east) {
+                final double minWidth = Math.max(stage.getMinWidth(), BORDER * 2);
+                final double maxWidth = stage.getMaxWidth();
+                width = clamp(zone.west ? startWidth - deltaX : startWidth + deltaX, minWidth, maxWidth);
+                // x1 + w1 = x2 + w2
+                if (zone.west) { x = startX + startWidth - width; }
+            }
+            if (zone.north || zone.south) {
+                final double minHeight = Math.max(stage.getMinHeight(), BORDER * 2);
+                final double maxHeight = stage.getMaxHeight();
+                height = clamp(zone.north ? startHeight - deltaY : startHeight + deltaY, minHeight, maxHeight);
+                // y1 + h1 = y2 + h2
+                if (zone.north) { y = startY + startHeight - height; }
+            }
+            if (!dirty) {
+                dirty = true;
+                Platform.requestNextPulse();
+            }
+        }
+
+        private void applyBounds() {
+            if (!dirty) { return; }
+            dirty = false;
+            if (x != stage.getX())           { stage.setX(x); }
+            if (y != stage.getY())           { stage.setY(y); }
+            if (width != stage.getWidth())   { stage.setWidth(width); }
+            if (height != stage.getHeight()) { stage.setHeight(height); }
+        }
+
+        private static double clamp(final double value, final double min, final double max) {
+            return Math.min(Math.max(value, min), max);
+        }
     }
 }
@@ -1,5 +1,8 @@
 package eu.hansolo.applefx.tools;
 
+import java.util.List;
+
+
 public enum SFIcon {
     alarm_fill("\ue7b8"),
     alt("\ue7b9"),
@@ -1237,4 +1240,32 @@ public enum SFIcon {
     }
 
     public final String utf8() { return utf8; }
+
+    public final int codepoint() { return utf8.codePointAt(0); }
+
+    /**
+     * Returns the icon with the given name without throwing an exception. Besides
+     * the enum name (e.g. "arrow_down_circle") also the Apple notation
+     * (e.g. "arrow.down.circle") will be resolved.
+     * @param name the name of the icon
+     * @return the icon or null if there is no icon with the given name
+     */
+    public static SFIcon fromName(final String name) { return SFIconIndex.get().byName(name); }
+
+    /**
+     * Returns the icon with the given codepoint in the SF icon font.
+     * @param codepoint the codepoint of the glyph (e.g. 0xe8a1)
+     * @return the icon or null if there is no icon with the given codepoint
+     */
+    public static SFIcon fromCodepoint(final int codepoint) { return SFIconIndex.get().byCodepoint(codepoint); }
+
+    /**
+     * Searches all icons that contain all terms of the query as prefix of one of
+     * their name tokens, e.g. "arr circ" will find "arrow_down_circle".
+     * Shorter names are returned first.
+     * @param query the terms separated by whitespace, dots or underscores
+     * @param limit the maximum number of returned icons
+     * @return the matching icons
+     */
+    public static List<SFIcon> search(final String query, final int limit) { return SFIconIndex.get().search(query, limit); }
 }
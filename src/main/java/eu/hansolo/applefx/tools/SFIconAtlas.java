@@ -0,0 +1,131 @@
+package eu.hansolo.applefx.tools;
+
+import eu.hansolo.applefx.fonts.Fonts;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Text;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Shared texture atlas for SFIcon glyphs.
+ * Every combination of icon, size, color and render scale is rasterized only once
+ * and copied into one of a few large atlas pages, all SFIconViews that show the same
+ * glyph share the same page image and only differ in their viewport. Pages are
+ * filled row by row (shelf packing), if all pages are full the atlas starts over,
+ * views keep their current page until they request their glyph again.
+ * All methods have to be called on the FX application thread.
+ */
+public final class SFIconAtlas {
+    public  static final int                    PAGE_SIZE = 1024;
+    public  static final int                    MAX_PAGES = 4;
+    private static final int                    PADDING   = 1;
+    private static final Map<Key, Glyph>        GLYPHS    = new HashMap<>();
+    private static final List<WritableImage>    PAGES     = new ArrayList<>();
+    private static final SnapshotParameters     PARAMETERS;
+    private static final Text                   TEXT;
+    private static       int                    shelfX;
+    private static       int                    shelfY;
+    private static       int                    shelfHeight;
+    static {
+        PARAMETERS = new SnapshotParameters();
+        PARAMETERS.setFill(Color.TRANSPARENT);
+        TEXT = new Text();
+    }
+
+
+    private record Key(SFIcon icon, int pixelSize, int argb) {}
+
+    /**
+     * A rasterized glyph, the viewport is in pixels of the page image. Divide
+     * the viewport size by the render scale to get the size in logical pixels.
+     * @param page     the atlas page that contains the glyph
+     * @param viewport the region of the glyph in the page
+     */
+    public record Glyph(Image page, Rectangle2D viewport) {}
+
+
+    // ******************** Constructors **************************************
+    private SFIconAtlas() {}
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Returns the glyph of the given icon, rasterizes it on first use.
+     * @param icon  the icon
+     * @param size  the font size in logical pixels
+     * @param color the fill color
+     * @param scale the render scale of the window (e.g. 2 on retina displays)
+     * @return the glyph with its page and viewport
+     */
+    public static Glyph getGlyph(final SFIcon icon, final double size, final Color color, final double scale) {
+        final int pixelSize = Math.max(1, (int) Math.round(size * (scale <= 0 ? 1 : scale)));
+        final Key key       = new Key(icon, pixelSize, toArgb(color));
+        Glyph glyph = GLYPHS.get(key);
+        if (null == glyph) {
+            glyph = rasterize(icon, pixelSize, color);
+            GLYPHS.put(key, glyph);
+        }
+        return glyph;
+    }
+
+    public static int getCachedGlyphs() { return GLYPHS.size(); }
+
+    public static int getPages() { return PAGES.size(); }
+
+    /**
+     * Removes all glyphs and pages, views that still show a glyph keep their page.
+     */
+    public static void clear() {
+        GLYPHS.clear();
+        PAGES.clear();
+        shelfX      = 0;
+        shelfY      = 0;
+        shelfHeight = 0;
+    }
+
+    private static Glyph rasterize(final SFIcon icon, final int pixelSize, final Color color) {
+        TEXT.setText(icon.utf8());
+        TEXT.setFont(Fonts.sfIconSets(pixelSize));
+        TEXT.setFill(color);
+        final WritableImage image  = TEXT.snapshot(PARAMETERS, null);
+        final int           width  = (int) image.getWidth();
+        final int           height = (int) image.getHeight();
+        if (width + PADDING > PAGE_SIZE || height + PADDING > PAGE_SIZE) {
+            // too large for the atlas, use the snapshot as its own page
+            return new Glyph(image, new Rectangle2D(0, 0, width, height));
+        }
+        if (shelfX + width + PADDING > PAGE_SIZE) {
+            shelfX      = 0;
+            shelfY     += shelfHeight;
+            shelfHeight = 0;
+        }
+        if (PAGES.isEmpty() || shelfY + height + PADDING > PAGE_SIZE) {
+            if (PAGES.size() == MAX_PAGES) { clear(); }
+            PAGES.add(new WritableImage(PAGE_SIZE, PAGE_SIZE));
+            shelfX      = 0;
+            shelfY      = 0;
+            shelfHeight = 0;
+        }
+        final WritableImage page = PAGES.get(PAGES.size() - 1);
+        page.getPixelWriter().setPixels(shelfX, shelfY, width, height, image.getPixelReader(), 0, 0);
+        final Glyph glyph = new Glyph(page, new Rectangle2D(shelfX, shelfY, width, height));
+        shelfX     += width + PADDING;
+        shelfHeight = Math.max(shelfHeight, height + PADDING);
+        return glyph;
+    }
+
+    private static int toArgb(final Color color) {
+        return ((int) Math.round(color.getOpacity() * 255) << 24) |
+               ((int) Math.round(color.getRed()     * 255) << 16) |
+               ((int) Math.round(color.getGreen()   * 255) << 8)  |
+                (int) Math.round(color.getBlue()    * 255);
+    }
+}
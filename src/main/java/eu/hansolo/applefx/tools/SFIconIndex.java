@@ -0,0 +1,179 @@
+package eu.hansolo.applefx.tools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+
+/**
+ * Lookup index for SFIcon, built once on first use.
+ * It contains a map from name to icon, a sorted table of codepoints and a trie
+ * over the underscore separated tokens of the icon names (e.g. "arrow", "circle",
+ * "fill"). Every node of the trie keeps the sorted ordinals of all icons that
+ * contain a token with the node's prefix, so a search only walks one path per
+ * query term and intersects the ordinal arrays.
+ */
+final class SFIconIndex {
+    private static final SFIcon[]            ICONS = SFIcon.values();
+    private        final Map<String, SFIcon> names;
+    private        final int[]               codepoints;
+    private        final SFIcon[]            codepointIcons;
+    private        final Node                root;
+    private        final int[]               ranks;
+
+
+    private static final class Holder {
+        private static final SFIconIndex INSTANCE = new SFIconIndex();
+    }
+
+    private static final class Node {
+        private char[] chars    = new char[0];
+        private Node[] children = new Node[0];
+        private int[]  icons    = new int[4];
+        private int    size     = 0;
+
+        private Node child(final char c) {
+            final int index = Arrays.binarySearch(chars, c);
+            return index < 0 ? null : children[index];
+        }
+
+        private Node getOrAddChild(final char c) {
+            int index = Arrays.binarySearch(chars, c);
+            if (index < 0) {
+                index = -index - 1;
+                final char[] grownChars    = new char[chars.length + 1];
+                final Node[] grownChildren = new Node[children.length + 1];
+                System.arraycopy(chars, 0, grownChars, 0, index);
+                System.arraycopy(children, 0, grownChildren, 0, index);
+                System.arraycopy(chars, index, grownChars, index + 1, chars.length - index);
+                System.arraycopy(children, index, grownChildren, index + 1, children.length - index);
+                grownChars[index]    = c;
+                grownChildren[index] = new Node();
+                chars    = grownChars;
+                children = grownChildren;
+            }
+            return children[index];
+        }
+
+        private void addIcon(final int ordinal) {
+            // icons are added in ordinal order, so a duplicate can only be the last one
+            if (size > 0 && icons[size - 1] == ordinal) { return; }
+            if (size == icons.length) { icons = Arrays.copyOf(icons, size * 2); }
+            icons[size++] = ordinal;
+        }
+
+        private void trim() {
+            icons = Arrays.copyOf(icons, size);
+            for (Node child : children) { child.trim(); }
+        }
+    }
+
+
+    // ******************** Constructors **************************************
+    private SFIconIndex() {
+        names          = new HashMap<>(ICONS.length * 2);
+        codepoints     = new int[ICONS.length];
+        codepointIcons = new SFIcon[ICONS.length];
+        root           = new Node();
+        ranks          = new int[ICONS.length];
+
+        final long[] sortedCodepoints = new long[ICONS.length];
+        for (SFIcon icon : ICONS) {
+            final int    ordinal = icon.ordinal();
+            final String name    = icon.name();
+            names.put(name, icon);
+            sortedCodepoints[ordinal] = ((long) icon.utf8().codePointAt(0) << 32) | ordinal;
+            for (String token : name.split("_")) {
+                Node node = root;
+                for (int i = 0 ; i < token.length() ; i++) {
+                    node = node.getOrAddChild(token.charAt(i));
+                    node.addIcon(ordinal);
+                }
+            }
+        }
+        root.trim();
+
+        Arrays.sort(sortedCodepoints);
+        for (int i = 0 ; i < sortedCodepoints.length ; i++) {
+            codepoints[i]     = (int) (sortedCodepoints[i] >>> 32);
+            codepointIcons[i] = ICONS[(int) sortedCodepoints[i]];
+        }
+
+        // shorter names are the better matches, e.g. "camera" before "camera_circle_fill"
+        final SFIcon[] byRank = ICONS.clone();
+        Arrays.sort(byRank, (i1, i2) -> i1.name().length() != i2.name().length() ? Integer.compare(i1.name().length(), i2.name().length()) : i1.name().compareTo(i2.name()));
+        for (int i = 0 ; i < byRank.length ; i++) { ranks[byRank[i].ordinal()] = i; }
+    }
+
+
+    // ******************** Methods *******************************************
+    static SFIconIndex get() { return Holder.INSTANCE; }
+
+    SFIcon byName(final String name) {
+        if (null == name || name.isEmpty()) { return null; }
+        final SFIcon icon = names.get(name);
+        return null == icon ? names.get(normalize(name)) : icon;
+    }
+
+    SFIcon byCodepoint(final int codepoint) {
+        final int index = Arrays.binarySearch(codepoints, codepoint);
+        return index < 0 ? null : codepointIcons[index];
+    }
+
+    List<SFIcon> search(final String query, final int limit) {
+        if (null == query || limit <= 0) { return Collections.emptyList(); }
+        final String[] terms  = normalize(query).split("_");
+        int[]          result = null;
+        for (String term : terms) {
+            if (term.isEmpty()) { continue; }
+            Node node = root;
+            for (int i = 0 ; i < term.length() && null != node ; i++) { node = node.child(term.charAt(i)); }
+            if (null == node) { return Collections.emptyList(); }
+            result = null == result ? node.icons : intersect(result, node.icons);
+            if (0 == result.length) { return Collections.emptyList(); }
+        }
+        if (null == result) { return Collections.emptyList(); }
+
+        final long[] ranked = new long[result.length];
+        for (int i = 0 ; i < result.length ; i++) { ranked[i] = ((long) ranks[result[i]] << 32) | result[i]; }
+        Arrays.sort(ranked);
+        final int          count = Math.min(limit, ranked.length);
+        final List<SFIcon> icons = new ArrayList<>(count);
+        for (int i = 0 ; i < count ; i++) { icons.add(ICONS[(int) ranked[i]]); }
+        return icons;
+    }
+
+    private static int[] intersect(final int[] a, final int[] b) {
+        final int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, k = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[k++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return k == result.length ? result : Arrays.copyOf(result, k);
+    }
+
+    /**
+     * Converts names like "Arrow.Down Circle" or "arrow-down" into the enum naming.
+     */
+    private static String normalize(final String name) {
+        final StringBuilder builder = new StringBuilder(name.length());
+        final String        lower   = name.trim().toLowerCase(Locale.ROOT);
+        for (int i = 0 ; i < lower.length() ; i++) {
+            final char c = lower.charAt(i);
+            builder.append(c == '.' || c == '-' || Character.isWhitespace(c) ? '_' : c);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,144 @@
+package eu.hansolo.applefx.tools;
+
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.DoublePropertyBase;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ObjectPropertyBase;
+import javafx.scene.Scene;
+import javafx.scene.image.ImageView;
+import javafx.scene.paint.Color;
+import javafx.stage.Screen;
+import javafx.stage.Window;
+
+
+/**
+ * Lightweight node that shows an SFIcon.
+ * Instead of laying out and rendering text for every icon, the glyph is taken
+ * from the shared SFIconAtlas, so showing the same icon many times only costs
+ * one ImageView per icon that points into the same atlas page.
+ * The render scale is taken from the window when the view is added to a scene,
+ * call refresh() if the window moved to a screen with a different scale.
+ */
+public class SFIconView extends ImageView {
+    public  static final double                 DEFAULT_SIZE  = 13;
+    public  static final Color                  DEFAULT_COLOR = Color.BLACK;
+    private              SFIcon                 _icon;
+    private              ObjectProperty<SFIcon> icon;
+    private              double                 _size;
+    private              DoubleProperty         size;
+    private              Color                  _color;
+    private              ObjectProperty<Color>  color;
+    private              double                 scale;
+
+
+    // ******************** Constructors **************************************
+    public SFIconView() {
+        this(null, DEFAULT_SIZE, DEFAULT_COLOR);
+    }
+    public SFIconView(final SFIcon icon) {
+        this(icon, DEFAULT_SIZE, DEFAULT_COLOR);
+    }
+    public SFIconView(final SFIcon icon, final double size) {
+        this(icon, size, DEFAULT_COLOR);
+    }
+    public SFIconView(final SFIcon icon, final double size, final Color color) {
+        super();
+        _icon  = icon;
+        _size  = size;
+        _color = null == color ? DEFAULT_COLOR : color;
+        scale  = Screen.getPrimary().getOutputScaleX();
+        getStyleClass().add("sf-icon-view");
+        setSmooth(true);
+        sceneProperty().addListener((o, ov, nv) -> refresh());
+        update();
+    }
+
+
+    // ******************** Methods *******************************************
+    public SFIcon getIcon() { return null == icon ? _icon : icon.get(); }
+    public void setIcon(final SFIcon icon) {
+        if (null == this.icon) {
+            _icon = icon;
+            update();
+        } else {
+            this.icon.set(icon);
+        }
+    }
+    public ObjectProperty<SFIcon> iconProperty() {
+        if (null == icon) {
+            icon = new ObjectPropertyBase<>(_icon) {
+                @Override protected void invalidated() { update(); }
+                @Override public Object getBean() { return SFIconView.this; }
+                @Override public String getName() { return "icon"; }
+            };
+        }
+        return icon;
+    }
+
+    public double getSize() { return null == size ? _size : size.get(); }
+    public void setSize(final double size) {
+        if (null == this.size) {
+            _size = size;
+            update();
+        } else {
+            this.size.set(size);
+        }
+    }
+    public DoubleProperty sizeProperty() {
+        if (null == size) {
+            size = new DoublePropertyBase(_size) {
+                @Override protected void invalidated() { update(); }
+                @Override public Object getBean() { return SFIconView.this; }
+                @Override public String getName() { return "size"; }
+            };
+        }
+        return size;
+    }
+
+    public Color getColor() { return null == color ? _color : color.get(); }
+    public void setColor(final Color color) {
+        if (null == this.color) {
+            _color = null == color ? DEFAULT_COLOR : color;
+            update();
+        } else {
+            this.color.set(color);
+        }
+    }
+    public ObjectProperty<Color> colorProperty() {
+        if (null == color) {
+            color = new ObjectPropertyBase<>(_color) {
+                @Override protected void invalidated() { update(); }
+                @Override public Object getBean() { return SFIconView.this; }
+                @Override public String getName() { return "color"; }
+            };
+        }
+        return color;
+    }
+
+    /**
+     * Reads the render scale of the window again and updates the glyph if it changed.
+     */
+    public void refresh() {
+        final Scene  scene       = getScene();
+        final Window window      = null == scene ? null : scene.getWindow();
+        final double renderScale = null == window ? Screen.getPrimary().getOutputScaleX() : window.getRenderScaleX();
+        if (renderScale == scale) { return; }
+        scale = renderScale;
+        update();
+    }
+
+    private void update() {
+        final SFIcon icon  = getIcon();
+        final Color  color = getColor();
+        if (null == icon || getSize() <= 0) {
+            setImage(null);
+            setViewport(null);
+            return;
+        }
+        final SFIconAtlas.Glyph glyph = SFIconAtlas.getGlyph(icon, getSize(), null == color ? DEFAULT_COLOR : color, scale);
+        setImage(glyph.page());
+        setViewport(glyph.viewport());
+        setFitWidth(glyph.viewport().getWidth() / scale);
+        setFitHeight(glyph.viewport().getHeight() / scale);
+    }
+}
@@ -0,0 +1,177 @@
+package eu.hansolo.applefx.tools;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.property.ReadOnlyProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.stage.Window;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
+
+
+/**
+ * Calls a one-shot callback when a node is shown for the first time, which means
+ * it is in a scene whose window is showing.
+ * Instead of a binding on scene -> window -> showing per node, every node only
+ * gets one listener on its scene property that is shared by all nodes. The nodes
+ * that wait for their window are grouped per scene, so there is only one listener
+ * per scene and window. All references to nodes and scenes are weak and all
+ * listeners are removed once the callback was called or the node left its scene,
+ * so controls that are discarded before they were shown don't leak.
+ * The callback must not capture the node (use a method reference like
+ * MyControl::applySettings or a lambda that uses its parameter), otherwise the
+ * node can't be collected while it waits.
+ * All methods have to be called on the FX application thread.
+ */
+public final class ShowingTracker {
+    private static final Map<Node, Consumer<Node>> CALLBACKS      = new WeakHashMap<>();
+    private static final Map<Scene, SceneEntry>    SCENES         = new WeakHashMap<>();
+    private static final ChangeListener<Scene>     SCENE_LISTENER = (o, ov, nv) -> {
+        final Node node = (Node) ((ReadOnlyProperty<?>) o).getBean();
+        if (null != ov) { leave(ov, node); }
+        if (null != nv) { enter(nv, node); }
+    };
+
+
+    // ******************** Constructors **************************************
+    private ShowingTracker() {}
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Calls the given callback once when the node is shown for the first time.
+     * If the node is already showing the callback will be called immediately.
+     * Registering more than one callback for a node calls them in order.
+     * @param node     the node to wait for
+     * @param callback will be called with the node, must not capture the node
+     * @param <T>      the type of the node
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Node> void whenFirstShown(final T node, final Consumer<? super T> callback) {
+        if (null == node)     { throw new IllegalArgumentException("node cannot be null"); }
+        if (null == callback) { throw new IllegalArgumentException("callback cannot be null"); }
+        if (isShowing(node.getScene())) {
+            callback.accept(node);
+            return;
+        }
+        final Consumer<Node> existing = CALLBACKS.get(node);
+        if (null == existing) {
+            CALLBACKS.put(node, (Consumer<Node>) callback);
+            node.sceneProperty().addListener(SCENE_LISTENER);
+            if (null != node.getScene()) { enter(node.getScene(), node); }
+        } else {
+            CALLBACKS.put(node, existing.andThen((Consumer<Node>) callback));
+        }
+    }
+
+    /**
+     * Removes all callbacks that are registered for the given node.
+     * @param node the node that should not be tracked anymore
+     */
+    public static void cancel(final Node node) {
+        if (null == node || null == CALLBACKS.remove(node)) { return; }
+        node.sceneProperty().removeListener(SCENE_LISTENER);
+        if (null != node.getScene()) { leave(node.getScene(), node); }
+    }
+
+    /**
+     * @return the number of nodes that are waiting to be shown, nodes that have
+     * been garbage collected are not counted
+     */
+    public static int getPendingNodes() { return CALLBACKS.size(); }
+
+    /**
+     * @return the number of scenes that have nodes waiting for their window
+     */
+    public static int getPendingScenes() { return SCENES.size(); }
+
+    private static boolean isShowing(final Scene scene) {
+        if (null == scene) { return false; }
+        final Window window = scene.getWindow();
+        return null != window && window.isShowing();
+    }
+
+    private static void enter(final Scene scene, final Node node) {
+        if (isShowing(scene)) {
+            fire(node);
+            return;
+        }
+        SCENES.computeIfAbsent(scene, SceneEntry::new).nodes.add(node);
+    }
+
+    private static void leave(final Scene scene, final Node node) {
+        final SceneEntry entry = SCENES.get(scene);
+        if (null == entry) { return; }
+        entry.nodes.remove(node);
+        if (entry.nodes.isEmpty()) { entry.dispose(scene); }
+    }
+
+    private static void fire(final Node node) {
+        final Consumer<Node> callback = CALLBACKS.remove(node);
+        node.sceneProperty().removeListener(SCENE_LISTENER);
+        if (null != callback) { callback.accept(node); }
+    }
+
+
+    // ******************** Inner Classes *************************************
+    /**
+     * The nodes of one scene that wait for the window of the scene to be shown.
+     * The entry only references its scene and its window weakly because the
+     * entry is a value of SCENES and the scene keeps the entry alive through its
+     * window property, a strong reference to the window would keep the scene (the
+     * key) alive as long as the window exists, even if it is never shown.
+     */
+    private static final class SceneEntry implements ChangeListener<Window>, InvalidationListener {
+        private final WeakReference<Scene>  scene;
+        private final Set<Node>             nodes;
+        private       WeakReference<Window> window;
+
+
+        // ******************** Constructors **************************************
+        SceneEntry(final Scene scene) {
+            this.scene = new WeakReference<>(scene);
+            this.nodes = Collections.newSetFromMap(new WeakHashMap<>());
+            scene.windowProperty().addListener((ChangeListener<Window>) this);
+            observe(scene.getWindow());
+        }
+
+
+        // ******************** Methods *******************************************
+        @Override public void changed(final ObservableValue<? extends Window> o, final Window ov, final Window nv) {
+            observe(nv);
+            invalidated(o);
+        }
+
+        @Override public void invalidated(final Observable o) {
+            final Scene currentScene = scene.get();
+            if (null == currentScene || !isShowing(currentScene)) { return; }
+            dispose(currentScene);
+            for (Node node : new ArrayList<>(nodes)) {
+                if (node.getScene() == currentScene) { fire(node); }
+            }
+            nodes.clear();
+        }
+
+        void dispose(final Scene scene) {
+            SCENES.remove(scene);
+            scene.windowProperty().removeListener((ChangeListener<Window>) this);
+            observe(null);
+        }
+
+        private void observe(final Window window) {
+            final Window previous = null == this.window ? null : this.window.get();
+            if (null != previous) { previous.showingProperty().removeListener((InvalidationListener) this); }
+            this.window = null == window ? null : new WeakReference<>(window);
+            if (null != window) { window.showingProperty().addListener((InvalidationListener) this); }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package eu.hansolo.applefx.tools;
+
+import javafx.animation.AnimationTimer;
+import javafx.animation.Interpolator;
+
+import java.util.Arrays;
+
+
+/**
+ * Shared animation engine for the selection animation of switches.
+ * Instead of one Timeline with new KeyValues and KeyFrames per toggle, all running
+ * switch animations are driven by one AnimationTimer and interpolated from
+ * primitive arrays. If more than bulkThreshold animations are started within one
+ * pulse (e.g. "select all" on thousands of switches), all of them will jump to
+ * their end state instead of being animated.
+ * All methods have to be called on the FX application thread.
+ */
+public final class SwitchAnimator {
+    public  static final int            DEFAULT_BULK_THRESHOLD = 200;
+    private static final Interpolator   INTERPOLATOR           = Interpolator.EASE_BOTH;
+    private static final long           NOT_STARTED            = Long.MIN_VALUE;  // System.nanoTime() can be negative
+    private static       Animation[]    animations             = new Animation[16];
+    private static       long[]         startTimes             = new long[16];
+    private static       double[]       durations              = new double[16];
+    private static       double[]       froms                  = new double[16];
+    private static       double[]       tos                    = new double[16];
+    private static       int            active                 = 0;
+    private static       int            startsInPulse          = 0;
+    private static       boolean        instantPulse           = false;
+    private static       int            instantDepth           = 0;
+    private static       int            bulkThreshold          = DEFAULT_BULK_THRESHOLD;
+    private static final AnimationTimer TIMER                  = new AnimationTimer() {
+        @Override public void handle(final long now) { pulse(now); }
+    };
+
+
+    /**
+     * One animation per switch, keeps the current position (0 = deselected,
+     * 1 = selected) and applies it to the nodes of the switch.
+     */
+    public abstract static class Animation {
+        private int     slot      = -1;
+        private double  position;
+        private boolean selecting;
+
+        protected Animation(final boolean selected) { position = selected ? 1 : 0; }
+
+        public final double getPosition() { return position; }
+
+        public final boolean isRunning() { return slot >= 0; }
+
+        /**
+         * Called on every pulse while the animation is running.
+         * @param position  the eased position between 0 (deselected) and 1 (selected)
+         * @param selecting true if the animation runs towards the selected state
+         */
+        protected abstract void apply(double position, boolean selecting);
+    }
+
+
+    // ******************** Constructors **************************************
+    private SwitchAnimator() {}
+
+
+    // ******************** Methods *******************************************
+    public static int getBulkThreshold() { return bulkThreshold; }
+    /**
+     * Defines how many animations can be started within one pulse before all
+     * of them will be skipped.
+     * @param threshold the maximum number of animated toggles per pulse, values <= 0 will disable the instant mode
+     */
+    public static void setBulkThreshold(final int threshold) { bulkThreshold = threshold <= 0 ? Integer.MAX_VALUE : threshold; }
+
+    /**
+     * Runs the given bulk operation without animating the switches it toggles.
+     * @param bulkOperation e.g. a loop that selects all switches
+     */
+    public static void runInstant(final Runnable bulkOperation) {
+        instantDepth++;
+        try {
+            bulkOperation.run();
+        } finally {
+            instantDepth--;
+        }
+    }
+
+    /**
+     * Animates the given animation from its current position to the selected or
+     * deselected state.
+     * @param animation the animation of the switch
+     * @param selected  the target state
+     * @param duration  the duration of a full animation in milliseconds
+     */
+    public static void animate(final Animation animation, final boolean selected, final double duration) {
+        final double to = selected ? 1 : 0;
+        animation.selecting = selected;
+        // the timer also resets the per pulse counter, so it has to run even if nothing will be animated
+        TIMER.start();
+        startsInPulse++;
+        if (startsInPulse > bulkThreshold) { instantPulse = true; }
+        if (instantDepth > 0 || instantPulse || duration <= 0) {
+            jump(animation, selected);
+            return;
+        }
+        int slot = animation.slot;
+        if (slot < 0) {
+            if (active == animations.length) { grow(); }
+            slot = active++;
+            animation.slot    = slot;
+            animations[slot]  = animation;
+            VisibilityTracker.animationStarted();
+        }
+        startTimes[slot] = NOT_STARTED;
+        froms[slot]      = animation.position;
+        tos[slot]        = to;
+        durations[slot]  = Math.abs(to - animation.position) * duration * 1_000_000.0;
+    }
+
+    /**
+     * Moves the given animation to its end state without animating.
+     * @param animation the animation of the switch
+     * @param selected  the target state
+     */
+    public static void jump(final Animation animation, final boolean selected) {
+        if (animation.slot >= 0) { remove(animation.slot); }
+        animation.selecting = selected;
+        animation.position  = selected ? 1 : 0;
+        animation.apply(animation.position, selected);
+    }
+
+    public static int getActiveAnimations() { return active; }
+
+    private static void pulse(final long now) {
+        if (instantPulse) {
+            while (active > 0) {
+                final Animation animation = animations[active - 1];
+                jump(animation, animation.selecting);
+            }
+        }
+        startsInPulse = 0;
+        instantPulse  = false;
+        int i = 0;
+        while (i < active) {
+            if (NOT_STARTED == startTimes[i]) { startTimes[i] = now; }
+            final Animation animation = animations[i];
+            final double    fraction  = durations[i] <= 0 ? 1 : Math.min(1, (now - startTimes[i]) / durations[i]);
+            animation.position = froms[i] + (tos[i] - froms[i]) * INTERPOLATOR.interpolate(0.0, 1.0, fraction);
+            animation.apply(animation.position, animation.selecting);
+            if (fraction >= 1) {
+                remove(i);
+            } else {
+                i++;
+            }
+        }
+        if (0 == active) { TIMER.stop(); }
+    }
+
+    private static void remove(final int slot) {
+        final int last = --active;
+        animations[slot].slot = -1;
+        if (slot != last) {
+            animations[slot]      = animations[last];
+            animations[slot].slot = slot;
+            startTimes[slot]      = startTimes[last];
+            durations[slot]       = durations[last];
+            froms[slot]           = froms[last];
+            tos[slot]             = tos[last];
+        }
+        animations[last] = null;
+        VisibilityTracker.animationStopped();
+    }
+
+    private static void grow() {
+        final int length = animations.length * 2;
+        final Animation[] grownAnimations = new Animation[length];
+        System.arraycopy(animations, 0, grownAnimations, 0, active);
+        animations = grownAnimations;
+        startTimes = Arrays.copyOf(startTimes, length);
+        durations  = Arrays.copyOf(durations, length);
+        froms      = Arrays.copyOf(froms, length);
+        tos        = Arrays.copyOf(tos, length);
+    }
+}
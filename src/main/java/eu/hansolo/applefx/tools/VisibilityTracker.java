@@ -0,0 +1,159 @@
+package eu.hansolo.applefx.tools;
+
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.ScrollPane;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+
+/**
+ * Tracks whether a node is really visible on screen, which means
+ * - the node and all of its ancestors are visible (e.g. not in a hidden tab)
+ *   and not fully transparent (e.g. culled by a MacosScrollPane)
+ * - the node is inside the viewport of all ScrollPanes it is contained in
+ * - the node is in a scene whose window is showing and not iconified
+ * Animated controls use it to pause their animations while they can't be seen.
+ * In addition it keeps a process wide counter of the running animations of all
+ * controls, which should be 0 for an idle window.
+ * All methods have to be called on the FX application thread.
+ */
+public final class VisibilityTracker {
+    private static       int                     activeAnimations = 0;
+    private        final Node                    node;
+    private        final Consumer<Boolean>       listener;
+    private        final ChangeListener<Object>  updateListener;
+    private        final ChangeListener<Object>  rebuildListener;
+    private        final List<ObservableValue<?>> updateObservables;
+    private        final List<ObservableValue<?>> rebuildObservables;
+    private              boolean                 visible;
+    private              boolean                 disposed;
+
+
+    // ******************** Constructors **************************************
+    private VisibilityTracker(final Node node, final Consumer<Boolean> listener) {
+        this.node               = node;
+        this.listener           = listener;
+        this.updateListener     = (o, ov, nv) -> update();
+        this.rebuildListener    = (o, ov, nv) -> {
+            rebuild();
+            update();
+        };
+        this.updateObservables  = new ArrayList<>();
+        this.rebuildObservables = new ArrayList<>();
+        this.visible            = isTreeVisible(node);
+        rebuild();
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Starts tracking the visibility of the given node.
+     * @param node     the node to track
+     * @param listener will be called with the new state whenever the visibility changes
+     * @return the tracker, call dispose() to stop tracking
+     */
+    public static VisibilityTracker track(final Node node, final Consumer<Boolean> listener) {
+        if (null == node)     { throw new IllegalArgumentException("node cannot be null"); }
+        if (null == listener) { throw new IllegalArgumentException("listener cannot be null"); }
+        return new VisibilityTracker(node, listener);
+    }
+
+    /**
+     * Checks once (without registering listeners) if the given node is visible on screen.
+     * @param node the node to check
+     * @return true if the node, all its ancestors and its window are showing and not fully transparent
+     */
+    public static boolean isTreeVisible(final Node node) {
+        final Scene scene = node.getScene();
+        if (null == scene) { return false; }
+        final Window window = scene.getWindow();
+        if (null == window || !window.isShowing()) { return false; }
+        if (window instanceof Stage && ((Stage) window).isIconified()) { return false; }
+        Node child = null;
+        for (Node n = node ; null != n ; n = n.getParent()) {
+            if (!n.isVisible() || n.getOpacity() <= 0) { return false; }
+            if (null != child && n instanceof ScrollPane && !isInViewport((ScrollPane) n, node)) { return false; }
+            child = n;
+        }
+        return true;
+    }
+
+    public static int getActiveAnimations() { return activeAnimations; }
+
+    /**
+     * Has to be called by controls when one of their animations started running.
+     */
+    public static void animationStarted() { activeAnimations++; }
+
+    /**
+     * Has to be called by controls when one of their animations stopped or was paused.
+     */
+    public static void animationStopped() { if (activeAnimations > 0) { activeAnimations--; } }
+
+    public boolean isVisible() { return visible; }
+
+    public void dispose() {
+        disposed = true;
+        detach();
+    }
+
+    private void update() {
+        if (disposed) { return; }
+        final boolean nowVisible = isTreeVisible(node);
+        if (nowVisible == visible) { return; }
+        visible = nowVisible;
+        listener.accept(nowVisible);
+    }
+
+    private void rebuild() {
+        detach();
+        if (disposed) { return; }
+        observe(rebuildObservables, node.sceneProperty());
+        final Scene scene = node.getScene();
+        if (null != scene) {
+            observe(rebuildObservables, scene.windowProperty());
+            final Window window = scene.getWindow();
+            if (null != window) {
+                observe(updateObservables, window.showingProperty());
+                if (window instanceof Stage) { observe(updateObservables, ((Stage) window).iconifiedProperty()); }
+            }
+        }
+        for (Node n = node ; null != n ; n = n.getParent()) {
+            observe(rebuildObservables, n.parentProperty());
+            observe(updateObservables, n.visibleProperty());
+            observe(updateObservables, n.opacityProperty());
+            if (n != node && n instanceof ScrollPane) {
+                final ScrollPane scrollPane = (ScrollPane) n;
+                observe(updateObservables, scrollPane.hvalueProperty());
+                observe(updateObservables, scrollPane.vvalueProperty());
+                observe(updateObservables, scrollPane.viewportBoundsProperty());
+            }
+        }
+    }
+
+    private void observe(final List<ObservableValue<?>> observables, final ObservableValue<?> observable) {
+        observable.addListener(observables == rebuildObservables ? rebuildListener : updateListener);
+        observables.add(observable);
+    }
+
+    private void detach() {
+        for (ObservableValue<?> observable : updateObservables)  { observable.removeListener(updateListener); }
+        for (ObservableValue<?> observable : rebuildObservables) { observable.removeListener(rebuildListener); }
+        updateObservables.clear();
+        rebuildObservables.clear();
+    }
+
+    private static boolean isInViewport(final ScrollPane scrollPane, final Node node) {
+        final Bounds viewport = scrollPane.localToScene(scrollPane.getLayoutBounds());
+        final Bounds bounds   = node.localToScene(node.getLayoutBounds());
+        return null != viewport && null != bounds && viewport.intersects(bounds);
+    }
+}